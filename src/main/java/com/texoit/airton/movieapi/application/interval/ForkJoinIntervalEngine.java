@@ -0,0 +1,108 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.texoit.airton.movieapi.dto.ProducerMinMaxPrizesDTO;
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+import com.texoit.airton.movieapi.infrastructure.persistence.ProducerWinRepository;
+
+/**
+ * Versão paralela do {@link PrimitiveIntervalEngine}. A tabela de vitórias é
+ * dividida em faixas contíguas de produtores (nunca no meio de um produtor),
+ * cada faixa calcula seus extremos locais em um {@link ForkJoinPool} de
+ * {@code movieapi.performance.thread-pool-size} threads, e as partes são
+ * juntadas sempre na ordem esquerda → direita. Assim os empates saem na
+ * mesma ordem do motor sequencial.
+ */
+@Component
+public class ForkJoinIntervalEngine implements ProducerIntervalEngine {
+
+    /** Abaixo desta quantidade de vitórias a faixa é calculada sem dividir. */
+    static final int DEFAULT_MIN_CHUNK_WINS = 1 << 14;
+
+    private final ProducerWinRepository producerWinRepository;
+    private final ForkJoinPool pool;
+    private final int minChunkWins;
+
+    @Autowired
+    public ForkJoinIntervalEngine(ProducerWinRepository producerWinRepository, MovieApiProperties properties) {
+        this(producerWinRepository, properties.getPerformance().getThreadPoolSize(), DEFAULT_MIN_CHUNK_WINS);
+    }
+
+    ForkJoinIntervalEngine(ProducerWinRepository producerWinRepository, int parallelism, int minChunkWins) {
+        this.producerWinRepository = producerWinRepository;
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.minChunkWins = Math.max(1, minChunkWins);
+    }
+
+    @Override
+    public ProducerMinMaxPrizesDTO calculate() {
+        ProducerWinTable table = producerWinRepository.loadWins();
+        return extremes(table).toDto(table);
+    }
+
+    public IntervalExtremes extremes(ProducerWinTable table) {
+        if (table.winCount() <= minChunkWins) {
+            return PrimitiveIntervalEngine.extremes(table, 0, table.producerCount());
+        }
+        return pool.invoke(new ChunkTask(table, 0, table.producerCount()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private final class ChunkTask extends RecursiveTask<IntervalExtremes> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient ProducerWinTable table;
+        private final int fromProducer;
+        private final int toProducer;
+
+        ChunkTask(ProducerWinTable table, int fromProducer, int toProducer) {
+            this.table = table;
+            this.fromProducer = fromProducer;
+            this.toProducer = toProducer;
+        }
+
+        @Override
+        protected IntervalExtremes compute() {
+            int firstWin = table.start(fromProducer);
+            int lastWin = table.end(toProducer - 1);
+            if (lastWin - firstWin <= minChunkWins || toProducer - fromProducer < 2) {
+                return PrimitiveIntervalEngine.extremes(table, fromProducer, toProducer);
+            }
+
+            // Divide pela metade das vitórias, não dos produtores
+            int middle = splitPoint(firstWin + ((lastWin - firstWin) >>> 1));
+            ChunkTask left = new ChunkTask(table, fromProducer, middle);
+            ChunkTask right = new ChunkTask(table, middle, toProducer);
+            right.fork();
+            IntervalExtremes leftResult = left.compute();
+            return leftResult.merge(right.join());
+        }
+
+        /** Primeiro produtor da faixa cujas vitórias começam em {@code win} ou depois. */
+        private int splitPoint(int win) {
+            int low = fromProducer + 1;
+            int high = toProducer - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (table.start(mid) < win) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
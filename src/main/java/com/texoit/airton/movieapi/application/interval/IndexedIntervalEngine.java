@@ -0,0 +1,260 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.texoit.airton.movieapi.dto.ProducerMinMaxPrizesDTO;
+import com.texoit.airton.movieapi.dto.ProducerPrizesDTO;
+import com.texoit.airton.movieapi.infrastructure.event.DatasetChangeEvent;
+import com.texoit.airton.movieapi.infrastructure.persistence.ProducerWinRepository;
+
+/**
+ * Motor de intervalos sobre um índice mantido em memória:
+ * <ul>
+ * <li>por produtor, os anos de vitória em um array primitivo ordenado;</li>
+ * <li>um multiconjunto ordenado {@code intervalo → empates}, com os
+ * intervalos de todos os produtores.</li>
+ * </ul>
+ * A leitura só percorre o primeiro e o último intervalo do multiconjunto,
+ * O(empates). O índice é montado na primeira leitura; depois, cada
+ * {@link DatasetChangeEvent} marca os produtores afetados, e a leitura
+ * seguinte recarrega só esses produtores e troca seus intervalos, cada um
+ * em O(log n). Cargas que substituem a base invalidam o índice inteiro.
+ * <p>
+ * Consultas com {@link IntervalFilter} usam os arrays por produtor: cada
+ * produtor aceito tem sua janela {@code [from, to]} recortada por busca
+ * binária, e só esses trechos são percorridos.
+ */
+@Component
+public class IndexedIntervalEngine implements ProducerIntervalEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexedIntervalEngine.class);
+
+    private final ProducerWinRepository producerWinRepository;
+
+    private final Set<Long> dirtyProducers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+
+    private final TreeMap<Long, ProducerWins> producers = new TreeMap<>();
+    /** PRODUCER.NAME não é único: o mesmo nome pode ter vários IDs. */
+    private final Map<String, Set<Long>> producerIdsByName = new HashMap<>();
+    private final TreeMap<Integer, TreeMap<Tie, Integer>> intervals = new TreeMap<>();
+
+    public IndexedIntervalEngine(ProducerWinRepository producerWinRepository) {
+        this.producerWinRepository = producerWinRepository;
+    }
+
+    /**
+     * Roda antes dos demais ouvintes: quem observa a nova versão da base
+     * (cache de resultados) já encontra os produtores marcados.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onDatasetChange(DatasetChangeEvent event) {
+        if (event.isAll()) {
+            stale.set(true);
+        } else {
+            dirtyProducers.addAll(event.getProducerIds());
+        }
+    }
+
+    @Override
+    public synchronized ProducerMinMaxPrizesDTO calculate() {
+        refresh();
+
+        ProducerMinMaxPrizesDTO dto = new ProducerMinMaxPrizesDTO();
+        if (intervals.isEmpty()) {
+            return dto;
+        }
+        for (Map.Entry<Tie, Integer> tie : intervals.firstEntry().getValue().entrySet()) {
+            addTies(tie, dto.getMin());
+        }
+        for (Map.Entry<Tie, Integer> tie : intervals.lastEntry().getValue().entrySet()) {
+            addTies(tie, dto.getMax());
+        }
+        return dto;
+    }
+
+    /**
+     * Extremos só dos produtores e anos aceitos pelo filtro. Custa
+     * O(p log w + vitórias na janela) para os p produtores aceitos.
+     */
+    public synchronized ProducerMinMaxPrizesDTO calculate(IntervalFilter filter, boolean includeNonConsecutive) {
+        refresh();
+
+        ProducerWinTable.Builder builder = ProducerWinTable.builder();
+        if (filter.getProducers().isEmpty()) {
+            for (Map.Entry<Long, ProducerWins> entry : producers.entrySet()) {
+                clip(builder, entry.getKey(), entry.getValue(), filter);
+            }
+        } else {
+            TreeMap<Long, ProducerWins> selected = new TreeMap<>();
+            for (String name : filter.getProducers()) {
+                for (Long producerId : producerIdsByName.getOrDefault(name, Collections.emptySet())) {
+                    selected.put(producerId, producers.get(producerId));
+                }
+            }
+            for (Map.Entry<Long, ProducerWins> entry : selected.entrySet()) {
+                clip(builder, entry.getKey(), entry.getValue(), filter);
+            }
+        }
+
+        ProducerWinTable table = builder.build();
+        IntervalExtremes extremes = includeNonConsecutive
+                ? NonConsecutiveIntervals.extremes(table, 0, table.producerCount())
+                : PrimitiveIntervalEngine.extremes(table, 0, table.producerCount());
+        return extremes.toDto(table);
+    }
+
+    private static void clip(ProducerWinTable.Builder builder, long producerId, ProducerWins wins,
+            IntervalFilter filter) {
+        int from = lowerBound(wins.years, filter.fromYear());
+        int to = filter.toYear() == Integer.MAX_VALUE
+                ? wins.years.length
+                : lowerBound(wins.years, filter.toYear() + 1);
+        if (to - from < 2) {
+            return;
+        }
+        builder.producer(producerId, wins.name);
+        for (int i = from; i < to; i++) {
+            builder.year(wins.years[i]);
+        }
+    }
+
+    /** Primeira posição com ano {@code >= year}. */
+    private static int lowerBound(int[] years, int year) {
+        int low = 0;
+        int high = years.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (years[middle] < year) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void addTies(Map.Entry<Tie, Integer> entry, List<ProducerPrizesDTO> target) {
+        Tie tie = entry.getKey();
+        String name = producers.get(tie.producerId).name;
+        for (int i = 0; i < entry.getValue(); i++) {
+            target.add(new ProducerPrizesDTO(name, tie.followingWin - tie.previousWin, tie.previousWin,
+                    tie.followingWin));
+        }
+    }
+
+    private void refresh() {
+        if (stale.getAndSet(false)) {
+            dirtyProducers.clear();
+            producers.clear();
+            producerIdsByName.clear();
+            intervals.clear();
+            apply(producerWinRepository.loadWins());
+            logger.info("Producer interval index built: {} producers, {} interval lengths", producers.size(),
+                    intervals.size());
+            return;
+        }
+        if (dirtyProducers.isEmpty()) {
+            return;
+        }
+
+        List<Long> changed = new ArrayList<>(dirtyProducers);
+        dirtyProducers.removeAll(changed);
+        for (Long producerId : changed) {
+            ProducerWins previous = producers.remove(producerId);
+            if (previous != null) {
+                Set<Long> ids = producerIdsByName.get(previous.name);
+                if (ids != null && ids.remove(producerId) && ids.isEmpty()) {
+                    producerIdsByName.remove(previous.name);
+                }
+                index(producerId, previous.years, false);
+            }
+        }
+        apply(producerWinRepository.loadWins(changed));
+        logger.debug("Producer interval index updated for {} producers", changed.size());
+    }
+
+    private void apply(ProducerWinTable table) {
+        for (int producer = 0; producer < table.producerCount(); producer++) {
+            int start = table.start(producer);
+            int[] years = new int[table.end(producer) - start];
+            for (int i = 0; i < years.length; i++) {
+                years[i] = table.year(start + i);
+            }
+            long producerId = table.id(producer);
+            producers.put(producerId, new ProducerWins(table.producer(producer), years));
+            producerIdsByName.computeIfAbsent(table.producer(producer), name -> new HashSet<>()).add(producerId);
+            index(producerId, years, true);
+        }
+    }
+
+    private void index(long producerId, int[] years, boolean add) {
+        for (int i = 1; i < years.length; i++) {
+            Tie tie = new Tie(producerId, years[i - 1], years[i]);
+            Integer interval = years[i] - years[i - 1];
+            if (add) {
+                intervals.computeIfAbsent(interval, key -> new TreeMap<>()).merge(tie, 1, Integer::sum);
+                continue;
+            }
+            TreeMap<Tie, Integer> ties = intervals.get(interval);
+            if (ties == null) {
+                continue;
+            }
+            ties.computeIfPresent(tie, (key, count) -> count == 1 ? null : count - 1);
+            if (ties.isEmpty()) {
+                intervals.remove(interval);
+            }
+        }
+    }
+
+    private static final class ProducerWins {
+
+        private final String name;
+        private final int[] years;
+
+        ProducerWins(String name, int[] years) {
+            this.name = name;
+            this.years = years;
+        }
+    }
+
+    /** Par de vitórias adjacentes; ordenado por produtor e ano, como nos outros motores. */
+    private static final class Tie implements Comparable<Tie> {
+
+        private final long producerId;
+        private final int previousWin;
+        private final int followingWin;
+
+        Tie(long producerId, int previousWin, int followingWin) {
+            this.producerId = producerId;
+            this.previousWin = previousWin;
+            this.followingWin = followingWin;
+        }
+
+        @Override
+        public int compareTo(Tie other) {
+            int result = Long.compare(producerId, other.producerId);
+            if (result == 0) {
+                result = Integer.compare(previousWin, other.previousWin);
+            }
+            return result == 0 ? Integer.compare(followingWin, other.followingWin) : result;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import java.util.Arrays;
+
+import com.texoit.airton.movieapi.dto.ProducerMinMaxPrizesDTO;
+import com.texoit.airton.movieapi.dto.ProducerPrizesDTO;
+
+/**
+ * Acumulador dos menores e maiores intervalos com todos os empates. Guarda
+ * só os intervalos que empatam no extremo atual, em arrays primitivos, sem
+ * materializar a lista completa de intervalos. A ordem dos empates é a ordem
+ * de chegada; {@link #merge} preserva a ordem das partes.
+ */
+public final class IntervalExtremes {
+
+    private final Ties min = new Ties();
+    private final Ties max = new Ties();
+    private int minInterval = Integer.MAX_VALUE;
+    private int maxInterval = Integer.MIN_VALUE;
+
+    /**
+     * Registra o intervalo {@code previousWin → followingWin} do produtor.
+     */
+    public void offer(int producer, int previousWin, int followingWin) {
+        offerMin(producer, previousWin, followingWin);
+        offerMax(producer, previousWin, followingWin);
+    }
+
+    /**
+     * Registra o intervalo só como candidato a menor intervalo.
+     */
+    public void offerMin(int producer, int previousWin, int followingWin) {
+        int interval = followingWin - previousWin;
+        if (interval < minInterval) {
+            minInterval = interval;
+            min.clear();
+        }
+        if (interval == minInterval) {
+            min.add(producer, previousWin, followingWin);
+        }
+    }
+
+    /**
+     * Registra o intervalo só como candidato a maior intervalo.
+     */
+    public void offerMax(int producer, int previousWin, int followingWin) {
+        int interval = followingWin - previousWin;
+        if (interval > maxInterval) {
+            maxInterval = interval;
+            max.clear();
+        }
+        if (interval == maxInterval) {
+            max.add(producer, previousWin, followingWin);
+        }
+    }
+
+    /**
+     * Incorpora os extremos de outra parte, calculada depois desta na ordem
+     * dos produtores.
+     */
+    public IntervalExtremes merge(IntervalExtremes other) {
+        if (other.minInterval < minInterval) {
+            minInterval = other.minInterval;
+            min.clear();
+        }
+        if (other.minInterval == minInterval) {
+            min.addAll(other.min);
+        }
+        if (other.maxInterval > maxInterval) {
+            maxInterval = other.maxInterval;
+            max.clear();
+        }
+        if (other.maxInterval == maxInterval) {
+            max.addAll(other.max);
+        }
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return min.size == 0;
+    }
+
+    public ProducerMinMaxPrizesDTO toDto(ProducerWinTable table) {
+        ProducerMinMaxPrizesDTO dto = new ProducerMinMaxPrizesDTO();
+        for (int i = 0; i < min.size; i++) {
+            dto.addMin(min.toDto(i, table));
+        }
+        for (int i = 0; i < max.size; i++) {
+            dto.addMax(max.toDto(i, table));
+        }
+        return dto;
+    }
+
+    /** Triplas (produtor, vitória anterior, vitória seguinte) empatadas. */
+    private static final class Ties {
+
+        private int[] values = new int[3 * 4];
+        private int size;
+
+        void add(int producer, int previousWin, int followingWin) {
+            int offset = size * 3;
+            if (offset + 3 > values.length) {
+                values = Arrays.copyOf(values, values.length << 1);
+            }
+            values[offset] = producer;
+            values[offset + 1] = previousWin;
+            values[offset + 2] = followingWin;
+            size++;
+        }
+
+        void addAll(Ties other) {
+            for (int i = 0; i < other.size; i++) {
+                int offset = i * 3;
+                add(other.values[offset], other.values[offset + 1], other.values[offset + 2]);
+            }
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        ProducerPrizesDTO toDto(int index, ProducerWinTable table) {
+            int offset = index * 3;
+            int previousWin = values[offset + 1];
+            int followingWin = values[offset + 2];
+            return new ProducerPrizesDTO(table.producer(values[offset]), followingWin - previousWin, previousWin,
+                    followingWin);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Filtro das consultas de intervalos: faixa de anos {@code [from, to]}
+ * (inclusiva, as duas vitórias do intervalo dentro dela) e nomes de
+ * produtores. Campos nulos ou vazios não filtram.
+ */
+public final class IntervalFilter {
+
+    private static final IntervalFilter NONE = new IntervalFilter(null, null, Collections.<String>emptySet());
+
+    private final Integer from;
+    private final Integer to;
+    private final Set<String> producers;
+
+    private IntervalFilter(Integer from, Integer to, Set<String> producers) {
+        this.from = from;
+        this.to = to;
+        this.producers = producers;
+    }
+
+    public static IntervalFilter none() {
+        return NONE;
+    }
+
+    public static IntervalFilter of(Integer from, Integer to, Collection<String> producers) {
+        if (from != null && to != null && from > to) {
+            throw new IllegalArgumentException("from must not be after to: " + from + " > " + to);
+        }
+        Set<String> names = new LinkedHashSet<>();
+        if (producers != null) {
+            for (String producer : producers) {
+                if (producer != null && !producer.trim().isEmpty()) {
+                    names.add(producer.trim());
+                }
+            }
+        }
+        if (from == null && to == null && names.isEmpty()) {
+            return NONE;
+        }
+        return new IntervalFilter(from, to, Collections.unmodifiableSet(names));
+    }
+
+    public boolean isEmpty() {
+        return this == NONE;
+    }
+
+    /** Primeiro ano aceito; {@link Integer#MIN_VALUE} sem limite. */
+    public int fromYear() {
+        return from == null ? Integer.MIN_VALUE : from;
+    }
+
+    /** Último ano aceito; {@link Integer#MAX_VALUE} sem limite. */
+    public int toYear() {
+        return to == null ? Integer.MAX_VALUE : to;
+    }
+
+    /** Nomes aceitos; vazio aceita todos os produtores. */
+    public Set<String> getProducers() {
+        return producers;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof IntervalFilter)) {
+            return false;
+        }
+        IntervalFilter other = (IntervalFilter) obj;
+        return Objects.equals(from, other.from) && Objects.equals(to, other.to)
+                && producers.equals(other.producers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(from, to, producers);
+    }
+
+    @Override
+    public String toString() {
+        return "IntervalFilter[from=" + from + ", to=" + to + ", producers=" + producers + "]";
+    }
+}
@@ -0,0 +1,131 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.texoit.airton.movieapi.dto.ProducerPrizesDTO;
+
+/**
+ * Os {@code k} menores (ou maiores) intervalos entre vitórias adjacentes de
+ * uma {@link ProducerWinTable}, calculados com um heap limitado a {@code k}
+ * posições em O(n log k), sem ordenar todos os intervalos. Cada posição do
+ * heap é um {@code long} com o produtor e o índice da vitória seguinte na
+ * tabela; o intervalo é lido da própria tabela.
+ * <p>
+ * Empates são ordenados por produtor e ano, como no resultado dos motores.
+ */
+public final class IntervalRanking {
+
+    public enum Order {
+        ASC, DESC
+    }
+
+    private final ProducerWinTable table;
+    private final Order order;
+    private final long[] heap;
+    private int size;
+
+    private IntervalRanking(ProducerWinTable table, Order order, int k) {
+        this.table = table;
+        this.order = order;
+        this.heap = new long[k];
+    }
+
+    /**
+     * Os {@code k} primeiros intervalos na ordem pedida, já ordenados.
+     */
+    public static List<ProducerPrizesDTO> top(ProducerWinTable table, Order order, int k) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        IntervalRanking ranking = new IntervalRanking(table, order, k);
+        for (int producer = 0; producer < table.producerCount(); producer++) {
+            int end = table.end(producer);
+            for (int i = table.start(producer) + 1; i < end; i++) {
+                ranking.offer(((long) producer << 32) | i);
+            }
+        }
+        return ranking.drain();
+    }
+
+    /**
+     * Mantém no heap os {@code k} melhores; a raiz é o pior deles, e só é
+     * trocada quando chega um intervalo que passa na frente dela.
+     */
+    private void offer(long entry) {
+        if (size < heap.length) {
+            heap[size] = entry;
+            siftUp(size++);
+        } else if (compare(entry, heap[0]) < 0) {
+            heap[0] = entry;
+            siftDown(0, size);
+        }
+    }
+
+    private List<ProducerPrizesDTO> drain() {
+        // Heapsort in-place: a raiz (pior) vai para o fim a cada passo
+        for (int last = size - 1; last > 0; last--) {
+            long root = heap[0];
+            heap[0] = heap[last];
+            heap[last] = root;
+            siftDown(0, last);
+        }
+
+        List<ProducerPrizesDTO> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int producer = (int) (heap[i] >>> 32);
+            int index = (int) heap[i];
+            int previousWin = table.year(index - 1);
+            int followingWin = table.year(index);
+            result.add(new ProducerPrizesDTO(table.producer(producer), followingWin - previousWin, previousWin,
+                    followingWin));
+        }
+        return result;
+    }
+
+    private void siftUp(int position) {
+        long entry = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (compare(entry, heap[parent]) <= 0) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = entry;
+    }
+
+    private void siftDown(int position, int limit) {
+        long entry = heap[position];
+        int half = limit >>> 1;
+        while (position < half) {
+            int child = (position << 1) + 1;
+            if (child + 1 < limit && compare(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (compare(entry, heap[child]) >= 0) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = entry;
+    }
+
+    /**
+     * Negativo quando {@code a} vem antes de {@code b} no ranking. O heap é
+     * de máximo por essa ordem, então a raiz é sempre a última posição.
+     */
+    private int compare(long a, long b) {
+        int indexA = (int) a;
+        int indexB = (int) b;
+        int intervalA = table.year(indexA) - table.year(indexA - 1);
+        int intervalB = table.year(indexB) - table.year(indexB - 1);
+        if (intervalA != intervalB) {
+            return order == Order.ASC ? Integer.compare(intervalA, intervalB) : Integer.compare(intervalB, intervalA);
+        }
+        // Produtor e ano crescem junto com o índice na tabela
+        return Integer.compare(indexA, indexB);
+    }
+}
@@ -0,0 +1,27 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import org.springframework.stereotype.Component;
+
+import com.texoit.airton.movieapi.dto.ProducerMinMaxPrizesDTO;
+import com.texoit.airton.movieapi.infrastructure.persistence.ProducerWinRepository;
+
+/**
+ * Motor usado com {@code movieapi.calculation.include-non-consecutive}:
+ * extremos entre quaisquer duas vitórias de cada produtor, calculados por
+ * {@link NonConsecutiveIntervals} em uma passada linear.
+ */
+@Component
+public class NonConsecutiveIntervalEngine implements ProducerIntervalEngine {
+
+    private final ProducerWinRepository producerWinRepository;
+
+    public NonConsecutiveIntervalEngine(ProducerWinRepository producerWinRepository) {
+        this.producerWinRepository = producerWinRepository;
+    }
+
+    @Override
+    public ProducerMinMaxPrizesDTO calculate() {
+        ProducerWinTable table = producerWinRepository.loadWins();
+        return NonConsecutiveIntervals.extremes(table, 0, table.producerCount()).toDto(table);
+    }
+}
@@ -0,0 +1,99 @@
+package com.texoit.airton.movieapi.application.interval;
+
+/**
+ * Intervalos entre quaisquer duas vitórias de um produtor
+ * ({@code movieapi.calculation.include-non-consecutive}). Os extremos saem
+ * sem enumerar os O(w²) pares de cada produtor:
+ * <ul>
+ * <li>o maior intervalo é a última vitória menos a primeira;</li>
+ * <li>o menor é o menor intervalo entre vitórias adjacentes, já que um par
+ * não adjacente soma pelo menos dois intervalos adjacentes.</li>
+ * </ul>
+ * Só anos repetidos geram mais de um par com o mesmo intervalo (cada
+ * repetição forma um par com as anteriores), e esses pares entram nos
+ * empates como na enumeração completa. A enumeração fica em
+ * {@link #forEach} para quem pede a lista inteira.
+ */
+public final class NonConsecutiveIntervals {
+
+    /**
+     * Destino dos pares enumerados por {@link #forEach}.
+     */
+    @FunctionalInterface
+    public interface PairSink {
+        void accept(int producer, int previousWin, int followingWin);
+    }
+
+    private NonConsecutiveIntervals() {
+    }
+
+    /**
+     * Extremos dos produtores {@code [fromProducer, toProducer)} considerando
+     * todos os pares de vitórias, em O(w) por produtor.
+     */
+    public static IntervalExtremes extremes(ProducerWinTable table, int fromProducer, int toProducer) {
+        IntervalExtremes extremes = new IntervalExtremes();
+        for (int producer = fromProducer; producer < toProducer; producer++) {
+            int start = table.start(producer);
+            int end = table.end(producer);
+            if (end - start < 2) {
+                continue;
+            }
+
+            int runStart = start;
+            for (int i = start + 1; i < end; i++) {
+                int year = table.year(i);
+                if (year != table.year(i - 1)) {
+                    runStart = i;
+                    extremes.offerMin(producer, table.year(i - 1), year);
+                    continue;
+                }
+                for (int j = runStart; j < i; j++) {
+                    extremes.offerMin(producer, year, year);
+                }
+            }
+
+            int first = table.year(start);
+            int last = table.year(end - 1);
+            long pairs = first == last
+                    ? (long) (end - start) * (end - start - 1) / 2
+                    : (long) count(table, start, end, first) * count(table, start, end, last);
+            for (long pair = 0; pair < pairs; pair++) {
+                extremes.offerMax(producer, first, last);
+            }
+        }
+        return extremes;
+    }
+
+    /**
+     * Enumera os intervalos da tabela na ordem de produtor e ano: só os
+     * adjacentes ou, com {@code nonConsecutive}, todos os pares.
+     */
+    public static void forEach(ProducerWinTable table, boolean nonConsecutive, PairSink sink) {
+        for (int producer = 0; producer < table.producerCount(); producer++) {
+            int start = table.start(producer);
+            int end = table.end(producer);
+            for (int i = start; i < end - 1; i++) {
+                int last = nonConsecutive ? end - 1 : i + 1;
+                for (int j = i + 1; j <= last; j++) {
+                    sink.accept(producer, table.year(i), table.year(j));
+                }
+            }
+        }
+    }
+
+    /** Repetições da primeira ou da última vitória; os anos estão ordenados. */
+    private static int count(ProducerWinTable table, int start, int end, int year) {
+        int count = 0;
+        if (table.year(start) == year) {
+            for (int i = start; i < end && table.year(i) == year; i++) {
+                count++;
+            }
+        } else {
+            for (int i = end - 1; i >= start && table.year(i) == year; i--) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,43 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import org.springframework.stereotype.Component;
+
+import com.texoit.airton.movieapi.dto.ProducerMinMaxPrizesDTO;
+import com.texoit.airton.movieapi.infrastructure.persistence.ProducerWinRepository;
+
+/**
+ * Motor de intervalos sobre arrays primitivos. Os anos chegam ordenados por
+ * produtor da consulta, então o cálculo é uma única passada linear pelos
+ * pares de vitórias adjacentes de cada produtor, sem boxing e sem lista
+ * intermediária de intervalos. Vitórias repetidas no mesmo ano geram um
+ * intervalo zero, como em {@code ProducerService}.
+ */
+@Component
+public class PrimitiveIntervalEngine implements ProducerIntervalEngine {
+
+    private final ProducerWinRepository producerWinRepository;
+
+    public PrimitiveIntervalEngine(ProducerWinRepository producerWinRepository) {
+        this.producerWinRepository = producerWinRepository;
+    }
+
+    @Override
+    public ProducerMinMaxPrizesDTO calculate() {
+        ProducerWinTable table = producerWinRepository.loadWins();
+        return extremes(table, 0, table.producerCount()).toDto(table);
+    }
+
+    /**
+     * Extremos dos produtores {@code [fromProducer, toProducer)} da tabela.
+     */
+    public static IntervalExtremes extremes(ProducerWinTable table, int fromProducer, int toProducer) {
+        IntervalExtremes extremes = new IntervalExtremes();
+        for (int producer = fromProducer; producer < toProducer; producer++) {
+            int end = table.end(producer);
+            for (int i = table.start(producer) + 1; i < end; i++) {
+                extremes.offer(producer, table.year(i - 1), table.year(i));
+            }
+        }
+        return extremes;
+    }
+}
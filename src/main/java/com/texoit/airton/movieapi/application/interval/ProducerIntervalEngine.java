@@ -0,0 +1,12 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import com.texoit.airton.movieapi.dto.ProducerMinMaxPrizesDTO;
+
+/**
+ * Estratégia de cálculo dos menores e maiores intervalos entre vitórias
+ * consecutivas de um mesmo produtor, com todos os empates.
+ */
+public interface ProducerIntervalEngine {
+
+    ProducerMinMaxPrizesDTO calculate();
+}
@@ -0,0 +1,56 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import org.springframework.stereotype.Component;
+
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+
+/**
+ * Seleciona o {@link ProducerIntervalEngine} configurado em
+ * {@code movieapi.calculation.engine}.
+ */
+@Component
+public class ProducerIntervalEngineFactory {
+
+    private final MovieApiProperties properties;
+    private final PrimitiveIntervalEngine primitiveEngine;
+    private final ForkJoinIntervalEngine forkJoinEngine;
+    private final SqlIntervalEngine sqlEngine;
+    private final IndexedIntervalEngine indexedEngine;
+    private final NonConsecutiveIntervalEngine nonConsecutiveEngine;
+
+    public ProducerIntervalEngineFactory(MovieApiProperties properties, PrimitiveIntervalEngine primitiveEngine,
+            ForkJoinIntervalEngine forkJoinEngine, SqlIntervalEngine sqlEngine, IndexedIntervalEngine indexedEngine,
+            NonConsecutiveIntervalEngine nonConsecutiveEngine) {
+        this.properties = properties;
+        this.primitiveEngine = primitiveEngine;
+        this.forkJoinEngine = forkJoinEngine;
+        this.sqlEngine = sqlEngine;
+        this.indexedEngine = indexedEngine;
+        this.nonConsecutiveEngine = nonConsecutiveEngine;
+    }
+
+    /**
+     * Com {@code movieapi.calculation.include-non-consecutive}, o cálculo
+     * sobre todos os pares substitui o motor configurado.
+     */
+    public ProducerIntervalEngine get() {
+        if (properties.getCalculation().isIncludeNonConsecutive()) {
+            return nonConsecutiveEngine;
+        }
+        return get(properties.getCalculation().getEngine());
+    }
+
+    public ProducerIntervalEngine get(MovieApiProperties.Calculation.Engine engine) {
+        switch (engine) {
+        case FORK_JOIN:
+            return forkJoinEngine;
+        case SQL:
+            return sqlEngine;
+        case INDEXED:
+            return indexedEngine;
+        case PRIMITIVE:
+        default:
+            return primitiveEngine;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import java.util.Arrays;
+
+/**
+ * Anos de vitória agrupados por produtor em arrays primitivos (formato CSR):
+ * os anos do produtor {@code p} ficam em
+ * {@code years[offsets[p] .. offsets[p + 1])}, em ordem crescente, incluindo
+ * anos repetidos. Imutável depois de construída.
+ */
+public final class ProducerWinTable {
+
+    private static final ProducerWinTable EMPTY = new Builder().build();
+
+    private final long[] ids;
+    private final String[] producers;
+    private final int[] offsets;
+    private final int[] years;
+
+    private ProducerWinTable(long[] ids, String[] producers, int[] offsets, int[] years) {
+        this.ids = ids;
+        this.producers = producers;
+        this.offsets = offsets;
+        this.years = years;
+    }
+
+    public static ProducerWinTable empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int producerCount() {
+        return producers.length;
+    }
+
+    public int winCount() {
+        return years.length;
+    }
+
+    /** ID do produtor no banco (ou a posição, se construído sem ID). */
+    public long id(int producer) {
+        return ids[producer];
+    }
+
+    public String producer(int producer) {
+        return producers[producer];
+    }
+
+    /** Início (inclusivo) dos anos do produtor em {@link #year(int)}. */
+    public int start(int producer) {
+        return offsets[producer];
+    }
+
+    /** Fim (exclusivo) dos anos do produtor em {@link #year(int)}. */
+    public int end(int producer) {
+        return offsets[producer + 1];
+    }
+
+    public int year(int index) {
+        return years[index];
+    }
+
+    /**
+     * Construtor incremental. Os anos de um produtor devem chegar juntos,
+     * logo após {@link #producer(String)}; se não vierem em ordem, o trecho
+     * do produtor é ordenado uma vez ao ser fechado.
+     */
+    public static final class Builder {
+
+        private long[] ids = new long[16];
+        private String[] producers = new String[16];
+        private int[] offsets = new int[17];
+        private int[] years = new int[64];
+        private int producerCount;
+        private int yearCount;
+        private boolean sorted = true;
+
+        private Builder() {
+        }
+
+        public Builder producer(String name) {
+            return producer(producerCount, name);
+        }
+
+        public Builder producer(long id, String name) {
+            closeProducer();
+            if (producerCount == producers.length) {
+                ids = Arrays.copyOf(ids, producerCount << 1);
+                producers = Arrays.copyOf(producers, producerCount << 1);
+                offsets = Arrays.copyOf(offsets, (producerCount << 1) + 1);
+            }
+            ids[producerCount] = id;
+            producers[producerCount++] = name;
+            offsets[producerCount] = yearCount;
+            return this;
+        }
+
+        public Builder year(int year) {
+            if (producerCount == 0) {
+                throw new IllegalStateException("No producer started");
+            }
+            if (yearCount == years.length) {
+                years = Arrays.copyOf(years, yearCount << 1);
+            }
+            if (yearCount > offsets[producerCount - 1] && years[yearCount - 1] > year) {
+                sorted = false;
+            }
+            years[yearCount++] = year;
+            offsets[producerCount] = yearCount;
+            return this;
+        }
+
+        public ProducerWinTable build() {
+            closeProducer();
+            return new ProducerWinTable(Arrays.copyOf(ids, producerCount), Arrays.copyOf(producers, producerCount),
+                    Arrays.copyOf(offsets, producerCount + 1), Arrays.copyOf(years, yearCount));
+        }
+
+        private void closeProducer() {
+            if (!sorted) {
+                Arrays.sort(years, offsets[producerCount - 1], yearCount);
+                sorted = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import org.springframework.stereotype.Component;
+
+import com.texoit.airton.movieapi.dto.ProducerMinMaxPrizesDTO;
+import com.texoit.airton.movieapi.dto.ProducerPrizesDTO;
+import com.texoit.airton.movieapi.repository.MovieProducerRepository;
+import com.texoit.airton.movieapi.repository.ProducerIntervalRow;
+
+/**
+ * Motor de intervalos executado no banco: a consulta calcula a vitória
+ * anterior de cada vitória com {@code LAG(year)} por produtor e devolve só
+ * as linhas empatadas nos extremos, então a JVM não carrega entidades nem
+ * a lista de vitórias. Uma linha pode estar nos dois extremos quando todos
+ * os intervalos são iguais.
+ */
+@Component
+public class SqlIntervalEngine implements ProducerIntervalEngine {
+
+    private final MovieProducerRepository movieProducerRepository;
+
+    public SqlIntervalEngine(MovieProducerRepository movieProducerRepository) {
+        this.movieProducerRepository = movieProducerRepository;
+    }
+
+    @Override
+    public ProducerMinMaxPrizesDTO calculate() {
+        ProducerMinMaxPrizesDTO dto = new ProducerMinMaxPrizesDTO();
+        for (ProducerIntervalRow row : movieProducerRepository.findExtremeWinIntervals()) {
+            ProducerPrizesDTO interval = new ProducerPrizesDTO(row.getProducer(), row.getIntervalYears(),
+                    row.getPreviousWin(), row.getFollowingWin());
+            if (row.getIntervalYears().equals(row.getMinInterval())) {
+                dto.addMin(interval);
+            }
+            if (row.getIntervalYears().equals(row.getMaxInterval())) {
+                dto.addMax(interval);
+            }
+        }
+        return dto;
+    }
+}
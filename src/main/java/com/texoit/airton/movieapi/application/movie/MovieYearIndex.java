@@ -0,0 +1,227 @@
+package com.texoit.airton.movieapi.application.movie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.texoit.airton.movieapi.dto.MovieViewDTO;
+import com.texoit.airton.movieapi.infrastructure.event.DatasetChangeEvent;
+import com.texoit.airton.movieapi.infrastructure.persistence.MovieViewRepository;
+
+/**
+ * Índice em memória {@code ano → filmes}, com um array imutável de
+ * {@link MovieViewDTO} já montados por ano e os nomes de estúdios e
+ * produtores internados. A leitura de um ano é uma consulta ao mapa, sem
+ * banco.
+ * <p>
+ * Como o {@code IndexedIntervalEngine}, o índice é montado na primeira
+ * leitura; depois, cada {@link DatasetChangeEvent} marca os filmes
+ * afetados, e a leitura seguinte recarrega só esses filmes e remonta os
+ * arrays dos anos em que eles estavam ou passaram a estar. Cargas que
+ * substituem a base (ou alterações com mais de {@link #MAX_DIRTY} filmes)
+ * invalidam o índice inteiro.
+ * <p>
+ * Leitores só dispensam o lock quando o índice está em dia: enquanto ele é
+ * montado ou atualizado, esperam em {@link #refresh()} em vez de ler o
+ * mapa antigo.
+ */
+@Component
+public class MovieYearIndex {
+
+    /** Acima disso, remontar o índice é mais barato que aplicar as alterações. */
+    static final int MAX_DIRTY = 10_000;
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieYearIndex.class);
+
+    private static final Comparator<MovieViewDTO> BY_ID = Comparator.comparing(MovieViewDTO::getId);
+    private static final MovieViewDTO[] EMPTY = new MovieViewDTO[0];
+
+    private final MovieViewRepository movieViewRepository;
+
+    private final Set<Long> dirtyMovies = ConcurrentHashMap.newKeySet();
+    // Incrementada a cada invalidação total; o índice vale para builtGeneration
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long builtGeneration = -1;
+    private volatile boolean refreshing;
+
+    private volatile Map<Integer, MovieViewDTO[]> moviesByYear = new ConcurrentHashMap<>();
+
+    // Estado só alterado dentro de refresh()
+    private final Map<Long, Integer> yearsByMovie = new HashMap<>();
+    private final Map<String, String> names = new HashMap<>();
+
+    public MovieYearIndex(MovieViewRepository movieViewRepository) {
+        this.movieViewRepository = movieViewRepository;
+    }
+
+    /**
+     * Roda antes dos demais ouvintes, como o índice de intervalos. Enquanto o
+     * índice está invalidado os filmes não são guardados; a invalidação é
+     * renovada para que uma reconstrução já em andamento, que pode ter lido
+     * a base antes deste commit, seja refeita.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onDatasetChange(DatasetChangeEvent event) {
+        if (event.isAll() || builtGeneration != generation.get()) {
+            generation.incrementAndGet();
+            return;
+        }
+        dirtyMovies.addAll(event.getMovieIds());
+        if (dirtyMovies.size() > MAX_DIRTY) {
+            generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * Filmes do ano, ordenados por ID. A lista é uma visão do array do
+     * índice, sem cópia.
+     */
+    public List<MovieViewDTO> findByYear(int year) {
+        if (!isCurrent()) {
+            refresh();
+        }
+        MovieViewDTO[] movies = moviesByYear.get(year);
+        return movies == null ? Collections.<MovieViewDTO>emptyList()
+                : Collections.unmodifiableList(Arrays.asList(movies));
+    }
+
+    /**
+     * Filmes dos anos pedidos, agrupados por ano em ordem crescente, com uma
+     * única verificação de atualização para todos eles. Anos sem filmes
+     * ficam fora do resultado.
+     */
+    public Map<Integer, List<MovieViewDTO>> findByYears(Collection<Integer> years) {
+        if (!isCurrent()) {
+            refresh();
+        }
+        Map<Integer, MovieViewDTO[]> index = moviesByYear;
+        Map<Integer, List<MovieViewDTO>> result = new TreeMap<>();
+        for (Integer year : years) {
+            MovieViewDTO[] movies = index.get(year);
+            if (movies != null) {
+                result.put(year, Collections.unmodifiableList(Arrays.asList(movies)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A ordem das leituras importa: {@code refreshing} é lido por último,
+     * porque uma atualização tira os filmes de {@code dirtyMovies} antes de
+     * publicar os arrays novos.
+     */
+    private boolean isCurrent() {
+        return builtGeneration == generation.get() && dirtyMovies.isEmpty() && !refreshing;
+    }
+
+    /**
+     * Verifica de novo sob o lock: quem esperava outra thread terminar a
+     * atualização encontra o índice em dia e não repete o trabalho.
+     */
+    private synchronized void refresh() {
+        if (isCurrent()) {
+            return;
+        }
+        refreshing = true;
+        try {
+            long target = generation.get();
+            if (builtGeneration != target) {
+                dirtyMovies.clear();
+                rebuild();
+                // Só depois de publicar o mapa novo o índice volta a valer
+                builtGeneration = target;
+            } else if (!dirtyMovies.isEmpty()) {
+                try {
+                    patchChanged();
+                } catch (RuntimeException e) {
+                    // Os filmes já saíram de dirtyMovies: só a reconstrução recupera o índice
+                    generation.incrementAndGet();
+                    throw e;
+                }
+            }
+        } finally {
+            refreshing = false;
+        }
+    }
+
+    private void patchChanged() {
+        List<Long> changed = new ArrayList<>(dirtyMovies);
+        dirtyMovies.removeAll(changed);
+        Map<Integer, List<MovieViewDTO>> loadedByYear = new TreeMap<>();
+        for (Long movieId : changed) {
+            Integer previousYear = yearsByMovie.remove(movieId);
+            if (previousYear != null) {
+                loadedByYear.computeIfAbsent(previousYear, year -> new ArrayList<>());
+            }
+        }
+        for (MovieViewDTO movie : movieViewRepository.load(changed, this::intern)) {
+            yearsByMovie.put(movie.getId(), movie.getYear());
+            loadedByYear.computeIfAbsent(movie.getYear(), year -> new ArrayList<>()).add(movie);
+        }
+
+        Set<Long> changedIds = new HashSet<>(changed);
+        for (Map.Entry<Integer, List<MovieViewDTO>> entry : loadedByYear.entrySet()) {
+            patch(entry.getKey(), changedIds, entry.getValue());
+        }
+        logger.debug("Movie year index updated for {} movies in {} years", changed.size(), loadedByYear.size());
+    }
+
+    /** Troca o array do ano por um novo, sem os filmes alterados e com as versões recarregadas. */
+    private void patch(int year, Set<Long> changedIds, List<MovieViewDTO> loaded) {
+        MovieViewDTO[] current = moviesByYear.getOrDefault(year, EMPTY);
+        List<MovieViewDTO> movies = new ArrayList<>(current.length + loaded.size());
+        for (MovieViewDTO movie : current) {
+            if (!changedIds.contains(movie.getId())) {
+                movies.add(movie);
+            }
+        }
+        movies.addAll(loaded);
+        if (movies.isEmpty()) {
+            moviesByYear.remove(year);
+            return;
+        }
+        movies.sort(BY_ID);
+        moviesByYear.put(year, movies.toArray(EMPTY));
+    }
+
+    private void rebuild() {
+        yearsByMovie.clear();
+        names.clear();
+        Map<Integer, List<MovieViewDTO>> grouped = new HashMap<>();
+        for (MovieViewDTO movie : movieViewRepository.loadAll(this::intern)) {
+            yearsByMovie.put(movie.getId(), movie.getYear());
+            grouped.computeIfAbsent(movie.getYear(), year -> new ArrayList<>()).add(movie);
+        }
+
+        Map<Integer, MovieViewDTO[]> rebuilt = new ConcurrentHashMap<>(grouped.size() * 2);
+        for (Map.Entry<Integer, List<MovieViewDTO>> entry : grouped.entrySet()) {
+            rebuilt.put(entry.getKey(), entry.getValue().toArray(EMPTY));
+        }
+        moviesByYear = rebuilt;
+        logger.info("Movie year index built: {} movies in {} years, {} distinct names", yearsByMovie.size(),
+                rebuilt.size(), names.size());
+    }
+
+    private String intern(String name) {
+        String interned = names.putIfAbsent(name, name);
+        return interned == null ? name : interned;
+    }
+}
@@ -0,0 +1,85 @@
+package com.texoit.airton.movieapi.application.usecase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.texoit.airton.movieapi.application.interval.IntervalRanking;
+import com.texoit.airton.movieapi.dto.ProducerIntervalRankingDTO;
+import com.texoit.airton.movieapi.dto.ProducerPrizesDTO;
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+import com.texoit.airton.movieapi.infrastructure.persistence.ProducerWinRepository;
+import com.texoit.airton.movieapi.shared.annotation.UseCase;
+
+/**
+ * Use Case para o ranking dos intervalos entre prêmios. Calcula só as
+ * posições pedidas com {@link IntervalRanking}; nenhuma consulta passa de
+ * {@code movieapi.calculation.max-results} posições.
+ */
+@UseCase
+public class RankProducerIntervalsUseCase {
+
+    private final ProducerWinRepository producerWinRepository;
+    private final MovieApiProperties properties;
+
+    public RankProducerIntervalsUseCase(ProducerWinRepository producerWinRepository, MovieApiProperties properties) {
+        this.producerWinRepository = producerWinRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Os {@code k} menores ({@code asc}) ou maiores ({@code desc}) intervalos,
+     * limitados a {@code max-results}.
+     */
+    public List<ProducerPrizesDTO> top(String order, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        return IntervalRanking.top(producerWinRepository.loadWins(), parseOrder(order), Math.min(k, maxResults()));
+    }
+
+    /**
+     * Página {@code page} do ranking. Posições além de {@code max-results}
+     * não são paginadas.
+     */
+    public ProducerIntervalRankingDTO page(String order, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative: " + page);
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        IntervalRanking.Order rankingOrder = parseOrder(order);
+        int cap = maxResults();
+        long from = (long) page * size;
+        if (from >= cap) {
+            return new ProducerIntervalRankingDTO(rankingOrder.name().toLowerCase(Locale.ROOT), page, size, false,
+                    new ArrayList<>());
+        }
+
+        // Uma posição a mais indica se existe próxima página
+        int k = (int) Math.min(cap, from + size + 1);
+        List<ProducerPrizesDTO> ranked = IntervalRanking.top(producerWinRepository.loadWins(), rankingOrder, k);
+        int to = (int) Math.min(Math.min(ranked.size(), from + size), cap);
+        List<ProducerPrizesDTO> intervals = from < to
+                ? new ArrayList<>(ranked.subList((int) from, to))
+                : new ArrayList<ProducerPrizesDTO>();
+        return new ProducerIntervalRankingDTO(rankingOrder.name().toLowerCase(Locale.ROOT), page, size,
+                ranked.size() > to, intervals);
+    }
+
+    private int maxResults() {
+        return Math.max(1, properties.getCalculation().getMaxResults());
+    }
+
+    private static IntervalRanking.Order parseOrder(String order) {
+        if (order == null || order.isEmpty()) {
+            return IntervalRanking.Order.ASC;
+        }
+        try {
+            return IntervalRanking.Order.valueOf(order.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown order: " + order + " (expected asc or desc)");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.texoit.airton.movieapi.application.usecase;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+import com.texoit.airton.movieapi.infrastructure.persistence.MovieViewRepository;
+import com.texoit.airton.movieapi.shared.annotation.UseCase;
+
+/**
+ * Use Case para a lista completa de filmes em NDJSON (um filme por linha),
+ * em ordem {@code (ano, id)}. Os filmes são lidos por um cursor do banco,
+ * {@code movieapi.performance.stream-fetch-size} linhas por vez, e escritos
+ * à medida que chegam: a memória usada depende do tamanho do bloco, não da
+ * base.
+ */
+@UseCase
+public class StreamMoviesUseCase {
+
+    private final MovieViewRepository movieViewRepository;
+    private final MovieApiProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public StreamMoviesUseCase(MovieViewRepository movieViewRepository, MovieApiProperties properties,
+            ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.movieViewRepository = movieViewRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Devolve o corpo que lê e escreve os filmes. A leitura roda em uma
+     * transação somente leitura aberta durante a escrita, para que o cursor
+     * e as consultas de nomes de cada bloco vejam a mesma base.
+     */
+    public StreamingResponseBody execute() {
+        int fetchSize = Math.max(1, properties.getPerformance().getStreamFetchSize());
+
+        return out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+                // Cada linha já termina com '\n'; sem o espaço padrão entre valores da raiz
+                json.setRootValueSeparator(null);
+                transactionTemplate.execute(status -> {
+                    movieViewRepository.forEach(fetchSize, movie -> {
+                        try {
+                            json.writeObject(movie);
+                            json.writeRaw('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    return null;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
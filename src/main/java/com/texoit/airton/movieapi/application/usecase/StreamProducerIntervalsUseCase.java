@@ -0,0 +1,71 @@
+package com.texoit.airton.movieapi.application.usecase;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.texoit.airton.movieapi.application.interval.NonConsecutiveIntervals;
+import com.texoit.airton.movieapi.application.interval.ProducerWinTable;
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+import com.texoit.airton.movieapi.infrastructure.persistence.ProducerWinRepository;
+import com.texoit.airton.movieapi.shared.annotation.UseCase;
+
+/**
+ * Use Case para a lista completa de intervalos entre prêmios. Os pares são
+ * enumerados enquanto o JSON é escrito na resposta, sem montar uma lista:
+ * com {@code include-non-consecutive}, um produtor com w vitórias gera
+ * w(w-1)/2 pares.
+ */
+@UseCase
+public class StreamProducerIntervalsUseCase {
+
+    private final ProducerWinRepository producerWinRepository;
+    private final MovieApiProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public StreamProducerIntervalsUseCase(ProducerWinRepository producerWinRepository,
+            MovieApiProperties properties, ObjectMapper objectMapper) {
+        this.producerWinRepository = producerWinRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Lê as vitórias agora e devolve o corpo que enumera os intervalos ao
+     * ser escrito.
+     *
+     * @param includeNonConsecutive {@code null} usa
+     * {@code movieapi.calculation.include-non-consecutive}
+     */
+    public StreamingResponseBody execute(Boolean includeNonConsecutive) {
+        boolean nonConsecutive = includeNonConsecutive != null
+                ? includeNonConsecutive
+                : properties.getCalculation().isIncludeNonConsecutive();
+        ProducerWinTable table = producerWinRepository.loadWins();
+
+        return out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+                json.writeStartArray();
+                NonConsecutiveIntervals.forEach(table, nonConsecutive, (producer, previousWin, followingWin) -> {
+                    try {
+                        json.writeStartObject();
+                        json.writeStringField("producer", table.producer(producer));
+                        json.writeNumberField("interval", followingWin - previousWin);
+                        json.writeNumberField("previousWin", previousWin);
+                        json.writeNumberField("followingWin", followingWin);
+                        json.writeEndObject();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
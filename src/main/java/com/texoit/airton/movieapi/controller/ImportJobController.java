@@ -0,0 +1,66 @@
+package com.texoit.airton.movieapi.controller;
+
+import java.net.URI;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.texoit.airton.movieapi.dto.ImportJobDTO;
+import com.texoit.airton.movieapi.dto.ImportJobRequestDTO;
+import com.texoit.airton.movieapi.service.ImportJobService;
+
+@RestController
+@RequestMapping("/import/jobs")
+public class ImportJobController {
+	
+	Logger logger = LoggerFactory.getLogger(ImportJobController.class);
+	
+	@Autowired
+	private ImportJobService importJobService;
+	
+	/**
+	 * Agenda a importação de um arquivo do servidor. Com {@code mode=delta}
+	 * só as diferenças são gravadas; filmes ausentes do arquivo só são
+	 * removidos se o pedido trouxer {@code deleteMissing=true}.
+	 * @return {@link ImportJobDTO} do job criado, com Location para acompanhamento
+	 */
+	@PostMapping
+	public ResponseEntity<ImportJobDTO> submit(@RequestBody ImportJobRequestDTO request) {
+		ImportJobDTO job = importJobService.submit(request.getPath(), request.getMode(),
+				request.isDeleteMissing());
+		
+		URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+				.path("/{id}").buildAndExpand(job.getId()).toUri();
+		HttpHeaders headers = new HttpHeaders();
+		headers.setLocation(location);
+		
+		return new ResponseEntity<ImportJobDTO>( job, headers, HttpStatus.ACCEPTED ) ;
+	}
+	
+	/**
+	 * @return {@link ImportJobDTO} com linhas processadas, vazão e erro
+	 */
+	@GetMapping("/{id}")
+	public ResponseEntity<ImportJobDTO> getJob(@PathVariable(name="id") Long id) {
+		Optional<ImportJobDTO> job = importJobService.findJob(id);
+		
+		if ( !job.isPresent() ) {
+			return new ResponseEntity<ImportJobDTO>( HttpStatus.NOT_FOUND ) ;
+		}
+		
+		return new ResponseEntity<ImportJobDTO>( job.get(), HttpStatus.OK ) ;
+	}
+
+}
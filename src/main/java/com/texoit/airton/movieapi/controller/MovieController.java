@@ -1,19 +1,30 @@
 package com.texoit.airton.movieapi.controller;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.texoit.airton.movieapi.dto.MovieDTO;
+import com.texoit.airton.movieapi.dto.BulkImportDTO;
+import com.texoit.airton.movieapi.dto.MoviePageDTO;
+import com.texoit.airton.movieapi.dto.MovieViewDTO;
 import com.texoit.airton.movieapi.dto.YearWinnerDTO;
 import com.texoit.airton.movieapi.service.MovieService;
 
@@ -27,30 +38,77 @@ public class MovieController {
 	private MovieService movieService;
 	
 	@GetMapping("/{year}")
-    public ResponseEntity<List<MovieDTO>> getMovies(@PathVariable(name="year") Integer year) {
-		List<MovieDTO> movies = movieService.getMoviesByYear(year);
+    public ResponseEntity<List<MovieViewDTO>> getMovies(@PathVariable(name="year") Integer year) {
+		List<MovieViewDTO> movies = movieService.getMoviesByYear(year);
 		
 		HttpStatus status = HttpStatus.OK;
 		if ( movies.isEmpty() ) {
 			status = HttpStatus.NO_CONTENT;
 		}
 		
-        return new ResponseEntity<List<MovieDTO>>( movies, status ) ;
+        return new ResponseEntity<List<MovieViewDTO>>( movies, status ) ;
     }
 	
 	/**
-	 * @return {@link YearWinnerDTO}
+	 * Filmes de vários anos em uma chamada, agrupados por ano; anos sem
+	 * filmes ficam fora. Limitado a {@code movieapi.performance.max-years-per-request}.
+	 * @param years anos separados por vírgula, ex.: {@code years=1980,1981}
+	 */
+	@GetMapping(params="years")
+	public ResponseEntity<Map<Integer, List<MovieViewDTO>>> getMoviesByYears(
+			@RequestParam(name="years") List<Integer> years) {
+		return groupedByYear(movieService.getMoviesByYears(years));
+	}
+	
+	/**
+	 * Filmes de {@code from} a {@code to} (inclusivos), agrupados por ano.
+	 */
+	@GetMapping(params={"from", "to"})
+	public ResponseEntity<Map<Integer, List<MovieViewDTO>>> getMoviesByYearRange(
+			@RequestParam(name="from") Integer from,
+			@RequestParam(name="to") Integer to) {
+		return groupedByYear(movieService.getMoviesByYearRange(from, to));
+	}
+	
+	/**
+	 * Todos os filmes em ordem {@code (ano, id)}, paginados pela chave do
+	 * último filme da página anterior ({@code nextAfterYear}/{@code nextAfterId}
+	 * da resposta). Limitado a {@code movieapi.performance.max-page-size} por página.
+	 */
+	@GetMapping(params={"!years", "!from", "!to"})
+	public ResponseEntity<MoviePageDTO> getMoviePage(
+			@RequestParam(name="afterYear", required=false) Integer afterYear,
+			@RequestParam(name="afterId", required=false) Long afterId,
+			@RequestParam(name="size", defaultValue="100") int size) {
+		MoviePageDTO page = movieService.getMoviePage(afterYear, afterId, size);
+		HttpStatus status = page.getMovies().isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK;
+		return new ResponseEntity<MoviePageDTO>( page, status ) ;
+	}
+	
+	/**
+	 * Todos os filmes em NDJSON (um por linha), em ordem {@code (ano, id)},
+	 * escritos em streaming enquanto são lidos do banco.
+	 */
+	@GetMapping(params={"!years", "!from", "!to"}, produces="application/x-ndjson")
+	public ResponseEntity<StreamingResponseBody> streamMovies() {
+		return ResponseEntity.ok()
+				.contentType(MovieService.APPLICATION_NDJSON)
+				.body(movieService.streamMovies());
+	}
+	
+	private ResponseEntity<Map<Integer, List<MovieViewDTO>>> groupedByYear(Map<Integer, List<MovieViewDTO>> movies) {
+		HttpStatus status = movies.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK;
+		return new ResponseEntity<Map<Integer, List<MovieViewDTO>>>( movies, status ) ;
+	}
+	
+	/**
+	 * {@link YearWinnerDTO} serializado uma vez por versão da base e escrito
+	 * direto na resposta (gzip quando o cliente aceita).
 	 */
 	@GetMapping("/years")
-	public ResponseEntity<YearWinnerDTO> getYearsWithMoreThanOneWinners() {
-		YearWinnerDTO dto = movieService.getYearsWithMoreThanOneWinners();
-		
-		HttpStatus status = HttpStatus.OK;
-		if ( dto.getYears().isEmpty() ) {
-			status = HttpStatus.NO_CONTENT;
-		}
-		
-		return new ResponseEntity<YearWinnerDTO>( dto, status ) ;
+	public void getYearsWithMoreThanOneWinners(HttpServletRequest request, HttpServletResponse response)
+			throws IOException {
+		movieService.getYearsWithMoreThanOneWinnersResponse().writeTo(request, response);
 	}
 	
 	@DeleteMapping("/{id}")
@@ -58,5 +116,17 @@ public class MovieController {
 		movieService.remove(id);
 		return new ResponseEntity<Void>(HttpStatus.OK);
 	}
+	
+	/**
+	 * Importa filmes a partir de um corpo text/csv ou application/x-ndjson,
+	 * lido em streaming.
+	 * @return {@link BulkImportDTO} com os totais e a contagem de cada lote
+	 */
+	@PostMapping(value = "/bulk", consumes = { "text/csv", "application/x-ndjson" })
+	public ResponseEntity<BulkImportDTO> bulkImport(HttpServletRequest request) throws IOException {
+		BulkImportDTO dto = movieService.bulkImport(request.getInputStream(),
+				MediaType.parseMediaType(request.getContentType()));
+		return new ResponseEntity<BulkImportDTO>( dto, HttpStatus.OK ) ;
+	}
 
 }
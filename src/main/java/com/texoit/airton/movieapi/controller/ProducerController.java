@@ -1,15 +1,26 @@
 package com.texoit.airton.movieapi.controller;
 
+import java.io.IOException;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.texoit.airton.movieapi.dto.ProducerIntervalRankingDTO;
 import com.texoit.airton.movieapi.dto.ProducerMinMaxPrizesDTO;
+import com.texoit.airton.movieapi.dto.ProducerPrizesDTO;
 import com.texoit.airton.movieapi.service.ProducerService;
 
 @RestController
@@ -21,9 +32,26 @@ public class ProducerController {
 	@Autowired
 	private ProducerService producerService;
 	
+	/**
+	 * Sem filtros, o resultado é o mesmo até a base mudar: os bytes já
+	 * serializados (ou a variante gzip) vão direto para a resposta.
+	 */
+	@GetMapping(value="interval-prizes", params={"!from", "!to", "!producer"})
+	public void getMaxAndMinPrizes(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		producerService.getMaxAndMinPrizesResponse().writeTo(request, response);
+	}
+	
+	/**
+	 * @param from primeiro ano considerado (inclusivo)
+	 * @param to último ano considerado (inclusivo)
+	 * @param producer produtores considerados; pode ser repetido
+	 */
 	@GetMapping("interval-prizes")
-	public ResponseEntity<ProducerMinMaxPrizesDTO> getMaxAndMinPrizes() {
-		ProducerMinMaxPrizesDTO dto = producerService.getMaxAndMinPrizes();
+	public ResponseEntity<ProducerMinMaxPrizesDTO> getMaxAndMinPrizes(
+			@RequestParam(name="from", required=false) Integer from,
+			@RequestParam(name="to", required=false) Integer to,
+			@RequestParam(name="producer", required=false) List<String> producer) {
+		ProducerMinMaxPrizesDTO dto = producerService.getMaxAndMinPrizes(from, to, producer);
 		
 		HttpStatus status = HttpStatus.OK;
 		if ( dto.getMax().isEmpty() && dto.getMin().isEmpty() ) {
@@ -32,5 +60,45 @@ public class ProducerController {
 		
 		return new ResponseEntity<ProducerMinMaxPrizesDTO>(dto, status);
 	}
+	
+	/**
+	 * @return os {@code k} menores ({@code order=asc}) ou maiores ({@code order=desc})
+	 * intervalos, limitados a {@code movieapi.calculation.max-results}
+	 */
+	@GetMapping("interval-prizes/top")
+	public ResponseEntity<List<ProducerPrizesDTO>> getTopIntervals(
+			@RequestParam(name="order", defaultValue="asc") String order,
+			@RequestParam(name="k", defaultValue="10") int k) {
+		List<ProducerPrizesDTO> intervals = producerService.getTopIntervals(order, k);
+		
+		HttpStatus status = intervals.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK;
+		return new ResponseEntity<List<ProducerPrizesDTO>>(intervals, status);
+	}
+	
+	/**
+	 * @return página do ranking de intervalos; só as primeiras
+	 * {@code movieapi.calculation.max-results} posições são paginadas
+	 */
+	@GetMapping("interval-prizes/ranking")
+	public ResponseEntity<ProducerIntervalRankingDTO> getIntervalRanking(
+			@RequestParam(name="order", defaultValue="asc") String order,
+			@RequestParam(name="page", defaultValue="0") int page,
+			@RequestParam(name="size", defaultValue="20") int size) {
+		return new ResponseEntity<ProducerIntervalRankingDTO>(
+				producerService.getIntervalRanking(order, page, size), HttpStatus.OK);
+	}
+	
+	/**
+	 * Lista completa de intervalos, escrita em streaming. Com
+	 * {@code includeNonConsecutive} (padrão: {@code movieapi.calculation.include-non-consecutive})
+	 * inclui todos os pares de vitórias de cada produtor.
+	 */
+	@GetMapping("interval-prizes/all")
+	public ResponseEntity<StreamingResponseBody> getAllIntervals(
+			@RequestParam(name="includeNonConsecutive", required=false) Boolean includeNonConsecutive) {
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON_UTF8)
+				.body(producerService.streamIntervals(includeNonConsecutive));
+	}
 
 }
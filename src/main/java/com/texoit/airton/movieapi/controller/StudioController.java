@@ -1,10 +1,13 @@
 package com.texoit.airton.movieapi.controller;
 
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -21,16 +24,13 @@ public class StudioController {
 	@Autowired
 	private StudioService studioService;
 
+	/**
+	 * {@link StudioDTO} serializado uma vez por versão da base e escrito
+	 * direto na resposta (gzip quando o cliente aceita).
+	 */
 	@GetMapping("/winners")
-	public ResponseEntity<StudioDTO> getGreatestWinners() {
-		StudioDTO dto = studioService.getGreatestWinners();
-
-		HttpStatus status = HttpStatus.OK;
-		if (dto.getStudios() == null || dto.getStudios().isEmpty()) {
-			status = HttpStatus.NO_CONTENT;
-		}
-
-		return new ResponseEntity<StudioDTO>(dto, status);
+	public void getGreatestWinners(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		studioService.getGreatestWinnersResponse().writeTo(request, response);
 	}
 
 }
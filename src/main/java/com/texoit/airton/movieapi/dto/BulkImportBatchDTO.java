@@ -0,0 +1,67 @@
+package com.texoit.airton.movieapi.dto;
+
+import com.texoit.airton.movieapi.infrastructure.ingestion.BulkImportReport;
+
+public class BulkImportBatchDTO {
+	
+	private Integer batch;
+	
+	private Long movies;
+	
+	private Long studios;
+	
+	private Long producers;
+	
+	private Long links;
+	
+	public BulkImportBatchDTO() {}
+	
+	public BulkImportBatchDTO(BulkImportReport.Batch batch) {
+		this.batch = batch.getNumber();
+		this.movies = batch.getMovies();
+		this.studios = batch.getStudios();
+		this.producers = batch.getProducers();
+		this.links = batch.getLinks();
+	}
+
+	public Integer getBatch() {
+		return batch;
+	}
+
+	public void setBatch(Integer batch) {
+		this.batch = batch;
+	}
+
+	public Long getMovies() {
+		return movies;
+	}
+
+	public void setMovies(Long movies) {
+		this.movies = movies;
+	}
+
+	public Long getStudios() {
+		return studios;
+	}
+
+	public void setStudios(Long studios) {
+		this.studios = studios;
+	}
+
+	public Long getProducers() {
+		return producers;
+	}
+
+	public void setProducers(Long producers) {
+		this.producers = producers;
+	}
+
+	public Long getLinks() {
+		return links;
+	}
+
+	public void setLinks(Long links) {
+		this.links = links;
+	}
+
+}
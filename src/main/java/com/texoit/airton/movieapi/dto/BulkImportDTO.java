@@ -0,0 +1,86 @@
+package com.texoit.airton.movieapi.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.texoit.airton.movieapi.infrastructure.ingestion.BulkImportReport;
+
+public class BulkImportDTO {
+	
+	private Long movies;
+	
+	private Long studios;
+	
+	private Long producers;
+	
+	private Long links;
+	
+	private Long elapsedMillis;
+	
+	private List<BulkImportBatchDTO> batches;
+	
+	public BulkImportDTO() {
+		this.batches = new ArrayList<>();
+	}
+	
+	public BulkImportDTO(BulkImportReport report) {
+		this.movies = report.getTotal().getMovies();
+		this.studios = report.getTotal().getStudios();
+		this.producers = report.getTotal().getProducers();
+		this.links = report.getTotal().getLinks();
+		this.elapsedMillis = report.getTotal().getElapsedMillis();
+		this.batches = new ArrayList<>();
+		for (BulkImportReport.Batch batch : report.getBatches()) {
+			this.batches.add(new BulkImportBatchDTO(batch));
+		}
+	}
+
+	public Long getMovies() {
+		return movies;
+	}
+
+	public void setMovies(Long movies) {
+		this.movies = movies;
+	}
+
+	public Long getStudios() {
+		return studios;
+	}
+
+	public void setStudios(Long studios) {
+		this.studios = studios;
+	}
+
+	public Long getProducers() {
+		return producers;
+	}
+
+	public void setProducers(Long producers) {
+		this.producers = producers;
+	}
+
+	public Long getLinks() {
+		return links;
+	}
+
+	public void setLinks(Long links) {
+		this.links = links;
+	}
+
+	public Long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public void setElapsedMillis(Long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	public List<BulkImportBatchDTO> getBatches() {
+		return batches;
+	}
+
+	public void setBatches(List<BulkImportBatchDTO> batches) {
+		this.batches = batches;
+	}
+
+}
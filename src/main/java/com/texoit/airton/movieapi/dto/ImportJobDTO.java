@@ -0,0 +1,153 @@
+package com.texoit.airton.movieapi.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import com.texoit.airton.movieapi.entity.ImportJob;
+
+public class ImportJobDTO {
+	
+	private Long id;
+	
+	private String path;
+	
+	private String mode;
+	
+	private String status;
+	
+	private Long rowsProcessed;
+	
+	private Long rowsTotal;
+	
+	private Integer batchesCommitted;
+	
+	private Double rowsPerSecond;
+	
+	private String error;
+	
+	private Instant createdAt;
+	
+	private Instant startedAt;
+	
+	private Instant finishedAt;
+	
+	public ImportJobDTO() {}
+	
+	public ImportJobDTO(ImportJob job) {
+		this.id = job.getId();
+		this.path = job.getPath();
+		this.mode = job.getMode().name();
+		this.status = job.getStatus().name();
+		this.rowsProcessed = job.getRowsCommitted();
+		this.rowsTotal = job.getRowsTotal();
+		this.batchesCommitted = job.getBatchesCommitted();
+		this.error = job.getError();
+		this.createdAt = job.getCreatedAt();
+		this.startedAt = job.getStartedAt();
+		this.finishedAt = job.getFinishedAt();
+		
+		// Vazão da execução atual (desde o início ou a retomada)
+		if ( job.getStartedAt() != null ) {
+			Instant end = job.getFinishedAt() != null ? job.getFinishedAt() : Instant.now();
+			long millis = Math.max(1L, Duration.between(job.getStartedAt(), end).toMillis());
+			this.rowsPerSecond = (job.getRowsCommitted() - job.getRowsAtStart()) * 1000.0 / millis;
+		}
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public void setPath(String path) {
+		this.path = path;
+	}
+
+	public String getMode() {
+		return mode;
+	}
+
+	public void setMode(String mode) {
+		this.mode = mode;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public Long getRowsProcessed() {
+		return rowsProcessed;
+	}
+
+	public void setRowsProcessed(Long rowsProcessed) {
+		this.rowsProcessed = rowsProcessed;
+	}
+
+	public Long getRowsTotal() {
+		return rowsTotal;
+	}
+
+	public void setRowsTotal(Long rowsTotal) {
+		this.rowsTotal = rowsTotal;
+	}
+
+	public Integer getBatchesCommitted() {
+		return batchesCommitted;
+	}
+
+	public void setBatchesCommitted(Integer batchesCommitted) {
+		this.batchesCommitted = batchesCommitted;
+	}
+
+	public Double getRowsPerSecond() {
+		return rowsPerSecond;
+	}
+
+	public void setRowsPerSecond(Double rowsPerSecond) {
+		this.rowsPerSecond = rowsPerSecond;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public Instant getStartedAt() {
+		return startedAt;
+	}
+
+	public void setStartedAt(Instant startedAt) {
+		this.startedAt = startedAt;
+	}
+
+	public Instant getFinishedAt() {
+		return finishedAt;
+	}
+
+	public void setFinishedAt(Instant finishedAt) {
+		this.finishedAt = finishedAt;
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.texoit.airton.movieapi.dto;
+
+public class ImportJobRequestDTO {
+	
+	private String path;
+	
+	private String mode;
+	
+	private boolean deleteMissing;
+	
+	public ImportJobRequestDTO() {}
+	
+	public ImportJobRequestDTO(String path) {
+		this.path = path;
+	}
+	
+	public ImportJobRequestDTO(String path, String mode) {
+		this.path = path;
+		this.mode = mode;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public void setPath(String path) {
+		this.path = path;
+	}
+
+	public String getMode() {
+		return mode;
+	}
+
+	public void setMode(String mode) {
+		this.mode = mode;
+	}
+
+	public boolean isDeleteMissing() {
+		return deleteMissing;
+	}
+
+	public void setDeleteMissing(boolean deleteMissing) {
+		this.deleteMissing = deleteMissing;
+	}
+
+}
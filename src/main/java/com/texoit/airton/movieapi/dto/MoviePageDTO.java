@@ -0,0 +1,75 @@
+package com.texoit.airton.movieapi.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Página de {@code GET /movie}, em ordem {@code (ano, id)}. Quando há mais
+ * filmes, {@code nextAfterYear} e {@code nextAfterId} são a chave a enviar
+ * em {@code afterYear} e {@code afterId} para obter a página seguinte.
+ */
+public class MoviePageDTO {
+
+	private int size;
+
+	private boolean hasNext;
+
+	private Integer nextAfterYear;
+
+	private Long nextAfterId;
+
+	private List<MovieViewDTO> movies = new ArrayList<>();
+
+	public MoviePageDTO() {
+	}
+
+	public MoviePageDTO(int size, boolean hasNext, Integer nextAfterYear, Long nextAfterId,
+			List<MovieViewDTO> movies) {
+		this.size = size;
+		this.hasNext = hasNext;
+		this.nextAfterYear = nextAfterYear;
+		this.nextAfterId = nextAfterId;
+		this.movies = movies;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	public boolean isHasNext() {
+		return hasNext;
+	}
+
+	public void setHasNext(boolean hasNext) {
+		this.hasNext = hasNext;
+	}
+
+	public Integer getNextAfterYear() {
+		return nextAfterYear;
+	}
+
+	public void setNextAfterYear(Integer nextAfterYear) {
+		this.nextAfterYear = nextAfterYear;
+	}
+
+	public Long getNextAfterId() {
+		return nextAfterId;
+	}
+
+	public void setNextAfterId(Long nextAfterId) {
+		this.nextAfterId = nextAfterId;
+	}
+
+	public List<MovieViewDTO> getMovies() {
+		return movies;
+	}
+
+	public void setMovies(List<MovieViewDTO> movies) {
+		this.movies = movies;
+	}
+
+}
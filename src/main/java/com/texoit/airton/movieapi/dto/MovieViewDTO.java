@@ -0,0 +1,60 @@
+package com.texoit.airton.movieapi.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Visão imutável de um filme, montada uma vez pelo índice por ano e
+ * reaproveitada em todas as leituras. Serializa com os mesmos campos de
+ * {@link MovieDTO}; os nomes de estúdios e produtores são compartilhados
+ * entre os filmes.
+ */
+public final class MovieViewDTO {
+	
+	private final Long id;
+	
+	private final Integer year;
+	
+	private final String title;
+	
+	private final List<String> studios;
+	
+	private final List<String> producers;
+	
+	private final Boolean winner;
+	
+	public MovieViewDTO(Long id, Integer year, String title, List<String> studios, List<String> producers,
+			Boolean winner) {
+		this.id = id;
+		this.year = year;
+		this.title = title;
+		this.studios = Collections.unmodifiableList(studios);
+		this.producers = Collections.unmodifiableList(producers);
+		this.winner = winner;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Integer getYear() {
+		return year;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public List<String> getStudios() {
+		return studios;
+	}
+
+	public List<String> getProducers() {
+		return producers;
+	}
+
+	public Boolean getWinner() {
+		return winner;
+	}
+	
+}
@@ -0,0 +1,70 @@
+package com.texoit.airton.movieapi.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProducerIntervalRankingDTO {
+
+	private String order;
+
+	private int page;
+
+	private int size;
+
+	private boolean hasNext;
+
+	private List<ProducerPrizesDTO> intervals = new ArrayList<>();
+
+	public ProducerIntervalRankingDTO() {
+	}
+
+	public ProducerIntervalRankingDTO(String order, int page, int size, boolean hasNext,
+			List<ProducerPrizesDTO> intervals) {
+		this.order = order;
+		this.page = page;
+		this.size = size;
+		this.hasNext = hasNext;
+		this.intervals = intervals;
+	}
+
+	public String getOrder() {
+		return order;
+	}
+
+	public void setOrder(String order) {
+		this.order = order;
+	}
+
+	public int getPage() {
+		return page;
+	}
+
+	public void setPage(int page) {
+		this.page = page;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	public boolean isHasNext() {
+		return hasNext;
+	}
+
+	public void setHasNext(boolean hasNext) {
+		this.hasNext = hasNext;
+	}
+
+	public List<ProducerPrizesDTO> getIntervals() {
+		return intervals;
+	}
+
+	public void setIntervals(List<ProducerPrizesDTO> intervals) {
+		this.intervals = intervals;
+	}
+
+}
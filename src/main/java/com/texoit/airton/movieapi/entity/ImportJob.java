@@ -0,0 +1,253 @@
+package com.texoit.airton.movieapi.entity;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+
+/**
+ * Job de importação de um arquivo de filmes. {@code rowsCommitted} é o
+ * checkpoint: gravado na mesma transação de cada lote, indica quantos
+ * registros do arquivo já estão na base, e {@code positionCommitted} é a
+ * posição do leitor logo após eles, na unidade do {@code readerMode} com que
+ * o job começou. No modo {@link Mode#DELTA} só as diferenças são gravadas, e
+ * os filmes ausentes do arquivo são removidos apenas com
+ * {@code deleteMissing}.
+ */
+@Entity
+@Table(name="IMPORT_JOB")
+public class ImportJob {
+	
+	public enum Status {
+		QUEUED, RUNNING, COMPLETED, FAILED
+	}
+	
+	public enum Mode {
+		APPEND, DELTA
+	}
+	
+	@Id
+	@Column(name="ID_IMPORT_JOB")
+	@GeneratedValue(strategy=GenerationType.SEQUENCE, generator="import_job_seq")
+	@GenericGenerator(name="import_job_seq", strategy="com.texoit.airton.movieapi.infrastructure.persistence.PooledSequenceGenerator",
+		parameters=@Parameter(name="sequence_name", value="SEQ_IMPORT_JOB"))
+	private Long id;
+	
+	@Column(name="PATH", nullable=false, length=1024)
+	private String path;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name="MODE", length=16)
+	private Mode mode;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name="STATUS", nullable=false, length=16)
+	private Status status;
+	
+	@Column(name="ROWS_COMMITTED", nullable=false)
+	private Long rowsCommitted;
+	
+	@Column(name="BATCHES_COMMITTED", nullable=false)
+	private Integer batchesCommitted;
+	
+	@Column(name="DELETE_MISSING")
+	private Boolean deleteMissing;
+	
+	@Column(name="POSITION_COMMITTED")
+	private Long positionCommitted;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name="READER_MODE", length=16)
+	private MovieApiProperties.Csv.ReaderMode readerMode;
+	
+	@Column(name="ROWS_TOTAL")
+	private Long rowsTotal;
+	
+	@Column(name="ROWS_AT_START", nullable=false)
+	private Long rowsAtStart;
+	
+	@Column(name="ERROR", length=1024)
+	private String error;
+	
+	@Column(name="CREATED_AT", nullable=false)
+	private Instant createdAt;
+	
+	@Column(name="STARTED_AT")
+	private Instant startedAt;
+	
+	@Column(name="UPDATED_AT")
+	private Instant updatedAt;
+	
+	@Column(name="FINISHED_AT")
+	private Instant finishedAt;
+	
+	public ImportJob() {}
+	
+	public ImportJob(String path) {
+		this(path, Mode.APPEND);
+	}
+	
+	public ImportJob(String path, Mode mode) {
+		this.path = path;
+		this.mode = mode;
+		this.status = Status.QUEUED;
+		this.rowsCommitted = 0L;
+		this.batchesCommitted = 0;
+		this.rowsAtStart = 0L;
+		this.createdAt = Instant.now();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public void setPath(String path) {
+		this.path = path;
+	}
+
+	public Mode getMode() {
+		return mode == null ? Mode.APPEND : mode;
+	}
+
+	public void setMode(Mode mode) {
+		this.mode = mode;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public Long getRowsCommitted() {
+		return rowsCommitted;
+	}
+
+	public void setRowsCommitted(Long rowsCommitted) {
+		this.rowsCommitted = rowsCommitted;
+	}
+
+	public Integer getBatchesCommitted() {
+		return batchesCommitted;
+	}
+
+	public void setBatchesCommitted(Integer batchesCommitted) {
+		this.batchesCommitted = batchesCommitted;
+	}
+
+	public boolean isDeleteMissing() {
+		return Boolean.TRUE.equals(deleteMissing);
+	}
+
+	public void setDeleteMissing(boolean deleteMissing) {
+		this.deleteMissing = deleteMissing;
+	}
+
+	public Long getPositionCommitted() {
+		return positionCommitted;
+	}
+
+	public void setPositionCommitted(Long positionCommitted) {
+		this.positionCommitted = positionCommitted;
+	}
+
+	public MovieApiProperties.Csv.ReaderMode getReaderMode() {
+		return readerMode;
+	}
+
+	public void setReaderMode(MovieApiProperties.Csv.ReaderMode readerMode) {
+		this.readerMode = readerMode;
+	}
+
+	public Long getRowsTotal() {
+		return rowsTotal;
+	}
+
+	public void setRowsTotal(Long rowsTotal) {
+		this.rowsTotal = rowsTotal;
+	}
+
+	public Long getRowsAtStart() {
+		return rowsAtStart;
+	}
+
+	public void setRowsAtStart(Long rowsAtStart) {
+		this.rowsAtStart = rowsAtStart;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public Instant getStartedAt() {
+		return startedAt;
+	}
+
+	public void setStartedAt(Instant startedAt) {
+		this.startedAt = startedAt;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Instant updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+	public Instant getFinishedAt() {
+		return finishedAt;
+	}
+
+	public void setFinishedAt(Instant finishedAt) {
+		this.finishedAt = finishedAt;
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (obj == null || getClass() != obj.getClass()) return false;
+		
+		ImportJob other = (ImportJob) obj;
+		return Objects.equals(id, other.getId());
+	}
+	
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+}
@@ -7,20 +7,48 @@ import java.util.Set;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import com.texoit.airton.movieapi.infrastructure.event.DatasetEntityListener;
+
+/**
+ * Os vínculos com estúdios e produtores são LAZY; quem precisa deles os
+ * busca junto com o filme pelo grafo {@value #WITH_LINKS}. O índice
+ * {@code (YEAR, ID_MOVIE)} atende a busca por ano e a paginação por chave.
+ */
 @Entity
-@Table(name="MOVIE")
+@EntityListeners(DatasetEntityListener.class)
+@Table(name="MOVIE", indexes=@Index(name="IDX_MOVIE_YEAR_ID", columnList="YEAR, ID_MOVIE"))
+@NamedEntityGraph(name=Movie.WITH_LINKS,
+	attributeNodes={
+		@NamedAttributeNode(value="studios", subgraph="studio"),
+		@NamedAttributeNode(value="producers", subgraph="producer") },
+	subgraphs={
+		@NamedSubgraph(name="studio", attributeNodes=@NamedAttributeNode("studio")),
+		@NamedSubgraph(name="producer", attributeNodes=@NamedAttributeNode("producer")) })
 public class Movie {
 	
+	/** Filme com estúdios e produtores em uma única consulta */
+	public static final String WITH_LINKS = "Movie.withLinks";
+	
 	@Id
 	@Column(name="ID_MOVIE")
-	@GeneratedValue(strategy=GenerationType.IDENTITY)
+	@GeneratedValue(strategy=GenerationType.SEQUENCE, generator="movie_seq")
+	@GenericGenerator(name="movie_seq", strategy="com.texoit.airton.movieapi.infrastructure.persistence.PooledSequenceGenerator",
+		parameters=@Parameter(name="sequence_name", value="SEQ_MOVIE"))
 	private Long id;
 	
 	@Column(name="YEAR", nullable=false)
@@ -31,11 +59,15 @@ public class Movie {
 	
 	@Column(name="IS_WINNER", nullable=false)
 	private Boolean winner;
+	
+	/** Hash do registro de origem, usado pela importação delta */
+	@Column(name="FINGERPRINT")
+	private Long fingerprint;
 
-	@OneToMany(mappedBy="movie", cascade=CascadeType.ALL, orphanRemoval = true, fetch=FetchType.EAGER)
+	@OneToMany(mappedBy="movie", cascade=CascadeType.ALL, orphanRemoval = true, fetch=FetchType.LAZY)
 	private Set<MovieStudio> studios = new HashSet<>();
 	
-	@OneToMany(mappedBy="movie", cascade=CascadeType.ALL, orphanRemoval = true, fetch=FetchType.EAGER)
+	@OneToMany(mappedBy="movie", cascade=CascadeType.ALL, orphanRemoval = true, fetch=FetchType.LAZY)
 	private Set<MovieProducer> producers = new HashSet<>();
 	
 	public Movie() {}
@@ -78,6 +110,14 @@ public class Movie {
 		this.winner = winner;
 	}
 
+	public Long getFingerprint() {
+		return fingerprint;
+	}
+
+	public void setFingerprint(Long fingerprint) {
+		this.fingerprint = fingerprint;
+	}
+
 	public Set<MovieStudio> getStudios() {
 		return studios;
 	}
@@ -4,22 +4,27 @@ import java.util.Objects;
 
 import javax.persistence.EmbeddedId;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
+import javax.persistence.FetchType;
 import javax.persistence.ManyToOne;
 import javax.persistence.MapsId;
 import javax.persistence.Table;
 
+import com.texoit.airton.movieapi.infrastructure.event.DatasetEntityListener;
+
 @Entity
+@EntityListeners(DatasetEntityListener.class)
 @Table(name="MOVIE_STUDIO")
 public class MovieStudio {
 
 	@EmbeddedId
 	private MovieStudioId id;
 	
-	@ManyToOne
+	@ManyToOne(fetch=FetchType.LAZY)
 	@MapsId("idMovie")
 	private Movie movie;
 	
-	@ManyToOne
+	@ManyToOne(fetch=FetchType.LAZY)
 	@MapsId("idStudio")
 	private Studio studio;
 	
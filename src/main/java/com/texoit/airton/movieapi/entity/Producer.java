@@ -7,19 +7,28 @@ import java.util.Objects;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import com.texoit.airton.movieapi.infrastructure.event.DatasetEntityListener;
+
 @Entity
+@EntityListeners(DatasetEntityListener.class)
 @Table(name="PRODUCER")
 public class Producer {
 	
 	@Id
 	@Column(name="ID_PRODUCER")
-	@GeneratedValue(strategy=GenerationType.IDENTITY)
+	@GeneratedValue(strategy=GenerationType.SEQUENCE, generator="producer_seq")
+	@GenericGenerator(name="producer_seq", strategy="com.texoit.airton.movieapi.infrastructure.persistence.PooledSequenceGenerator",
+		parameters=@Parameter(name="sequence_name", value="SEQ_PRODUCER"))
 	private Long id;
 	
 	@Column(name="NAME", length=50, nullable=false)
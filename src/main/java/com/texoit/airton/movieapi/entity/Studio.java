@@ -13,13 +13,18 @@ import javax.persistence.Id;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 @Entity
 @Table(name="STUDIO")
 public class Studio {
 	
 	@Id
 	@Column(name="ID_STUDIO")
-	@GeneratedValue(strategy=GenerationType.IDENTITY)
+	@GeneratedValue(strategy=GenerationType.SEQUENCE, generator="studio_seq")
+	@GenericGenerator(name="studio_seq", strategy="com.texoit.airton.movieapi.infrastructure.persistence.PooledSequenceGenerator",
+		parameters=@Parameter(name="sequence_name", value="SEQ_STUDIO"))
 	private Long id;
 	
 	@Column(name="NAME", length=50, unique=true)
@@ -0,0 +1,51 @@
+package com.texoit.airton.movieapi.infrastructure.cache;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.texoit.airton.movieapi.infrastructure.event.DatasetChangeEvent;
+
+/**
+ * Versão monotônica da base, incrementada a cada alteração confirmada
+ * ({@code MovieService.remove}, cargas, importações e restauração de
+ * snapshot, via {@link DatasetChangeEvent}). Resultados calculados sobre
+ * uma versão continuam válidos enquanto ela não muda.
+ * <p>
+ * O contador recomeça em 0 a cada processo, e instâncias diferentes chegam
+ * ao mesmo número por caminhos diferentes. Por isso, o que sai do processo
+ * (como o ETag) leva também a {@link #epoch() época}, sorteada na
+ * inicialização.
+ */
+@Component
+public class DatasetVersion {
+
+    private final String epoch = Long.toHexString(new SecureRandom().nextLong());
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Identifica este processo: a mesma versão em processos diferentes não
+     * descreve necessariamente a mesma base.
+     */
+    public String epoch() {
+        return epoch;
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Roda depois dos demais ouvintes, para que índices derivados já tenham
+     * registrado a alteração quando a nova versão ficar visível.
+     */
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onDatasetChange(DatasetChangeEvent event) {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,114 @@
+package com.texoit.airton.movieapi.infrastructure.cache;
+
+import java.io.IOException;
+import java.util.Enumeration;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+/**
+ * Resposta JSON já serializada de uma versão da base, com a variante gzip
+ * pronta. {@link #writeTo} copia os bytes direto para o corpo da resposta,
+ * sem montar DTOs nem passar pelo Jackson. Resultados vazios viram 204,
+ * como nos demais endpoints.
+ */
+public final class MaterializedResponse {
+
+    private static final String GZIP = "gzip";
+
+    private final long version;
+    private final boolean empty;
+    private final byte[] json;
+    private final byte[] gzip;
+
+    MaterializedResponse(long version, boolean empty, byte[] json, byte[] gzip) {
+        this.version = version;
+        this.empty = empty;
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    public int getJsonLength() {
+        return json.length;
+    }
+
+    public int getGzipLength() {
+        return gzip.length;
+    }
+
+    public void writeTo(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (empty) {
+            response.setStatus(HttpStatus.NO_CONTENT.value());
+            return;
+        }
+
+        byte[] body = json;
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(request)) {
+            body = gzip;
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            String etag = response.getHeader(HttpHeaders.ETAG);
+            if (etag != null) {
+                response.setHeader(HttpHeaders.ETAG, gzipEtag(etag));
+            }
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * ETag forte da variante gzip: representações diferentes não podem
+     * dividir o mesmo ETag forte.
+     */
+    public static String gzipEtag(String etag) {
+        return etag.endsWith("\"")
+                ? etag.substring(0, etag.length() - 1) + "-" + GZIP + "\""
+                : etag + "-" + GZIP;
+    }
+
+    /** {@code Accept-Encoding} com {@code gzip} (ou {@code *}) e q diferente de zero. */
+    public static boolean acceptsGzip(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (headers != null && headers.hasMoreElements()) {
+            for (String coding : headers.nextElement().split(",")) {
+                String[] parts = coding.trim().split(";");
+                String name = parts[0].trim();
+                if (!name.equalsIgnoreCase(GZIP) && !name.equals("*")) {
+                    continue;
+                }
+                if (!isZeroQuality(parts)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) == 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
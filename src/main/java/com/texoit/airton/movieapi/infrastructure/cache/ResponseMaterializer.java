@@ -0,0 +1,92 @@
+package com.texoit.airton.movieapi.infrastructure.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+
+/**
+ * Respostas materializadas dos endpoints agregados sem parâmetros
+ * ({@code /producer/interval-prizes}, {@code /movie/years} e
+ * {@code /studio/winners}). Cada uma é serializada uma vez por versão da
+ * base, com o {@link ObjectMapper} da aplicação, em um {@code byte[]} e na
+ * variante gzip; enquanto a versão não muda, a requisição só copia bytes.
+ * <p>
+ * Só a última versão de cada resposta é mantida. A versão é lida antes do
+ * cálculo, como no {@link ResultCache}, e as serializações simultâneas da
+ * mesma versão são coalescidas.
+ */
+@Component
+public class ResponseMaterializer {
+
+    public static final String PRODUCER_INTERVALS = ResultCache.PRODUCER_INTERVALS;
+    public static final String MOVIE_YEARS = ResultCache.MOVIE_YEARS;
+    public static final String STUDIO_WINNERS = ResultCache.STUDIO_WINNERS;
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseMaterializer.class);
+
+    private final ObjectMapper objectMapper;
+    private final DatasetVersion datasetVersion;
+    private final SingleFlight singleFlight;
+
+    private final Map<String, MaterializedResponse> responses = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResponseMaterializer(ObjectMapper objectMapper, DatasetVersion datasetVersion,
+            MovieApiProperties properties) {
+        this(objectMapper, datasetVersion, properties.getCalculation().getCoalesceTimeoutMs());
+    }
+
+    ResponseMaterializer(ObjectMapper objectMapper, DatasetVersion datasetVersion, long coalesceTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.datasetVersion = datasetVersion;
+        this.singleFlight = new SingleFlight(coalesceTimeoutMs);
+    }
+
+    /**
+     * Resposta {@code name} da versão atual, montada com {@code loader} e
+     * serializada na primeira leitura da versão.
+     */
+    public <T> MaterializedResponse get(String name, Supplier<T> loader, Predicate<T> isEmpty) {
+        long version = datasetVersion.current();
+        MaterializedResponse current = responses.get(name);
+        if (current != null && current.getVersion() == version) {
+            return current;
+        }
+
+        return singleFlight.execute(name + "@" + version, () -> {
+            MaterializedResponse materialized = materialize(version, loader.get(), isEmpty);
+            // Nunca volta para uma versão anterior à que já está guardada
+            responses.merge(name, materialized,
+                    (stored, fresh) -> fresh.getVersion() >= stored.getVersion() ? fresh : stored);
+            logger.debug("Materialized {} for dataset version {}: {} bytes ({} gzipped)", name, version,
+                    materialized.getJsonLength(), materialized.getGzipLength());
+            return materialized;
+        });
+    }
+
+    private <T> MaterializedResponse materialize(long version, T value, Predicate<T> isEmpty) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new MaterializedResponse(version, isEmpty.test(value), json, compressed.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize response " + value.getClass().getSimpleName(), e);
+        }
+    }
+}
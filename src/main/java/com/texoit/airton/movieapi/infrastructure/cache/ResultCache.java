@@ -0,0 +1,241 @@
+package com.texoit.airton.movieapi.infrastructure.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Cache dos resultados agregados da API, com chave
+ * {@code (cache, parâmetros, versão da base)}. Como a versão entra na chave,
+ * uma alteração na base invalida tudo sem varrer o cache; as entradas de
+ * versões antigas são descartadas (e contadas como evicções) no primeiro
+ * acesso após a mudança. {@code movieapi.calculation.cache-expiration-minutes}
+ * é só uma rede de segurança para alterações que não passem pelos eventos.
+ * <p>
+ * Faltas simultâneas da mesma chave são coalescidas por um
+ * {@link SingleFlight}: só uma requisição calcula, as demais esperam até
+ * {@code movieapi.calculation.coalesce-timeout-ms} e recebem o mesmo
+ * resultado ou a mesma exceção.
+ * <p>
+ * Com {@code movieapi.calculation.enable-caching=false} o valor não é
+ * guardado, mas a coalescência continua. Acertos, faltas, evicções e
+ * chamadas coalescidas por cache são expostos como métricas
+ * {@code movieapi.cache.*} com a tag {@code cache}.
+ */
+@Component
+public class ResultCache implements MeterBinder {
+
+    public static final String PRODUCER_INTERVALS = "producer-intervals";
+    public static final String PRODUCER_RANKING = "producer-ranking";
+    public static final String MOVIE_YEARS = "movie-years";
+    public static final String STUDIO_WINNERS = "studio-winners";
+
+    /** Acima disso, entradas novas não são guardadas até a próxima limpeza. */
+    static final int MAX_ENTRIES = 10_000;
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final DatasetVersion datasetVersion;
+    private final LongSupplier ticker;
+    private final SingleFlight singleFlight;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Stats> stats;
+    private volatile long sweptVersion;
+
+    @Autowired
+    public ResultCache(MovieApiProperties properties, DatasetVersion datasetVersion) {
+        this(properties.getCalculation().isEnableCaching(), properties.getCalculation().getCacheExpirationMinutes(),
+                properties.getCalculation().getCoalesceTimeoutMs(), datasetVersion, System::nanoTime);
+    }
+
+    ResultCache(boolean enabled, long ttlMinutes, long coalesceTimeoutMs, DatasetVersion datasetVersion,
+            LongSupplier ticker) {
+        this.enabled = enabled;
+        this.singleFlight = new SingleFlight(coalesceTimeoutMs);
+        this.ttlNanos = ttlMinutes > 0 ? TimeUnit.MINUTES.toNanos(ttlMinutes) : Long.MAX_VALUE;
+        this.datasetVersion = datasetVersion;
+        this.ticker = ticker;
+
+        Map<String, Stats> byName = new LinkedHashMap<>();
+        for (String name : Arrays.asList(PRODUCER_INTERVALS, PRODUCER_RANKING, MOVIE_YEARS, STUDIO_WINNERS)) {
+            byName.put(name, new Stats());
+        }
+        this.stats = Collections.unmodifiableMap(byName);
+    }
+
+    /**
+     * Valor do cache {@code cache} para {@code params} na versão atual da
+     * base, calculado por {@code loader} na falta. {@code params} precisa de
+     * {@code equals}/{@code hashCode}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String cache, Object params, Supplier<T> loader) {
+        Stats cacheStats = stats(cache);
+
+        // A versão é lida antes do cálculo: se a base mudar no meio, o
+        // resultado fica na versão antiga e não é reaproveitado
+        long version = datasetVersion.current();
+        Key key = new Key(cache, params, version);
+        if (!enabled) {
+            cacheStats.misses.increment();
+            return singleFlight.execute(key, loader);
+        }
+        sweep(version);
+
+        long now = ticker.getAsLong();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (now - entry.createdNanos < ttlNanos) {
+                cacheStats.hits.increment();
+                return (T) entry.value;
+            }
+            if (entries.remove(key, entry)) {
+                cacheStats.evictions.increment();
+            }
+        }
+
+        cacheStats.misses.increment();
+        return singleFlight.execute(key, () -> {
+            T value = loader.get();
+            if (value != null && entries.size() < MAX_ENTRIES) {
+                entries.put(key, new Entry(value, ticker.getAsLong()));
+            }
+            return value;
+        });
+    }
+
+    public long getHits(String cache) {
+        return stats(cache).hits.sum();
+    }
+
+    public long getMisses(String cache) {
+        return stats(cache).misses.sum();
+    }
+
+    public long getEvictions(String cache) {
+        return stats(cache).evictions.sum();
+    }
+
+    public long getCoalesced() {
+        return singleFlight.getCoalesced();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public List<String> getCacheNames() {
+        return new ArrayList<>(stats.keySet());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Map.Entry<String, Stats> cache : stats.entrySet()) {
+            Stats cacheStats = cache.getValue();
+            FunctionCounter.builder("movieapi.cache.hits", cacheStats.hits, LongAdder::sum)
+                    .tag("cache", cache.getKey()).register(registry);
+            FunctionCounter.builder("movieapi.cache.misses", cacheStats.misses, LongAdder::sum)
+                    .tag("cache", cache.getKey()).register(registry);
+            FunctionCounter.builder("movieapi.cache.evictions", cacheStats.evictions, LongAdder::sum)
+                    .tag("cache", cache.getKey()).register(registry);
+        }
+        Gauge.builder("movieapi.cache.size", entries, Map::size).register(registry);
+        FunctionCounter.builder("movieapi.cache.coalesced", singleFlight, SingleFlight::getCoalesced)
+                .register(registry);
+    }
+
+    /**
+     * Na primeira chamada após uma mudança de versão (ou com o cache cheio),
+     * descarta as entradas de versões antigas e as expiradas.
+     */
+    private void sweep(long version) {
+        if (version == sweptVersion && entries.size() < MAX_ENTRIES) {
+            return;
+        }
+        sweptVersion = version;
+        long now = ticker.getAsLong();
+        for (Map.Entry<Key, Entry> entry : entries.entrySet()) {
+            Key key = entry.getKey();
+            if ((key.version != version || now - entry.getValue().createdNanos >= ttlNanos)
+                    && entries.remove(key, entry.getValue())) {
+                stats(key.cache).evictions.increment();
+            }
+        }
+    }
+
+    private Stats stats(String cache) {
+        Stats cacheStats = stats.get(cache);
+        if (cacheStats == null) {
+            throw new IllegalArgumentException("Unknown cache: " + cache);
+        }
+        return cacheStats;
+    }
+
+    private static final class Stats {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final long createdNanos;
+
+        Entry(Object value, long createdNanos) {
+            this.value = value;
+            this.createdNanos = createdNanos;
+        }
+    }
+
+    private static final class Key {
+
+        private final String cache;
+        private final Object params;
+        private final long version;
+
+        Key(String cache, Object params, long version) {
+            this.cache = cache;
+            this.params = params;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return version == other.version && cache.equals(other.cache) && Objects.equals(params, other.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cache, params, version);
+        }
+    }
+}
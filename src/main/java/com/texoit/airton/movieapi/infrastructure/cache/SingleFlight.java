@@ -0,0 +1,84 @@
+package com.texoit.airton.movieapi.infrastructure.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.texoit.airton.movieapi.shared.exception.ComputationTimeoutException;
+
+/**
+ * Coalescência de cálculos idênticos: enquanto um cálculo de uma chave está
+ * em andamento, as demais chamadas com a mesma chave esperam o resultado
+ * dele em vez de repetir o trabalho. A primeira chamada calcula na própria
+ * thread; as outras esperam até {@code timeoutMillis}.
+ * <p>
+ * Uma falha do cálculo é relançada, com o mesmo tipo, em todas as chamadas
+ * que esperavam por ele, e não fica registrada: a próxima chamada calcula
+ * de novo.
+ */
+public class SingleFlight {
+
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+    private final LongAdder coalesced = new LongAdder();
+
+    public SingleFlight(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> loader) {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> running = calls.putIfAbsent(key, call);
+        if (running != null) {
+            coalesced.increment();
+            return (T) await(key, running);
+        }
+
+        try {
+            T value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    /** Chamadas que reaproveitaram um cálculo em andamento. */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /** Cálculos em andamento. */
+    public int getInFlight() {
+        return calls.size();
+    }
+
+    private Object await(Object key, CompletableFuture<Object> running) {
+        try {
+            return timeoutMillis > 0 ? running.get(timeoutMillis, TimeUnit.MILLISECONDS) : running.get();
+        } catch (TimeoutException e) {
+            throw new ComputationTimeoutException(
+                    "Timed out after " + timeoutMillis + " ms waiting for in-flight computation of " + key, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight computation of " + key, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("In-flight computation of " + key + " failed", cause);
+        }
+    }
+}
@@ -14,6 +14,10 @@ public class MovieApiProperties {
     private final Csv csv = new Csv();
     private final Calculation calculation = new Calculation();
     private final Performance performance = new Performance();
+    private final Persistence persistence = new Persistence();
+    private final Ingestion ingestion = new Ingestion();
+    private final Snapshot snapshot = new Snapshot();
+    private final Http http = new Http();
 
     // Getters
     public Csv getCsv() {
@@ -28,6 +32,22 @@ public class MovieApiProperties {
         return performance;
     }
 
+    public Persistence getPersistence() {
+        return persistence;
+    }
+
+    public Ingestion getIngestion() {
+        return ingestion;
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public Http getHttp() {
+        return http;
+    }
+
     /**
      * Configurações de processamento de CSV
      */
@@ -36,6 +56,16 @@ public class MovieApiProperties {
         private String encoding = "UTF-8";
         private boolean skipFirstLine = true;
         private int batchSize = 1000;
+        private String path;
+        private ReaderMode readerMode = ReaderMode.STREAMING;
+
+        /**
+         * Estratégia de leitura do arquivo: STREAMING usa o commons-csv e
+         * MAPPED mapeia o arquivo em memória ({@code FileChannel.map})
+         */
+        public enum ReaderMode {
+            STREAMING, MAPPED
+        }
 
         // Getters and Setters
         public String getDelimiter() {
@@ -69,18 +99,55 @@ public class MovieApiProperties {
         public void setBatchSize(int batchSize) {
             this.batchSize = batchSize;
         }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public ReaderMode getReaderMode() {
+            return readerMode;
+        }
+
+        public void setReaderMode(ReaderMode readerMode) {
+            this.readerMode = readerMode;
+        }
     }
 
     /**
      * Configurações de cálculo de intervalos
      */
     public static class Calculation {
+        private Engine engine = Engine.INDEXED;
         private boolean includeNonConsecutive = false;
         private int maxResults = 100;
         private boolean enableCaching = true;
         private long cacheExpirationMinutes = 60;
+        private long coalesceTimeoutMs = 30000;
+
+        /**
+         * Motor de cálculo dos intervalos: PRIMITIVE faz uma passada sobre
+         * arrays primitivos na JVM, FORK_JOIN divide a mesma passada por faixas
+         * de produtores em {@code performance.thread-pool-size} threads, SQL
+         * usa {@code LAG} no banco e INDEXED mantém um índice em memória
+         * atualizado a cada alteração da base
+         */
+        public enum Engine {
+            PRIMITIVE, FORK_JOIN, SQL, INDEXED
+        }
 
         // Getters and Setters
+        public Engine getEngine() {
+            return engine;
+        }
+
+        public void setEngine(Engine engine) {
+            this.engine = engine;
+        }
+
         public boolean isIncludeNonConsecutive() {
             return includeNonConsecutive;
         }
@@ -112,6 +179,14 @@ public class MovieApiProperties {
         public void setCacheExpirationMinutes(long cacheExpirationMinutes) {
             this.cacheExpirationMinutes = cacheExpirationMinutes;
         }
+
+        public long getCoalesceTimeoutMs() {
+            return coalesceTimeoutMs;
+        }
+
+        public void setCoalesceTimeoutMs(long coalesceTimeoutMs) {
+            this.coalesceTimeoutMs = coalesceTimeoutMs;
+        }
     }
 
     /**
@@ -122,6 +197,9 @@ public class MovieApiProperties {
         private boolean enableSlowQueryLogging = true;
         private long slowQueryThresholdMs = 1000;
         private int threadPoolSize = 10;
+        private int maxYearsPerRequest = 50;
+        private int maxPageSize = 500;
+        private int streamFetchSize = 500;
 
         // Getters and Setters
         public boolean isEnableMetrics() {
@@ -155,5 +233,147 @@ public class MovieApiProperties {
         public void setThreadPoolSize(int threadPoolSize) {
             this.threadPoolSize = threadPoolSize;
         }
+
+        public int getMaxYearsPerRequest() {
+            return maxYearsPerRequest;
+        }
+
+        public void setMaxYearsPerRequest(int maxYearsPerRequest) {
+            this.maxYearsPerRequest = maxYearsPerRequest;
+        }
+
+        public int getMaxPageSize() {
+            return maxPageSize;
+        }
+
+        public void setMaxPageSize(int maxPageSize) {
+            this.maxPageSize = maxPageSize;
+        }
+
+        public int getStreamFetchSize() {
+            return streamFetchSize;
+        }
+
+        public void setStreamFetchSize(int streamFetchSize) {
+            this.streamFetchSize = streamFetchSize;
+        }
+    }
+
+    /**
+     * Configurações de persistência e geração de IDs
+     */
+    public static class Persistence {
+        private int idAllocationSize = 50;
+
+        // Getters and Setters
+        public int getIdAllocationSize() {
+            return idAllocationSize;
+        }
+
+        public void setIdAllocationSize(int idAllocationSize) {
+            this.idAllocationSize = idAllocationSize;
+        }
+    }
+
+    /**
+     * Configurações do pipeline de ingestão de filmes
+     */
+    public static class Ingestion {
+        private int queueCapacity = 16;
+        private long progressLogIntervalMs = 5000;
+        private boolean asyncLoad = false;
+        private long retryAfterSeconds = 5;
+        private String importDirectory;
+
+        // Getters and Setters
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getProgressLogIntervalMs() {
+            return progressLogIntervalMs;
+        }
+
+        public void setProgressLogIntervalMs(long progressLogIntervalMs) {
+            this.progressLogIntervalMs = progressLogIntervalMs;
+        }
+
+        public boolean isAsyncLoad() {
+            return asyncLoad;
+        }
+
+        public void setAsyncLoad(boolean asyncLoad) {
+            this.asyncLoad = asyncLoad;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        public void setRetryAfterSeconds(long retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public String getImportDirectory() {
+            return importDirectory;
+        }
+
+        public void setImportDirectory(String importDirectory) {
+            this.importDirectory = importDirectory;
+        }
+    }
+
+    /**
+     * Configurações do snapshot binário da base carregada
+     */
+    public static class Snapshot {
+        private boolean enabled = false;
+        private String directory = "snapshot";
+
+        // Getters and Setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+    }
+
+    /**
+     * Configurações de cache HTTP dos endpoints de leitura
+     */
+    public static class Http {
+        private boolean etagEnabled = true;
+        private String cacheControl = "no-cache";
+
+        // Getters and Setters
+        public boolean isEtagEnabled() {
+            return etagEnabled;
+        }
+
+        public void setEtagEnabled(boolean etagEnabled) {
+            this.etagEnabled = etagEnabled;
+        }
+
+        public String getCacheControl() {
+            return cacheControl;
+        }
+
+        public void setCacheControl(String cacheControl) {
+            this.cacheControl = cacheControl;
+        }
     }
 }
\ No newline at end of file
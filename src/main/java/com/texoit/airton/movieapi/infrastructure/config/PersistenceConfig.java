@@ -0,0 +1,22 @@
+package com.texoit.airton.movieapi.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.texoit.airton.movieapi.infrastructure.persistence.PooledSequenceGenerator;
+
+/**
+ * Repassa ao Hibernate as configurações de persistência de
+ * {@link MovieApiProperties}.
+ */
+@Configuration
+public class PersistenceConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer idAllocationSizeCustomizer(MovieApiProperties properties) {
+        return hibernateProperties -> hibernateProperties.put(
+                PooledSequenceGenerator.ALLOCATION_SIZE_SETTING,
+                String.valueOf(properties.getPersistence().getIdAllocationSize()));
+    }
+}
@@ -0,0 +1,51 @@
+package com.texoit.airton.movieapi.infrastructure.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.texoit.airton.movieapi.presentation.interceptor.CacheHeadersFilter;
+import com.texoit.airton.movieapi.presentation.interceptor.DatasetEtagInterceptor;
+import com.texoit.airton.movieapi.presentation.interceptor.DatasetReadinessInterceptor;
+
+/**
+ * Registro dos interceptors e filtros dos endpoints de dados.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    static final String[] DATA_ENDPOINTS = { "/movie/**", "/producer/**", "/studio/**" };
+
+    /** Importações gravam na base e não podem concorrer com a carga inicial. */
+    static final String[] IMPORT_ENDPOINTS = { "/import/**" };
+
+    /** Mesmos endpoints de {@link #DATA_ENDPOINTS}, no formato de url-pattern de servlet. */
+    static final String[] DATA_URL_PATTERNS = { "/movie/*", "/producer/*", "/studio/*" };
+
+    private final DatasetReadinessInterceptor readinessInterceptor;
+    private final DatasetEtagInterceptor etagInterceptor;
+
+    public WebMvcConfig(DatasetReadinessInterceptor readinessInterceptor, DatasetEtagInterceptor etagInterceptor) {
+        this.readinessInterceptor = readinessInterceptor;
+        this.etagInterceptor = etagInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(readinessInterceptor).addPathPatterns(DATA_ENDPOINTS).addPathPatterns(IMPORT_ENDPOINTS);
+        // Depois da prontidão: enquanto a base carrega, não há versão a validar
+        registry.addInterceptor(etagInterceptor).addPathPatterns(DATA_ENDPOINTS);
+    }
+
+    /**
+     * Só deixa o ETag gravado pelo interceptor sair em respostas de sucesso.
+     */
+    @Bean
+    public FilterRegistrationBean<CacheHeadersFilter> cacheHeadersFilter() {
+        FilterRegistrationBean<CacheHeadersFilter> registration = new FilterRegistrationBean<>(new CacheHeadersFilter());
+        registration.addUrlPatterns(DATA_URL_PATTERNS);
+        return registration;
+    }
+}
@@ -0,0 +1,62 @@
+package com.texoit.airton.movieapi.infrastructure.event;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Alteração confirmada (pós-commit) em filmes e vínculos. Traz os IDs dos
+ * produtores e dos filmes afetados ou, em cargas que substituem a base,
+ * indica que tudo mudou.
+ */
+public class DatasetChangeEvent {
+
+    private static final DatasetChangeEvent ALL = new DatasetChangeEvent(Collections.<Long>emptySet(),
+            Collections.<Long>emptySet(), true);
+
+    private final Set<Long> producerIds;
+    private final Set<Long> movieIds;
+    private final boolean all;
+
+    private DatasetChangeEvent(Set<Long> producerIds, Set<Long> movieIds, boolean all) {
+        this.producerIds = Collections.unmodifiableSet(producerIds);
+        this.movieIds = Collections.unmodifiableSet(movieIds);
+        this.all = all;
+    }
+
+    public static DatasetChangeEvent all() {
+        return ALL;
+    }
+
+    public static DatasetChangeEvent of(Set<Long> producerIds) {
+        return of(producerIds, Collections.<Long>emptySet());
+    }
+
+    public static DatasetChangeEvent of(Set<Long> producerIds, Set<Long> movieIds) {
+        return new DatasetChangeEvent(producerIds, movieIds, false);
+    }
+
+    /**
+     * Produtores com vínculos ou vitórias alterados; vazio se {@link #isAll()}
+     * ou se a alteração não afetou produtores.
+     */
+    public Set<Long> getProducerIds() {
+        return producerIds;
+    }
+
+    /**
+     * Filmes inseridos, alterados ou removidos, inclusive os que só tiveram
+     * vínculos trocados; vazio se {@link #isAll()}.
+     */
+    public Set<Long> getMovieIds() {
+        return movieIds;
+    }
+
+    public boolean isAll() {
+        return all;
+    }
+
+    @Override
+    public String toString() {
+        return all ? "DatasetChangeEvent[all]" : "DatasetChangeEvent[producers=" + producerIds + ", movies=" + movieIds + "]";
+    }
+}
@@ -0,0 +1,86 @@
+package com.texoit.airton.movieapi.infrastructure.event;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Registra as alterações feitas dentro de uma transação e publica um único
+ * {@link DatasetChangeEvent} depois do commit. Fora de transação, publica na
+ * hora. Transações desfeitas não publicam nada. Alterações sem produtor
+ * afetado (filmes sem vínculo, estúdios) também publicam, com o conjunto de
+ * produtores vazio; os filmes tocados seguem no evento.
+ */
+@Component
+public class DatasetChangePublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DatasetChangePublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void producersChanged(Collection<Long> producerIds) {
+        changed(producerIds, Collections.<Long>emptySet());
+    }
+
+    public void changed(Collection<Long> producerIds, Collection<Long> movieIds) {
+        Pending pending = pending();
+        if (pending == null) {
+            eventPublisher.publishEvent(DatasetChangeEvent.of(new HashSet<>(producerIds), new HashSet<>(movieIds)));
+        } else {
+            pending.changed = true;
+            pending.producerIds.addAll(producerIds);
+            pending.movieIds.addAll(movieIds);
+        }
+    }
+
+    public void allChanged() {
+        Pending pending = pending();
+        if (pending == null) {
+            eventPublisher.publishEvent(DatasetChangeEvent.all());
+        } else {
+            pending.all = true;
+        }
+    }
+
+    private Pending pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private final class Pending extends TransactionSynchronizationAdapter {
+
+        private final Set<Long> producerIds = new HashSet<>();
+        private final Set<Long> movieIds = new HashSet<>();
+        private boolean changed;
+        private boolean all;
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(DatasetChangePublisher.this);
+            if (status != STATUS_COMMITTED) {
+                return;
+            }
+            if (all) {
+                eventPublisher.publishEvent(DatasetChangeEvent.all());
+            } else if (changed) {
+                eventPublisher.publishEvent(DatasetChangeEvent.of(producerIds, movieIds));
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.texoit.airton.movieapi.infrastructure.event;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.texoit.airton.movieapi.entity.Movie;
+import com.texoit.airton.movieapi.entity.MovieProducer;
+import com.texoit.airton.movieapi.entity.MovieStudio;
+import com.texoit.airton.movieapi.entity.Producer;
+
+/**
+ * Listener JPA que repassa ao {@link DatasetChangePublisher} as alterações
+ * feitas pelo ORM (remoção de filmes, vínculos criados pelos serviços,
+ * produtores renomeados). As gravações em lote via JDBC publicam por conta
+ * própria. Instanciado pelo Hibernate através do container do Spring; em
+ * contextos sem o publisher (testes de fatia JPA) não faz nada.
+ */
+public class DatasetEntityListener {
+
+    @Autowired(required = false)
+    private DatasetChangePublisher publisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        if (publisher == null) {
+            return;
+        }
+        Set<Long> producerIds = new HashSet<>();
+        Set<Long> movieIds = new HashSet<>();
+        if (entity instanceof MovieProducer) {
+            addProducer(producerIds, ((MovieProducer) entity).getProducer());
+            addMovie(movieIds, ((MovieProducer) entity).getMovie());
+        } else if (entity instanceof MovieStudio) {
+            addMovie(movieIds, ((MovieStudio) entity).getMovie());
+        } else if (entity instanceof Movie) {
+            addMovie(movieIds, (Movie) entity);
+            if (((Movie) entity).getProducers() != null) {
+                for (MovieProducer link : ((Movie) entity).getProducers()) {
+                    addProducer(producerIds, link.getProducer());
+                }
+            }
+        } else if (entity instanceof Producer) {
+            addProducer(producerIds, (Producer) entity);
+        }
+        publisher.changed(producerIds, movieIds);
+    }
+
+    private static void addMovie(Set<Long> movieIds, Movie movie) {
+        if (movie != null && movie.getId() != null) {
+            movieIds.add(movie.getId());
+        }
+    }
+
+    private static void addProducer(Set<Long> producerIds, Producer producer) {
+        if (producer != null && producer.getId() != null) {
+            producerIds.add(producer.getId());
+        }
+    }
+}
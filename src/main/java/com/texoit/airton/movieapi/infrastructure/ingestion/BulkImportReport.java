@@ -0,0 +1,67 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de uma importação em lote: totais da carga e a contagem de cada
+ * lote gravado, na ordem em que foram confirmados.
+ */
+public class BulkImportReport {
+
+    private final LoadReport total;
+    private final List<Batch> batches;
+
+    public BulkImportReport(LoadReport total, List<Batch> batches) {
+        this.total = total;
+        this.batches = Collections.unmodifiableList(batches);
+    }
+
+    public LoadReport getTotal() {
+        return total;
+    }
+
+    public List<Batch> getBatches() {
+        return batches;
+    }
+
+    /**
+     * Linhas gravadas por um lote (uma transação).
+     */
+    public static class Batch {
+
+        private final int number;
+        private final long movies;
+        private final long studios;
+        private final long producers;
+        private final long links;
+
+        public Batch(int number, long movies, long studios, long producers, long links) {
+            this.number = number;
+            this.movies = movies;
+            this.studios = studios;
+            this.producers = producers;
+            this.links = links;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public long getMovies() {
+            return movies;
+        }
+
+        public long getStudios() {
+            return studios;
+        }
+
+        public long getProducers() {
+            return producers;
+        }
+
+        public long getLinks() {
+            return links;
+        }
+    }
+}
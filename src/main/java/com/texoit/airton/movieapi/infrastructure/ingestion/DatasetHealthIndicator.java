@@ -0,0 +1,44 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health check da carga da base, exposto em {@code /actuator/health/dataset}.
+ * Fica OUT_OF_SERVICE enquanto a carga roda, com linhas gravadas, total e ETA
+ * nos detalhes, e DOWN se a carga falhou.
+ */
+@Component("dataset")
+public class DatasetHealthIndicator extends AbstractHealthIndicator {
+
+    private final DatasetLoadState state;
+
+    public DatasetHealthIndicator(DatasetLoadState state) {
+        this.state = state;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        switch (state.getPhase()) {
+        case READY:
+            builder.up();
+            break;
+        case FAILED:
+            builder.down().withDetail("error", state.getFailure());
+            break;
+        default:
+            builder.outOfService();
+        }
+
+        builder.withDetail("phase", state.getPhase())
+                .withDetail("rowsDone", state.getRowsDone())
+                .withDetail("elapsedMs", state.getElapsedMillis());
+        if (state.getRowsTotal() >= 0) {
+            builder.withDetail("rowsTotal", state.getRowsTotal());
+        }
+        if (state.getEtaSeconds() >= 0) {
+            builder.withDetail("etaSeconds", state.getEtaSeconds());
+        }
+    }
+}
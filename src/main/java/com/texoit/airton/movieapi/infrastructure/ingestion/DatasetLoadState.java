@@ -0,0 +1,101 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Estado da carga inicial da base: fase, linhas gravadas, total estimado e
+ * previsão de término. Atualizado pelo {@link MovieDataLoader} e lido pelos
+ * endpoints e pelo health check enquanto a carga roda em segundo plano.
+ */
+@Component
+public class DatasetLoadState {
+
+    public enum Phase {
+        PENDING, LOADING, READY, FAILED
+    }
+
+    private volatile Phase phase = Phase.PENDING;
+    private volatile long rowsDone;
+    private volatile long rowsTotal = -1;
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile String failure;
+
+    public void begin(long estimatedRows) {
+        rowsDone = 0;
+        rowsTotal = estimatedRows;
+        failure = null;
+        startNanos = System.nanoTime();
+        endNanos = 0;
+        phase = Phase.LOADING;
+    }
+
+    public void progress(long rows) {
+        rowsDone = rows;
+    }
+
+    public void complete(long rows) {
+        rowsDone = rows;
+        rowsTotal = Math.max(rowsTotal, rows);
+        endNanos = System.nanoTime();
+        phase = Phase.READY;
+    }
+
+    public void fail(Throwable cause) {
+        failure = cause.toString();
+        endNanos = System.nanoTime();
+        phase = Phase.FAILED;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public boolean isReady() {
+        return phase == Phase.READY;
+    }
+
+    public long getRowsDone() {
+        return rowsDone;
+    }
+
+    /**
+     * Total de linhas estimado pelo tamanho do arquivo; {@code -1} se
+     * desconhecido.
+     */
+    public long getRowsTotal() {
+        return rowsTotal;
+    }
+
+    public long getElapsedMillis() {
+        if (startNanos == 0) {
+            return 0;
+        }
+        long end = endNanos == 0 ? System.nanoTime() : endNanos;
+        return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+    }
+
+    /**
+     * Segundos restantes pela vazão média até aqui; {@code -1} enquanto não
+     * há base para estimar.
+     */
+    public long getEtaSeconds() {
+        if (phase == Phase.READY) {
+            return 0;
+        }
+        long done = rowsDone;
+        long total = rowsTotal;
+        long elapsed = getElapsedMillis();
+        if (phase != Phase.LOADING || done == 0 || total < 0 || elapsed == 0) {
+            return -1;
+        }
+        double rowsPerMilli = (double) done / elapsed;
+        return (long) Math.ceil(Math.max(0, total - done) / rowsPerMilli / 1000.0);
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+}
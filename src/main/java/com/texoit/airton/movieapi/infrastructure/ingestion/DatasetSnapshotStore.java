@@ -0,0 +1,311 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+import com.texoit.airton.movieapi.infrastructure.event.DatasetChangePublisher;
+import com.texoit.airton.movieapi.infrastructure.persistence.SequenceIdAllocator;
+
+/**
+ * Snapshot binário da base carregada (filmes, estúdios, produtores e
+ * associações, com os IDs originais). Gravado após uma carga bem-sucedida e
+ * identificado pelo SHA-256 do CSV de origem; enquanto o CSV não muda, a
+ * próxima inicialização mapeia o arquivo em memória e grava as linhas direto
+ * em lotes JDBC, sem ler o CSV e sem passar pelo ORM.
+ * <p>
+ * Formato (big-endian): magic, versão, fingerprint e, para cada tabela, a
+ * quantidade de linhas seguida das linhas. Textos são gravados como tamanho
+ * em bytes + UTF-8 ({@code -1} para nulo).
+ */
+@Component
+public class DatasetSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetSnapshotStore.class);
+
+    static final String FILE_NAME = "dataset.snapshot";
+
+    private static final int MAGIC = 0x4D4F5653;
+    private static final int VERSION = 2;
+
+    private final MovieApiProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatasetChangePublisher changePublisher;
+
+    public DatasetSnapshotStore(MovieApiProperties properties, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, DatasetChangePublisher changePublisher) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.changePublisher = changePublisher;
+    }
+
+    public boolean isEnabled() {
+        return properties.getSnapshot().isEnabled();
+    }
+
+    /**
+     * O snapshot só substitui a carga quando a base está vazia, já que as
+     * linhas são gravadas com os IDs originais.
+     */
+    public boolean isDatabaseEmpty() {
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT (SELECT COUNT(*) FROM MOVIE) + (SELECT COUNT(*) FROM STUDIO) + (SELECT COUNT(*) FROM PRODUCER)",
+                Integer.class);
+        return rows == null || rows == 0;
+    }
+
+    /**
+     * SHA-256 do arquivo de origem combinado com as opções de leitura que
+     * alteram o resultado da carga.
+     */
+    public String fingerprint(URL source) throws IOException {
+        MessageDigest digest = sha256();
+        MovieApiProperties.Csv csv = properties.getCsv();
+        digest.update((VERSION + "|" + csv.getDelimiter() + "|" + csv.getEncoding() + "|" + csv.isSkipFirstLine())
+                .getBytes(StandardCharsets.UTF_8));
+
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = source.openStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Restaura a base a partir do snapshot, se ele existir e corresponder ao
+     * fingerprint informado.
+     */
+    public Optional<LoadReport> restore(String fingerprint) throws IOException {
+        Path file = file();
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        LoadReport report;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                logger.warn("Ignoring snapshot {}: unknown format", file);
+                return Optional.empty();
+            }
+            if (!fingerprint.equals(readString(buffer))) {
+                logger.info("Snapshot {} is stale: source file changed", file);
+                return Optional.empty();
+            }
+            report = transactionTemplate.execute(status -> {
+                changePublisher.allChanged();
+                return insertAll(buffer, start);
+            });
+        } catch (BufferUnderflowException | DataAccessException e) {
+            logger.warn("Ignoring snapshot {}: {}", file, e.toString());
+            return Optional.empty();
+        }
+
+        // DDL fora da transação da carga
+        new SequenceIdAllocator(jdbcTemplate, "SEQ_MOVIE").restartAfter(maxId("ID_MOVIE", "MOVIE"));
+        new SequenceIdAllocator(jdbcTemplate, "SEQ_STUDIO").restartAfter(maxId("ID_STUDIO", "STUDIO"));
+        new SequenceIdAllocator(jdbcTemplate, "SEQ_PRODUCER").restartAfter(maxId("ID_PRODUCER", "PRODUCER"));
+        return Optional.of(report);
+    }
+
+    /**
+     * Grava o conteúdo atual da base como snapshot do fingerprint informado.
+     * O arquivo é escrito em um temporário e movido no final, então uma falha
+     * nunca deixa um snapshot pela metade.
+     */
+    public void save(String fingerprint) throws IOException {
+        Path file = file();
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, FILE_NAME, ".tmp");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeString(out, fingerprint);
+                writeTable(out, "STUDIO", "SELECT ID_STUDIO, NAME FROM STUDIO ORDER BY ID_STUDIO",
+                        (rs, o) -> {
+                            o.writeLong(rs.getLong(1));
+                            writeString(o, rs.getString(2));
+                        });
+                writeTable(out, "PRODUCER", "SELECT ID_PRODUCER, NAME FROM PRODUCER ORDER BY ID_PRODUCER",
+                        (rs, o) -> {
+                            o.writeLong(rs.getLong(1));
+                            writeString(o, rs.getString(2));
+                        });
+                writeTable(out, "MOVIE", "SELECT ID_MOVIE, YEAR, IS_WINNER, TITLE, FINGERPRINT FROM MOVIE ORDER BY ID_MOVIE",
+                        (rs, o) -> {
+                            o.writeLong(rs.getLong(1));
+                            o.writeInt(rs.getInt(2));
+                            o.writeBoolean(rs.getBoolean(3));
+                            writeString(o, rs.getString(4));
+                            long movieFingerprint = rs.getLong(5);
+                            o.writeBoolean(!rs.wasNull());
+                            o.writeLong(movieFingerprint);
+                        });
+                writeTable(out, "MOVIE_STUDIO", "SELECT MOVIE_ID_MOVIE, STUDIO_ID_STUDIO FROM MOVIE_STUDIO",
+                        DatasetSnapshotStore::writeLink);
+                writeTable(out, "MOVIE_PRODUCER", "SELECT MOVIE_ID_MOVIE, PRODUCER_ID_PRODUCER FROM MOVIE_PRODUCER",
+                        DatasetSnapshotStore::writeLink);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        logger.info("Dataset snapshot written to {} ({} bytes)", file, Files.size(file));
+    }
+
+    Path file() {
+        return Paths.get(properties.getSnapshot().getDirectory()).resolve(FILE_NAME);
+    }
+
+    private LoadReport insertAll(ByteBuffer buffer, long start) {
+        int batchSize = Math.max(1, properties.getCsv().getBatchSize());
+        long studios = insert(buffer, MovieBulkWriter.INSERT_STUDIO, batchSize,
+                b -> new Object[] { b.getLong(), readString(b) });
+        long producers = insert(buffer, MovieBulkWriter.INSERT_PRODUCER, batchSize,
+                b -> new Object[] { b.getLong(), readString(b) });
+        long movies = insert(buffer, MovieBulkWriter.INSERT_MOVIE, batchSize, b -> {
+            long id = b.getLong();
+            int year = b.getInt();
+            boolean winner = b.get() != 0;
+            String title = readString(b);
+            boolean hasFingerprint = b.get() != 0;
+            long fingerprint = b.getLong();
+            return new Object[] { id, year, title, winner, hasFingerprint ? fingerprint : null };
+        });
+        long links = insert(buffer, MovieBulkWriter.INSERT_MOVIE_STUDIO, batchSize,
+                b -> new Object[] { b.getLong(), b.getLong() });
+        links += insert(buffer, MovieBulkWriter.INSERT_MOVIE_PRODUCER, batchSize,
+                b -> new Object[] { b.getLong(), b.getLong() });
+        return new LoadReport(movies, studios, producers, links,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private long insert(ByteBuffer buffer, String sql, int batchSize, RowReader reader) {
+        int count = buffer.getInt();
+        List<Object[]> batch = new ArrayList<>(Math.min(count, batchSize));
+        for (int i = 0; i < count; i++) {
+            batch.add(reader.read(buffer));
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        return count;
+    }
+
+    private void writeTable(DataOutputStream out, String table, String sql, RowWriter writer) throws IOException {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+        out.writeInt(count);
+        int[] written = new int[1];
+        try {
+            jdbcTemplate.query(sql, rs -> {
+                try {
+                    writer.write(rs, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                written[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (written[0] != count) {
+            throw new IllegalStateException(table + " changed while the snapshot was written");
+        }
+    }
+
+    private long maxId(String column, String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(" + column + ") FROM " + table, Long.class);
+        return max == null ? 0L : max;
+    }
+
+    private static void writeLink(ResultSet rs, DataOutputStream out) throws SQLException, IOException {
+        out.writeLong(rs.getLong(1));
+        out.writeLong(rs.getLong(2));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowReader {
+        Object[] read(ByteBuffer buffer);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs, DataOutputStream out) throws SQLException, IOException;
+    }
+}
@@ -0,0 +1,48 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+/**
+ * Resumo de uma importação delta: filmes inseridos, atualizados, removidos e
+ * inalterados em relação à base.
+ */
+public class DeltaReport {
+
+    private final long inserted;
+    private final long updated;
+    private final long deleted;
+    private final long unchanged;
+    private final long elapsedMillis;
+
+    public DeltaReport(long inserted, long updated, long deleted, long unchanged, long elapsedMillis) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.deleted = deleted;
+        this.unchanged = unchanged;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getDeleted() {
+        return deleted;
+    }
+
+    public long getUnchanged() {
+        return unchanged;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d inserted, %d updated, %d deleted, %d unchanged in %d ms",
+                inserted, updated, deleted, unchanged, elapsedMillis);
+    }
+}
@@ -0,0 +1,176 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.texoit.airton.movieapi.entity.ImportJob;
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+import com.texoit.airton.movieapi.repository.ImportJobRepository;
+
+/**
+ * Executa um {@link ImportJob} pelo pipeline de ingestão. Cada lote grava o
+ * checkpoint do job na própria transação, com a quantidade de registros e a
+ * posição do leitor logo após eles, então após uma queda o job reabre o
+ * arquivo direto nessa posição, sem ler de novo os registros já confirmados.
+ * Jobs sem posição registrada voltam a pular os registros um a um. Jobs
+ * {@link ImportJob.Mode#DELTA} usam o {@link MovieDeltaImporter} com o mesmo
+ * checkpoint; com {@code deleteMissing} eles releem o início do arquivo,
+ * porque a fase de remoção precisa das chaves de todos os registros da fonte.
+ * <p>
+ * O erro gravado no job é só um código e o número do registro; a mensagem
+ * original, que pode trazer trechos do arquivo, fica apenas no log.
+ */
+@Component
+public class ImportJobRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobRunner.class);
+
+    static final String INVALID_RECORD = "INVALID_RECORD";
+    static final String READ_ERROR = "READ_ERROR";
+    static final String IMPORT_FAILED = "IMPORT_FAILED";
+
+    private final ImportJobRepository repository;
+    private final MovieRecordReaderFactory readerFactory;
+    private final IngestionPipelineFactory pipelineFactory;
+    private final MovieBulkWriter writer;
+    private final MovieDeltaImporter deltaImporter;
+
+    public ImportJobRunner(ImportJobRepository repository, MovieRecordReaderFactory readerFactory,
+            IngestionPipelineFactory pipelineFactory, MovieBulkWriter writer, MovieDeltaImporter deltaImporter) {
+        this.repository = repository;
+        this.readerFactory = readerFactory;
+        this.pipelineFactory = pipelineFactory;
+        this.writer = writer;
+        this.deltaImporter = deltaImporter;
+    }
+
+    public void run(Long id) {
+        ImportJob job = repository.findById(id)
+                .orElseThrow(() -> new IllegalStateException("Import job not found: " + id));
+        Path file = Paths.get(job.getPath());
+        long checkpoint = job.getRowsCommitted();
+        MovieApiProperties.Csv.ReaderMode readerMode = job.getReaderMode() != null
+                ? job.getReaderMode() : readerFactory.getReaderMode();
+        long[] rows = { checkpoint };
+        CountingReader counter = null;
+
+        try {
+            repository.markRunning(id, readerFactory.estimateRecords(file), readerMode, Instant.now());
+            if (checkpoint > 0) {
+                logger.info("Resuming import job {} after {} committed rows", id, checkpoint);
+            }
+
+            int[] batches = { job.getBatchesCommitted() };
+            Long position = job.getPositionCommitted();
+            if (job.getMode() == ImportJob.Mode.DELTA) {
+                boolean seek = checkpoint > 0 && position != null && !job.isDeleteMissing();
+                counter = new CountingReader(readerFactory.open(file, readerMode, seek ? position : 0),
+                        seek ? checkpoint : 0);
+                DeltaReport report = deltaImporter.importDelta(counter, seek ? 0 : checkpoint,
+                        job.isDeleteMissing(), (size, end) -> {
+                            rows[0] += size;
+                            batches[0]++;
+                            repository.checkpoint(id, rows[0], batches[0], position(end), Instant.now());
+                        });
+                logger.info("Import job {} applied delta: {}", id, report);
+            } else {
+                boolean seek = checkpoint > 0 && position != null;
+                counter = new CountingReader(readerFactory.open(file, readerMode, seek ? position : 0),
+                        seek ? checkpoint : 0);
+                try (MovieRecordReader reader = counter) {
+                    long skipped = seek ? checkpoint : 0;
+                    while (skipped < checkpoint && reader.hasNext()) {
+                        reader.next();
+                        skipped++;
+                    }
+
+                    MovieBulkWriter.Session session = writer.openSession();
+                    pipelineFactory.create().runWithPositions(reader, (chunk, end) -> session.write(chunk, () -> {
+                        rows[0] += chunk.size();
+                        batches[0]++;
+                        repository.checkpoint(id, rows[0], batches[0], position(end), Instant.now());
+                    }));
+                }
+            }
+
+            repository.markFinished(id, ImportJob.Status.COMPLETED, null, Instant.now());
+            logger.info("Import job {} completed: {} rows in {} batches", id, rows[0], batches[0]);
+        } catch (Exception e) {
+            logger.error("Import job {} failed", id, e);
+            repository.markFinished(id, ImportJob.Status.FAILED, error(counter, rows[0]), Instant.now());
+        }
+    }
+
+    private static Long position(long position) {
+        return position < 0 ? null : position;
+    }
+
+    private static String error(CountingReader counter, long rowsCommitted) {
+        if (counter == null) {
+            return READ_ERROR;
+        }
+        if (counter.failed) {
+            return INVALID_RECORD + " at record " + (counter.records + 1);
+        }
+        return IMPORT_FAILED + " after record " + rowsCommitted;
+    }
+
+    /**
+     * Conta os registros entregues pelo leitor e marca se a leitura falhou,
+     * para o erro do job apontar o registro sem copiar a mensagem da exceção.
+     */
+    private static final class CountingReader implements MovieRecordReader {
+
+        private final MovieRecordReader delegate;
+        private volatile long records;
+        private volatile boolean failed;
+
+        CountingReader(MovieRecordReader delegate, long records) {
+            this.delegate = delegate;
+            this.records = records;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return delegate.hasNext();
+            } catch (RuntimeException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public MovieCsvRecord next() {
+            try {
+                MovieCsvRecord record = delegate.next();
+                records++;
+                return record;
+            } catch (RuntimeException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public long position() {
+            try {
+                return delegate.position();
+            } catch (RuntimeException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
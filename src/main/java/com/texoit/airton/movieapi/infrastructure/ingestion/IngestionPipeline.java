@@ -0,0 +1,320 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pipeline de ingestão em três estágios ligados por filas limitadas:
+ * <ol>
+ * <li>leitor: agrupa os registros da fonte em blocos de {@code batchSize};</li>
+ * <li>normalizadores: {@code workers} threads que convertem os blocos em
+ * {@link MovieRow};</li>
+ * <li>gravador: executado na thread chamadora, grava os blocos na ordem
+ * original do arquivo.</li>
+ * </ol>
+ * As filas limitadas aplicam backpressure: se o gravador atrasa, leitor e
+ * normalizadores bloqueiam, e a memória fica restrita a poucos blocos. Como
+ * o gravador guarda os blocos que chegam fora de ordem, o leitor também
+ * precisa de uma das {@code queueCapacity + workers} licenças de bloco em
+ * andamento, devolvida só depois da gravação: um bloco lento segura o
+ * leitor em vez de deixar o resto do arquivo se acumular no gravador.
+ */
+public class IngestionPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestionPipeline.class);
+
+    private static final long POLL_MILLIS = 100;
+
+    /**
+     * Destino dos blocos normalizados. Chamado sempre pela mesma thread.
+     */
+    @FunctionalInterface
+    public interface BatchSink {
+        int write(List<MovieRow> rows);
+    }
+
+    /**
+     * Como {@link BatchSink}, recebendo também a
+     * {@link MovieRecordReader#position()} da fonte logo após o último
+     * registro do bloco ({@code -1} se a fonte não informa).
+     */
+    @FunctionalInterface
+    public interface PositionedBatchSink {
+        int write(List<MovieRow> rows, long position);
+    }
+
+    private final MovieRowNormalizer normalizer;
+    private final int workers;
+    private final int batchSize;
+    private final long progressLogIntervalMs;
+
+    private final BlockingQueue<Chunk<MovieCsvRecord>> recordQueue;
+    private final BlockingQueue<Chunk<MovieRow>> rowQueue;
+    private final Semaphore chunksInFlight;
+    private final StageMetrics readerMetrics;
+    private final StageMetrics normalizerMetrics;
+    private final StageMetrics writerMetrics;
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile Consumer<IngestionPipeline> progressListener = pipeline -> {
+    };
+
+    public IngestionPipeline(MovieRowNormalizer normalizer, int workers, int queueCapacity, int batchSize,
+            long progressLogIntervalMs) {
+        this.normalizer = normalizer;
+        this.workers = Math.max(1, workers);
+        this.batchSize = Math.max(1, batchSize);
+        this.progressLogIntervalMs = progressLogIntervalMs;
+        this.recordQueue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.rowQueue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.chunksInFlight = new Semaphore(Math.max(1, queueCapacity) + this.workers);
+        this.readerMetrics = new StageMetrics("reader", null);
+        this.normalizerMetrics = new StageMetrics("normalizer", recordQueue);
+        this.writerMetrics = new StageMetrics("writer", rowQueue);
+    }
+
+    /**
+     * Registra um callback chamado pelo gravador após cada bloco gravado.
+     */
+    public void onProgress(Consumer<IngestionPipeline> listener) {
+        this.progressListener = listener;
+    }
+
+    /**
+     * Executa o pipeline até consumir toda a fonte.
+     *
+     * @return quantidade de linhas gravadas
+     */
+    public long run(Iterator<MovieCsvRecord> source, BatchSink sink) {
+        return runWithPositions(source, (rows, position) -> sink.write(rows));
+    }
+
+    /**
+     * Executa o pipeline até consumir toda a fonte, informando a posição da
+     * fonte ao fim de cada bloco gravado.
+     *
+     * @return quantidade de linhas gravadas
+     */
+    public long runWithPositions(Iterator<MovieCsvRecord> source, PositionedBatchSink sink) {
+        ExecutorService executor = Executors.newFixedThreadPool(workers + 1, new StageThreadFactory());
+        try {
+            executor.execute(() -> guard(() -> read(source)));
+            for (int i = 0; i < workers; i++) {
+                executor.execute(() -> guard(this::normalize));
+            }
+            return write(sink);
+        } finally {
+            failure.compareAndSet(null, new CancelledException());
+            executor.shutdownNow();
+            readerMetrics.finish();
+            normalizerMetrics.finish();
+            writerMetrics.finish();
+        }
+    }
+
+    public List<StageMetrics> getStages() {
+        return Collections.unmodifiableList(Arrays.asList(readerMetrics, normalizerMetrics, writerMetrics));
+    }
+
+    private void read(Iterator<MovieCsvRecord> source) throws InterruptedException {
+        readerMetrics.start();
+        long sequence = 0;
+        List<MovieCsvRecord> chunk = new ArrayList<>(batchSize);
+        while (source.hasNext()) {
+            chunk.add(source.next());
+            if (chunk.size() == batchSize) {
+                acquireChunk();
+                put(recordQueue, new Chunk<>(sequence++, chunk, position(source)));
+                readerMetrics.record(chunk.size());
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            acquireChunk();
+            put(recordQueue, new Chunk<>(sequence, chunk, position(source)));
+            readerMetrics.record(chunk.size());
+        }
+        readerMetrics.finish();
+        for (int i = 0; i < workers; i++) {
+            put(recordQueue, Chunk.<MovieCsvRecord>end());
+        }
+    }
+
+    private void normalize() throws InterruptedException {
+        normalizerMetrics.start();
+        while (true) {
+            Chunk<MovieCsvRecord> chunk = take(recordQueue);
+            if (chunk.isEnd()) {
+                put(rowQueue, Chunk.<MovieRow>end());
+                return;
+            }
+
+            List<MovieRow> rows = new ArrayList<>(chunk.items.size());
+            for (MovieCsvRecord record : chunk.items) {
+                rows.add(normalizer.normalize(record));
+            }
+            put(rowQueue, new Chunk<>(chunk.sequence, rows, chunk.position));
+            normalizerMetrics.record(rows.size());
+        }
+    }
+
+    private long write(PositionedBatchSink sink) {
+        writerMetrics.start();
+        Map<Long, Chunk<MovieRow>> pending = new TreeMap<>();
+        long nextSequence = 0;
+        long written = 0;
+        int finishedWorkers = 0;
+        long lastLog = System.currentTimeMillis();
+
+        try {
+            while (finishedWorkers < workers) {
+                Chunk<MovieRow> chunk = take(rowQueue);
+                if (chunk.isEnd()) {
+                    finishedWorkers++;
+                    continue;
+                }
+
+                // Reordena os blocos para gravar na ordem do arquivo
+                pending.put(chunk.sequence, chunk);
+                Chunk<MovieRow> next;
+                while ((next = pending.remove(nextSequence)) != null) {
+                    written += sink.write(next.items, next.position);
+                    chunksInFlight.release();
+                    writerMetrics.record(next.items.size());
+                    nextSequence++;
+                    progressListener.accept(this);
+                }
+
+                if (progressLogIntervalMs > 0 && System.currentTimeMillis() - lastLog >= progressLogIntervalMs) {
+                    logger.info("Ingestion progress: {}", getStages());
+                    lastLog = System.currentTimeMillis();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ingestion interrupted", e);
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+            throw e;
+        }
+
+        if (!pending.isEmpty()) {
+            throw new IllegalStateException("Ingestion finished with " + pending.size() + " unwritten chunks");
+        }
+        return written;
+    }
+
+    private static long position(Iterator<MovieCsvRecord> source) {
+        return source instanceof MovieRecordReader ? ((MovieRecordReader) source).position() : -1;
+    }
+
+    private void guard(StageTask task) {
+        try {
+            task.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private void acquireChunk() throws InterruptedException {
+        while (!chunksInFlight.tryAcquire(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            checkFailure();
+        }
+    }
+
+    private <T> void put(BlockingQueue<T> queue, T item) throws InterruptedException {
+        while (!queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            checkFailure();
+        }
+    }
+
+    private <T> T take(BlockingQueue<T> queue) throws InterruptedException {
+        T item;
+        while ((item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+            checkFailure();
+        }
+        return item;
+    }
+
+    private void checkFailure() {
+        Throwable cause = failure.get();
+        if (cause instanceof CancelledException) {
+            throw (CancelledException) cause;
+        }
+        if (cause != null) {
+            throw new IllegalStateException("Ingestion stage failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StageTask {
+        void run() throws Exception;
+    }
+
+    private static final class Chunk<T> {
+
+        private static final Chunk<?> END = new Chunk<>(-1, Collections.emptyList(), -1);
+
+        private final long sequence;
+        private final List<T> items;
+        private final long position;
+
+        Chunk(long sequence, List<T> items, long position) {
+            this.sequence = sequence;
+            this.items = items;
+            this.position = position;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> Chunk<T> end() {
+            return (Chunk<T>) END;
+        }
+
+        boolean isEnd() {
+            return this == END;
+        }
+    }
+
+    private static final class CancelledException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        CancelledException() {
+            super("Ingestion pipeline stopped", null, false, false);
+        }
+    }
+
+    private static final class StageThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            int index = counter.getAndIncrement();
+            Thread thread = new Thread(runnable, index == 0 ? "ingest-reader" : "ingest-normalizer-" + index);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
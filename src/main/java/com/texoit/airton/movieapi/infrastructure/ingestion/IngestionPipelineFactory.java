@@ -0,0 +1,31 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import org.springframework.stereotype.Component;
+
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+
+/**
+ * Cria pipelines de ingestão configurados a partir de {@link MovieApiProperties}:
+ * normalizadores de {@code movieapi.performance.thread-pool-size}, blocos de
+ * {@code movieapi.csv.batch-size} e filas de {@code movieapi.ingestion.queue-capacity}.
+ */
+@Component
+public class IngestionPipelineFactory {
+
+    private final MovieApiProperties properties;
+    private final MovieRowNormalizer normalizer;
+
+    public IngestionPipelineFactory(MovieApiProperties properties, MovieRowNormalizer normalizer) {
+        this.properties = properties;
+        this.normalizer = normalizer;
+    }
+
+    public IngestionPipeline create() {
+        return new IngestionPipeline(
+                normalizer,
+                properties.getPerformance().getThreadPoolSize(),
+                properties.getIngestion().getQueueCapacity(),
+                properties.getCsv().getBatchSize(),
+                properties.getIngestion().getProgressLogIntervalMs());
+    }
+}
@@ -0,0 +1,59 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+/**
+ * Resumo de uma carga em lote: volumes gravados e vazão obtida.
+ */
+public class LoadReport {
+
+    private final long movies;
+    private final long studios;
+    private final long producers;
+    private final long links;
+    private final long elapsedMillis;
+
+    public LoadReport(long movies, long studios, long producers, long links, long elapsedMillis) {
+        this.movies = movies;
+        this.studios = studios;
+        this.producers = producers;
+        this.links = links;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public static LoadReport of(MovieBulkWriter.Session session, long elapsedMillis) {
+        return new LoadReport(session.getMoviesWritten(), session.getStudiosWritten(),
+                session.getProducersWritten(), session.getLinksWritten(), elapsedMillis);
+    }
+
+    /**
+     * Linhas do CSV gravadas por segundo.
+     */
+    public double getRowsPerSecond() {
+        return movies * 1000.0 / Math.max(1L, elapsedMillis);
+    }
+
+    public long getMovies() {
+        return movies;
+    }
+
+    public long getStudios() {
+        return studios;
+    }
+
+    public long getProducers() {
+        return producers;
+    }
+
+    public long getLinks() {
+        return links;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d movies, %d studios, %d producers, %d links in %d ms (%.0f rows/s)",
+                movies, studios, producers, links, elapsedMillis, getRowsPerSecond());
+    }
+}
@@ -0,0 +1,370 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+
+/**
+ * Leitor do arquivo de filmes sobre um {@link MappedByteBuffer}.
+ * Percorre os bytes do arquivo mapeado procurando delimitador e quebra de
+ * linha, converte ano e vencedor direto dos bytes e só cria {@code String}
+ * para título, estúdios e produtores. Arquivos maiores que a janela de
+ * mapeamento são remapeados a partir do início do registro corrente.
+ * <p>
+ * Segue as mesmas regras do {@link MovieCsvReader}: aspas RFC 4180,
+ * {@code \r\n} ou {@code \n} como fim de linha e cabeçalho opcional. O
+ * delimitador, as aspas e a quebra de linha precisam ser representados por
+ * um único byte no encoding configurado. A {@link #position()} é o offset em
+ * bytes do fim do último registro devolvido.
+ */
+public class MappedMovieCsvReader implements MovieRecordReader {
+
+    static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private static final int COLUMNS = MovieCsvReader.HEADER.length;
+
+    private static final int INCOMPLETE = -1;
+    private static final int FIELD = 0;
+    private static final int LINE = 1;
+    private static final int END = 2;
+
+    private static final byte CR = '\r';
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+    private final Charset charset;
+    private final byte delimiter;
+    private final byte quote;
+    private final byte lineFeed;
+
+    private MappedByteBuffer buffer;
+    private long base;
+    private int cursor;
+
+    private byte[] scratch = new byte[256];
+    private int length;
+
+    private boolean skipLine;
+    private MovieCsvRecord next;
+    private long nextEnd;
+    private boolean fetched;
+    private long position;
+
+    public MappedMovieCsvReader(Path file, MovieApiProperties.Csv csv) throws IOException {
+        this(file, csv, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param position valor de {@link #position()} de uma leitura anterior do
+     *        mesmo arquivo; a leitura começa direto nesse byte
+     */
+    public MappedMovieCsvReader(Path file, MovieApiProperties.Csv csv, long position) throws IOException {
+        this(file, csv, DEFAULT_WINDOW_SIZE, position);
+    }
+
+    MappedMovieCsvReader(Path file, MovieApiProperties.Csv csv, int windowSize) throws IOException {
+        this(file, csv, windowSize, 0);
+    }
+
+    MappedMovieCsvReader(Path file, MovieApiProperties.Csv csv, int windowSize, long position) throws IOException {
+        this.charset = Charset.forName(csv.getEncoding());
+        this.delimiter = singleByte(csv.getDelimiter().substring(0, 1), "delimiter");
+        this.quote = singleByte("\"", "quote");
+        this.lineFeed = singleByte("\n", "line feed");
+        this.windowSize = windowSize;
+        this.skipLine = csv.isSkipFirstLine() && position == 0;
+
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        if (position < 0 || position > fileSize) {
+            channel.close();
+            throw new IllegalArgumentException("Position " + position + " is outside the file (" + fileSize + " bytes)");
+        }
+        this.position = position;
+        map(position);
+        if (position == 0) {
+            skipByteOrderMark();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!fetched) {
+            next = fetch();
+            fetched = true;
+        }
+        return next != null;
+    }
+
+    @Override
+    public MovieCsvRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        fetched = false;
+        position = nextEnd;
+        return next;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        channel.close();
+    }
+
+    private MovieCsvRecord fetch() {
+        try {
+            while (base + cursor < fileSize) {
+                int start = cursor;
+                ParsedRecord record = parseRecord();
+                if (record == null) {
+                    // Registro cruza o fim da janela: remapeia a partir do início dele
+                    if (start == 0) {
+                        throw new IllegalStateException("Record at byte " + base
+                                + " is larger than the mapping window of " + windowSize + " bytes");
+                    }
+                    map(base + start);
+                    continue;
+                }
+                if (record.empty) {
+                    continue;
+                }
+                if (skipLine) {
+                    skipLine = false;
+                    continue;
+                }
+                nextEnd = base + cursor;
+                return record.toRecord();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Lê o registro que começa no cursor. Retorna {@code null} se ele não
+     * termina dentro da janela mapeada.
+     */
+    private ParsedRecord parseRecord() {
+        long offset = base + cursor;
+        ParsedRecord record = new ParsedRecord();
+        int column = 0;
+        int terminator;
+        do {
+            terminator = readField();
+            if (terminator == INCOMPLETE) {
+                return null;
+            }
+            if (column == 0 && terminator != FIELD && length == 0) {
+                record.empty = true;
+                return record;
+            }
+            if (!skipLine) {
+                convert(record, column, offset);
+            }
+            column++;
+        } while (terminator == FIELD);
+
+        if (column < COLUMNS && !skipLine) {
+            throw new IllegalArgumentException("Expected " + COLUMNS + " columns but found " + column
+                    + " in record at byte " + offset);
+        }
+        return record;
+    }
+
+    private void convert(ParsedRecord record, int column, long offset) {
+        switch (column) {
+        case 0:
+            record.year = parseYear(offset);
+            break;
+        case 1:
+            record.title = new String(scratch, 0, length, charset);
+            break;
+        case 2:
+            record.studios = new String(scratch, 0, length, charset);
+            break;
+        case 3:
+            record.producers = new String(scratch, 0, length, charset);
+            break;
+        case 4:
+            record.winner = isYes();
+            break;
+        default:
+            // colunas extras são ignoradas, como no leitor commons-csv
+        }
+    }
+
+    /**
+     * Copia o campo que começa no cursor para {@code scratch}, já sem aspas.
+     *
+     * @return terminador encontrado (FIELD, LINE, END) ou INCOMPLETE
+     */
+    private int readField() {
+        int limit = buffer.limit();
+        int i = cursor;
+        length = 0;
+
+        boolean quoted = i < limit && buffer.get(i) == quote;
+        if (quoted) {
+            i++;
+            while (true) {
+                if (i >= limit) {
+                    if (atFileEnd()) {
+                        throw new IllegalArgumentException("Unterminated quoted field at byte " + (base + cursor));
+                    }
+                    return INCOMPLETE;
+                }
+                byte b = buffer.get(i++);
+                if (b == quote) {
+                    if (i >= limit && !atFileEnd()) {
+                        return INCOMPLETE;
+                    }
+                    if (i < limit && buffer.get(i) == quote) {
+                        append(quote);
+                        i++;
+                        continue;
+                    }
+                    break;
+                }
+                append(b);
+            }
+        }
+
+        while (i < limit) {
+            byte b = buffer.get(i++);
+            if (b == delimiter) {
+                cursor = i;
+                return FIELD;
+            }
+            if (b == lineFeed) {
+                cursor = i;
+                stripCarriageReturn(quoted);
+                return LINE;
+            }
+            if (!quoted) {
+                append(b);
+            } else if (b != CR) {
+                throw new IllegalArgumentException("Invalid character after quoted field at byte " + (base + i - 1));
+            }
+        }
+        if (!atFileEnd()) {
+            return INCOMPLETE;
+        }
+        cursor = i;
+        stripCarriageReturn(quoted);
+        return END;
+    }
+
+    private void stripCarriageReturn(boolean quoted) {
+        if (!quoted && length > 0 && scratch[length - 1] == CR) {
+            length--;
+        }
+    }
+
+    private void append(byte b) {
+        if (length == scratch.length) {
+            scratch = Arrays.copyOf(scratch, length * 2);
+        }
+        scratch[length++] = b;
+    }
+
+    private int parseYear(long offset) {
+        int from = 0;
+        int to = length;
+        while (from < to && scratch[from] <= ' ') {
+            from++;
+        }
+        while (to > from && scratch[to - 1] <= ' ') {
+            to--;
+        }
+        if (from == to || to - from > 9) {
+            throw invalidYear(offset);
+        }
+        int year = 0;
+        for (int i = from; i < to; i++) {
+            int digit = scratch[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalidYear(offset);
+            }
+            year = year * 10 + digit;
+        }
+        return year;
+    }
+
+    private NumberFormatException invalidYear(long offset) {
+        return new NumberFormatException("Invalid year \"" + new String(scratch, 0, length, charset)
+                + "\" in record at byte " + offset);
+    }
+
+    private boolean isYes() {
+        int from = 0;
+        int to = length;
+        while (from < to && scratch[from] <= ' ') {
+            from++;
+        }
+        while (to > from && scratch[to - 1] <= ' ') {
+            to--;
+        }
+        return to - from == 3
+                && (scratch[from] | 0x20) == 'y'
+                && (scratch[from + 1] | 0x20) == 'e'
+                && (scratch[from + 2] | 0x20) == 's';
+    }
+
+    private boolean atFileEnd() {
+        return base + buffer.limit() >= fileSize;
+    }
+
+    private void map(long offset) throws IOException {
+        long size = Math.min(windowSize, fileSize - offset);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        base = offset;
+        cursor = 0;
+    }
+
+    private void skipByteOrderMark() {
+        if (StandardCharsets.UTF_8.equals(charset) && buffer.limit() >= 3
+                && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF) {
+            cursor = 3;
+        }
+    }
+
+    private byte singleByte(String value, String name) {
+        byte[] bytes = value.getBytes(charset);
+        if (bytes.length != 1) {
+            throw new IllegalArgumentException("The " + name + " must be encoded as a single byte in "
+                    + charset + " to use the mapped reader");
+        }
+        return bytes[0];
+    }
+
+    private static final class ParsedRecord {
+
+        private boolean empty;
+        private int year;
+        private String title;
+        private String studios;
+        private String producers;
+        private boolean winner;
+
+        MovieCsvRecord toRecord() {
+            return new MovieCsvRecord(year, title, studios, producers, winner);
+        }
+    }
+}
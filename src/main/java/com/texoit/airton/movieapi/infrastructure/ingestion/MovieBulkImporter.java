@@ -0,0 +1,68 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Importa filmes de uma fonte arbitrária (upload, arquivo) pelo mesmo
+ * {@link IngestionPipeline} e {@link MovieBulkWriter} da carga inicial.
+ * A fonte é consumida em streaming; cada lote é confirmado na sua própria
+ * transação e contabilizado no {@link BulkImportReport}.
+ */
+@Component
+public class MovieBulkImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieBulkImporter.class);
+
+    private final IngestionPipelineFactory pipelineFactory;
+    private final MovieBulkWriter writer;
+
+    public MovieBulkImporter(IngestionPipelineFactory pipelineFactory, MovieBulkWriter writer) {
+        this.pipelineFactory = pipelineFactory;
+        this.writer = writer;
+    }
+
+    /**
+     * Consome e fecha o leitor.
+     *
+     * @throws IllegalArgumentException se a fonte tiver um registro inválido;
+     *         os lotes anteriores a ele permanecem gravados
+     */
+    public BulkImportReport importRecords(MovieRecordReader reader) throws IOException {
+        long start = System.nanoTime();
+        MovieBulkWriter.Session session = writer.openSession();
+        IngestionPipeline pipeline = pipelineFactory.create();
+        List<BulkImportReport.Batch> batches = new ArrayList<>();
+
+        try (MovieRecordReader source = reader) {
+            pipeline.run(source, rows -> {
+                long studios = session.getStudiosWritten();
+                long producers = session.getProducersWritten();
+                long links = session.getLinksWritten();
+                int movies = session.write(rows);
+                batches.add(new BulkImportReport.Batch(batches.size() + 1, movies,
+                        session.getStudiosWritten() - studios,
+                        session.getProducersWritten() - producers,
+                        session.getLinksWritten() - links));
+                return movies;
+            });
+        } catch (IllegalStateException e) {
+            if (e.getCause() instanceof IllegalArgumentException) {
+                throw new IllegalArgumentException("Invalid record after " + session.getMoviesWritten()
+                        + " imported rows: " + e.getCause().getMessage(), e.getCause());
+            }
+            throw e;
+        }
+
+        BulkImportReport report = new BulkImportReport(
+                LoadReport.of(session, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)), batches);
+        logger.info("Bulk import finished: {} in {} batches", report.getTotal(), batches.size());
+        return report;
+    }
+}
@@ -0,0 +1,404 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.texoit.airton.movieapi.infrastructure.event.DatasetChangePublisher;
+import com.texoit.airton.movieapi.infrastructure.persistence.SequenceIdAllocator;
+
+/**
+ * Persistência em lote via JDBC para MOVIE, STUDIO, PRODUCER e as tabelas de
+ * associação. Cada lote é gravado em uma única transação com um
+ * {@code executeBatch} por tabela e operação, sem passar pelo ORM. Os IDs vêm das mesmas
+ * sequences usadas pelas entidades JPA.
+ * <p>
+ * Cargas, importações, jobs e deltas podem ter sessões abertas ao mesmo
+ * tempo, então os lotes de todas elas passam por um único lock de escrita.
+ * Dentro dele, os nomes que a sessão ainda não conhece são procurados no
+ * banco antes de ganhar um ID novo: um nome gravado por outra sessão depois
+ * que esta foi aberta não vira uma segunda linha. Nomes novos só entram no
+ * dicionário da sessão depois do commit do lote.
+ */
+@Component
+public class MovieBulkWriter {
+
+    static final String INSERT_MOVIE = "INSERT INTO MOVIE (ID_MOVIE, YEAR, TITLE, IS_WINNER, FINGERPRINT) VALUES (?, ?, ?, ?, ?)";
+    static final String UPDATE_MOVIE = "UPDATE MOVIE SET YEAR = ?, TITLE = ?, IS_WINNER = ?, FINGERPRINT = ? WHERE ID_MOVIE = ?";
+    static final String DELETE_MOVIE = "DELETE FROM MOVIE WHERE ID_MOVIE = ?";
+    static final String INSERT_STUDIO = "INSERT INTO STUDIO (ID_STUDIO, NAME) VALUES (?, ?)";
+    static final String INSERT_PRODUCER = "INSERT INTO PRODUCER (ID_PRODUCER, NAME) VALUES (?, ?)";
+    static final String INSERT_MOVIE_STUDIO = "INSERT INTO MOVIE_STUDIO (MOVIE_ID_MOVIE, STUDIO_ID_STUDIO) VALUES (?, ?)";
+    static final String INSERT_MOVIE_PRODUCER = "INSERT INTO MOVIE_PRODUCER (MOVIE_ID_MOVIE, PRODUCER_ID_PRODUCER) VALUES (?, ?)";
+    static final String DELETE_MOVIE_STUDIOS = "DELETE FROM MOVIE_STUDIO WHERE MOVIE_ID_MOVIE = ?";
+    static final String DELETE_MOVIE_PRODUCERS = "DELETE FROM MOVIE_PRODUCER WHERE MOVIE_ID_MOVIE = ?";
+    static final String SELECT_STUDIOS_BY_NAME = "SELECT ID_STUDIO, NAME FROM STUDIO WHERE NAME IN ";
+    static final String SELECT_PRODUCERS_BY_NAME = "SELECT ID_PRODUCER, NAME FROM PRODUCER WHERE NAME IN ";
+    static final String SELECT_MOVIE_PRODUCERS = "SELECT DISTINCT PRODUCER_ID_PRODUCER FROM MOVIE_PRODUCER WHERE MOVIE_ID_MOVIE IN ";
+
+    /** Tamanho máximo da lista IN nas leituras de nomes e vínculos. */
+    static final int IN_CHUNK = 500;
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieBulkWriter.class);
+
+    private final ReentrantLock writeLock = new ReentrantLock(true);
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatasetChangePublisher changePublisher;
+
+    public MovieBulkWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            DatasetChangePublisher changePublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.changePublisher = changePublisher;
+    }
+
+    /**
+     * Abre uma sessão de escrita. Os nomes já existentes no banco são
+     * carregados uma única vez para que cada estúdio/produtor seja resolvido
+     * em memória durante toda a carga.
+     */
+    public Session openSession() {
+        NameDictionary studios = new NameDictionary();
+        jdbcTemplate.query("SELECT ID_STUDIO, NAME FROM STUDIO",
+                rs -> {
+                    studios.putIfAbsent(rs.getString(2), rs.getLong(1));
+                });
+
+        NameDictionary producers = new NameDictionary();
+        jdbcTemplate.query("SELECT ID_PRODUCER, NAME FROM PRODUCER",
+                rs -> {
+                    producers.putIfAbsent(rs.getString(2), rs.getLong(1));
+                });
+
+        return new Session(studios, producers,
+                new SequenceIdAllocator(jdbcTemplate, "SEQ_MOVIE"),
+                new SequenceIdAllocator(jdbcTemplate, "SEQ_STUDIO"),
+                new SequenceIdAllocator(jdbcTemplate, "SEQ_PRODUCER"));
+    }
+
+    /**
+     * Sessão de escrita de uma carga. Não é thread-safe: os lotes devem ser
+     * enviados por uma única thread.
+     */
+    public class Session {
+
+        private final NameDictionary studioIds;
+        private final NameDictionary producerIds;
+        private final SequenceIdAllocator movieIdAllocator;
+        private final SequenceIdAllocator studioIdAllocator;
+        private final SequenceIdAllocator producerIdAllocator;
+
+        private long moviesWritten;
+        private long moviesUpdated;
+        private long moviesDeleted;
+        private long studiosWritten;
+        private long producersWritten;
+        private long linksWritten;
+
+        Session(NameDictionary studioIds, NameDictionary producerIds,
+                SequenceIdAllocator movieIdAllocator, SequenceIdAllocator studioIdAllocator,
+                SequenceIdAllocator producerIdAllocator) {
+            this.studioIds = studioIds;
+            this.producerIds = producerIds;
+            this.movieIdAllocator = movieIdAllocator;
+            this.studioIdAllocator = studioIdAllocator;
+            this.producerIdAllocator = producerIdAllocator;
+        }
+
+        /**
+         * Grava um lote de filmes em uma única transação.
+         *
+         * @return quantidade de filmes gravados
+         */
+        public int write(List<MovieRow> rows) {
+            return write(rows, null);
+        }
+
+        /**
+         * Grava um lote e executa {@code inTransaction} na mesma transação,
+         * antes do commit. Usado para registrar checkpoints junto com os
+         * dados do lote.
+         *
+         * @return quantidade de filmes gravados
+         */
+        public int write(List<MovieRow> rows, Runnable inTransaction) {
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            apply(MovieDeltaBatch.inserts(rows), inTransaction);
+            return rows.size();
+        }
+
+        /**
+         * Aplica inserções, atualizações e remoções de um lote em uma única
+         * transação, sob o lock de escrita. Os vínculos dos filmes atualizados
+         * são removidos e regravados em lote. Se um escritor fora do lock
+         * gravar o mesmo nome antes, o lote é refeito uma vez: a nova
+         * tentativa encontra o nome no banco.
+         */
+        public void apply(MovieDeltaBatch batch, Runnable inTransaction) {
+            if (batch.isEmpty() && inTransaction == null) {
+                return;
+            }
+            writeLock.lock();
+            try {
+                try {
+                    applyInTransaction(batch, inTransaction);
+                } catch (DuplicateKeyException e) {
+                    logger.warn("Name written concurrently, retrying batch: {}", e.getMostSpecificCause().toString());
+                    applyInTransaction(batch, inTransaction);
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        private void applyInTransaction(MovieDeltaBatch batch, Runnable inTransaction) {
+            transactionTemplate.execute(status -> {
+                doApply(batch);
+                if (inTransaction != null) {
+                    inTransaction.run();
+                }
+                return null;
+            });
+        }
+
+        private void doApply(MovieDeltaBatch batch) {
+            List<Object[]> movies = new ArrayList<>(batch.getInserts().size());
+            List<Object[]> updatedMovies = new ArrayList<>(batch.getUpdates().size());
+            List<Object[]> newStudios = new ArrayList<>();
+            List<Object[]> newProducers = new ArrayList<>();
+            List<long[]> movieStudios = new ArrayList<>();
+            List<long[]> movieProducers = new ArrayList<>();
+            NameIds studios = new NameIds(studioIds);
+            NameIds producers = new NameIds(producerIds);
+            loadCommittedNames(batch, studios, producers);
+
+            for (MovieRow row : batch.getInserts()) {
+                long movieId = movieIdAllocator.next();
+                movies.add(new Object[] { movieId, row.getYear(), row.getTitle(), row.isWinner(), row.fingerprint() });
+                resolveLinks(movieId, row, studios, producers, newStudios, newProducers, movieStudios, movieProducers);
+            }
+
+            for (int i = 0; i < batch.getUpdates().size(); i++) {
+                MovieRow row = batch.getUpdates().get(i);
+                long movieId = batch.getUpdateIds().get(i);
+                updatedMovies.add(new Object[] { row.getYear(), row.getTitle(), row.isWinner(), row.fingerprint(), movieId });
+                resolveLinks(movieId, row, studios, producers, newStudios, newProducers, movieStudios, movieProducers);
+            }
+
+            // Vínculos antigos saem antes dos novos e antes dos filmes removidos
+            List<Long> unlinked = new ArrayList<>(batch.getUpdateIds());
+            unlinked.addAll(batch.getDeletes());
+            Set<Long> changedProducers = linkedProducers(unlinked);
+            batchIds(DELETE_MOVIE_STUDIOS, unlinked);
+            batchIds(DELETE_MOVIE_PRODUCERS, unlinked);
+            batchIds(DELETE_MOVIE, batch.getDeletes());
+
+            if (!movies.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_MOVIE, movies);
+            }
+            if (!updatedMovies.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_MOVIE, updatedMovies);
+            }
+            if (!newStudios.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_STUDIO, newStudios);
+            }
+            if (!newProducers.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_PRODUCER, newProducers);
+            }
+            batchLinks(INSERT_MOVIE_STUDIO, movieStudios);
+            batchLinks(INSERT_MOVIE_PRODUCER, movieProducers);
+            for (long[] link : movieProducers) {
+                changedProducers.add(link[1]);
+            }
+            Set<Long> changedMovies = new HashSet<>(unlinked);
+            for (Object[] movie : movies) {
+                changedMovies.add((Long) movie[0]);
+            }
+            changePublisher.changed(changedProducers, changedMovies);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    studios.commit();
+                    producers.commit();
+                }
+            });
+
+            moviesWritten += movies.size();
+            moviesUpdated += updatedMovies.size();
+            moviesDeleted += batch.getDeletes().size();
+            studiosWritten += newStudios.size();
+            producersWritten += newProducers.size();
+            linksWritten += movieStudios.size() + movieProducers.size();
+        }
+
+        private void resolveLinks(long movieId, MovieRow row, NameIds studios, NameIds producers,
+                List<Object[]> newStudios, List<Object[]> newProducers, List<long[]> movieStudios,
+                List<long[]> movieProducers) {
+            for (String name : row.getStudios()) {
+                long studioId = studios.get(name);
+                if (studioId == NameDictionary.ABSENT) {
+                    studioId = studioIdAllocator.next();
+                    studios.put(name, studioId);
+                    newStudios.add(new Object[] { studioId, name });
+                }
+                movieStudios.add(new long[] { movieId, studioId });
+            }
+
+            for (String name : row.getProducers()) {
+                long producerId = producers.get(name);
+                if (producerId == NameDictionary.ABSENT) {
+                    producerId = producerIdAllocator.next();
+                    producers.put(name, producerId);
+                    newProducers.add(new Object[] { producerId, name });
+                }
+                movieProducers.add(new long[] { movieId, producerId });
+            }
+        }
+
+        /**
+         * Procura no banco os nomes do lote que a sessão não conhece; os
+         * encontrados foram gravados por outra sessão e são reaproveitados.
+         */
+        private void loadCommittedNames(MovieDeltaBatch batch, NameIds studios, NameIds producers) {
+            Set<String> unknownStudios = new LinkedHashSet<>();
+            Set<String> unknownProducers = new LinkedHashSet<>();
+            List<MovieRow> rows = new ArrayList<>(batch.getInserts());
+            rows.addAll(batch.getUpdates());
+            for (MovieRow row : rows) {
+                for (String name : row.getStudios()) {
+                    if (studioIds.get(name) == NameDictionary.ABSENT) {
+                        unknownStudios.add(name);
+                    }
+                }
+                for (String name : row.getProducers()) {
+                    if (producerIds.get(name) == NameDictionary.ABSENT) {
+                        unknownProducers.add(name);
+                    }
+                }
+            }
+            loadNames(SELECT_STUDIOS_BY_NAME, unknownStudios, studios);
+            loadNames(SELECT_PRODUCERS_BY_NAME, unknownProducers, producers);
+        }
+
+        private void loadNames(String sql, Set<String> names, NameIds target) {
+            List<String> list = new ArrayList<>(names);
+            for (int from = 0; from < list.size(); from += IN_CHUNK) {
+                Object[] chunk = list.subList(from, Math.min(list.size(), from + IN_CHUNK)).toArray();
+                String placeholders = String.join(", ", Collections.nCopies(chunk.length, "?"));
+                jdbcTemplate.query(sql + "(" + placeholders + ") ORDER BY 1", rs -> {
+                    target.putIfAbsent(rs.getString(2), rs.getLong(1));
+                }, chunk);
+            }
+        }
+
+        private void batchLinks(String sql, List<long[]> links) {
+            if (links.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(sql, links, links.size(), (ps, link) -> {
+                ps.setLong(1, link[0]);
+                ps.setLong(2, link[1]);
+            });
+        }
+
+        /** Produtores vinculados aos filmes, com {@code IN} em blocos de {@link #IN_CHUNK}. */
+        private Set<Long> linkedProducers(List<Long> movieIds) {
+            Set<Long> producers = new HashSet<>();
+            for (int from = 0; from < movieIds.size(); from += IN_CHUNK) {
+                Object[] chunk = movieIds.subList(from, Math.min(movieIds.size(), from + IN_CHUNK)).toArray();
+                String placeholders = String.join(", ", Collections.nCopies(chunk.length, "?"));
+                jdbcTemplate.query(SELECT_MOVIE_PRODUCERS + "(" + placeholders + ")", rs -> {
+                    producers.add(rs.getLong(1));
+                }, chunk);
+            }
+            return producers;
+        }
+
+        private void batchIds(String sql, List<Long> ids) {
+            if (ids.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(sql, ids, ids.size(), (ps, id) -> ps.setLong(1, id));
+        }
+
+        /**
+         * Nomes resolvidos em um lote: os do dicionário da sessão mais os
+         * deste lote, que só passam ao dicionário com {@link #commit()}.
+         */
+        private final class NameIds {
+
+            private final NameDictionary committed;
+            private final Map<String, Long> pending = new HashMap<>();
+
+            NameIds(NameDictionary committed) {
+                this.committed = committed;
+            }
+
+            long get(String name) {
+                long id = committed.get(name);
+                if (id != NameDictionary.ABSENT) {
+                    return id;
+                }
+                Long pendingId = pending.get(name);
+                return pendingId == null ? NameDictionary.ABSENT : pendingId;
+            }
+
+            void put(String name, long id) {
+                pending.put(name, id);
+            }
+
+            void putIfAbsent(String name, long id) {
+                pending.putIfAbsent(name, id);
+            }
+
+            void commit() {
+                for (Map.Entry<String, Long> entry : pending.entrySet()) {
+                    committed.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        public long getMoviesWritten() {
+            return moviesWritten;
+        }
+
+        public long getMoviesUpdated() {
+            return moviesUpdated;
+        }
+
+        public long getMoviesDeleted() {
+            return moviesDeleted;
+        }
+
+        public long getStudiosWritten() {
+            return studiosWritten;
+        }
+
+        public long getProducersWritten() {
+            return producersWritten;
+        }
+
+        public long getLinksWritten() {
+            return linksWritten;
+        }
+    }
+}
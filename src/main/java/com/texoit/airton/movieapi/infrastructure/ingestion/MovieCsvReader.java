@@ -0,0 +1,143 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+
+/**
+ * Leitor sequencial do arquivo de filmes baseado no commons-csv.
+ * Respeita delimitador, encoding e cabeçalho configurados em
+ * {@code movieapi.csv}. A {@link #position()} é contada em caracteres já
+ * decodificados.
+ */
+public class MovieCsvReader implements MovieRecordReader {
+
+    static final String[] HEADER = { "year", "title", "studios", "producers", "winner" };
+
+    private final CountingReader source;
+    private final long offset;
+    private final CSVParser parser;
+    private final Iterator<CSVRecord> records;
+
+    private CSVRecord next;
+    private boolean fetched;
+
+    public MovieCsvReader(InputStream in, MovieApiProperties.Csv csv) throws IOException {
+        this(in, csv, 0);
+    }
+
+    /**
+     * @param position valor de {@link #position()} de uma leitura anterior
+     *        da mesma fonte; os caracteres até ali são descartados sem passar
+     *        pelo parser e o cabeçalho não é procurado de novo
+     */
+    public MovieCsvReader(InputStream in, MovieApiProperties.Csv csv, long position) throws IOException {
+        Reader reader = new InputStreamReader(in, Charset.forName(csv.getEncoding()));
+        CSVFormat format = CSVFormat.RFC4180
+                .withDelimiter(csv.getDelimiter().charAt(0))
+                .withHeader(HEADER);
+        this.offset = position > 0 ? skip(reader, position) : 0;
+        if (offset == 0 && csv.isSkipFirstLine()) {
+            format = format.withSkipHeaderRecord();
+        }
+        this.source = new CountingReader(reader);
+        this.parser = new CSVParser(source, format, offset, 1);
+        this.records = parser.iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!fetched) {
+            next = fetch();
+            fetched = true;
+        }
+        return next != null;
+    }
+
+    @Override
+    public MovieCsvRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        CSVRecord record = next;
+        fetched = false;
+        return new MovieCsvRecord(
+                Integer.parseInt(record.get("year").trim()),
+                record.get("title"),
+                record.get("studios"),
+                record.get("producers"),
+                MovieCsvRecord.isWinner(record.get("winner")));
+    }
+
+    /**
+     * Início do próximo registro ou, no fim da fonte, o total de caracteres.
+     */
+    @Override
+    public long position() {
+        return hasNext() ? next.getCharacterPosition() : offset + source.count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private CSVRecord fetch() {
+        return records.hasNext() ? records.next() : null;
+    }
+
+    private static long skip(Reader reader, long position) throws IOException {
+        long skipped = 0;
+        while (skipped < position) {
+            long n = reader.skip(position - skipped);
+            if (n <= 0) {
+                break;
+            }
+            skipped += n;
+        }
+        return skipped;
+    }
+
+    /**
+     * Conta os caracteres entregues ao parser para saber a posição do fim da
+     * fonte, onde não há próximo registro para consultar.
+     */
+    private static final class CountingReader extends FilterReader {
+
+        private long count;
+
+        CountingReader(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = super.read();
+            if (c >= 0) {
+                count++;
+            }
+            return c;
+        }
+
+        @Override
+        public int read(char[] buffer, int off, int len) throws IOException {
+            int n = super.read(buffer, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+/**
+ * Registro bruto lido do arquivo de filmes, antes da normalização dos nomes.
+ * Os campos de estúdios e produtores mantêm o texto original da coluna.
+ */
+public class MovieCsvRecord {
+
+    private final int year;
+    private final String title;
+    private final String studios;
+    private final String producers;
+    private final boolean winner;
+
+    public MovieCsvRecord(int year, String title, String studios, String producers, boolean winner) {
+        this.year = year;
+        this.title = title;
+        this.studios = studios;
+        this.producers = producers;
+        this.winner = winner;
+    }
+
+    /**
+     * Interpreta a coluna winner com a mesma regra de {@code Movie}: apenas
+     * "yes" (sem diferenciar maiúsculas) indica vencedor.
+     */
+    public static boolean isWinner(String winner) {
+        return winner != null && "yes".equalsIgnoreCase(winner.trim());
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getStudios() {
+        return studios;
+    }
+
+    public String getProducers() {
+        return producers;
+    }
+
+    public boolean isWinner() {
+        return winner;
+    }
+}
@@ -0,0 +1,145 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+
+/**
+ * Carga inicial do arquivo {@code movielist.csv} (ou de
+ * {@code movieapi.csv.path}).
+ * Lê o arquivo inteiro pelo {@link IngestionPipeline}, resolve estúdios e
+ * produtores em memória e grava tudo em lotes JDBC do tamanho de
+ * {@code movieapi.csv.batch-size}. Com {@code movieapi.snapshot.enabled}, a
+ * base vazia é restaurada do {@link DatasetSnapshotStore} quando o CSV não
+ * mudou desde a última carga. Com {@code movieapi.ingestion.async-load}, a
+ * carga roda em segundo plano e o progresso fica em {@link DatasetLoadState}.
+ */
+@Component
+public class MovieDataLoader implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieDataLoader.class);
+
+    private final MovieApiProperties properties;
+    private final MovieRecordReaderFactory readerFactory;
+    private final IngestionPipelineFactory pipelineFactory;
+    private final MovieBulkWriter writer;
+    private final DatasetSnapshotStore snapshotStore;
+    private final DatasetLoadState state;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "movie-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile IngestionPipeline pipeline;
+
+    public MovieDataLoader(MovieApiProperties properties, MovieRecordReaderFactory readerFactory,
+            IngestionPipelineFactory pipelineFactory, MovieBulkWriter writer, DatasetSnapshotStore snapshotStore,
+            DatasetLoadState state) {
+        this.properties = properties;
+        this.readerFactory = readerFactory;
+        this.pipelineFactory = pipelineFactory;
+        this.writer = writer;
+        this.snapshotStore = snapshotStore;
+        this.state = state;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (!properties.getIngestion().isAsyncLoad()) {
+            load();
+            return;
+        }
+
+        executor.execute(() -> {
+            try {
+                load();
+            } catch (Exception e) {
+                logger.error("Background movie list load failed", e);
+            }
+        });
+        logger.info("Movie list load started in background");
+    }
+
+    /**
+     * Interrompe a carga em segundo plano junto com o contexto.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public LoadReport load() throws IOException {
+        try {
+            LoadReport report = loadDataset();
+            state.complete(report.getMovies());
+            return report;
+        } catch (IOException | RuntimeException e) {
+            state.fail(e);
+            throw e;
+        }
+    }
+
+    private LoadReport loadDataset() throws IOException {
+        if (!snapshotStore.isEnabled() || !snapshotStore.isDatabaseEmpty()) {
+            return loadCsv();
+        }
+
+        state.begin(-1);
+        String fingerprint = snapshotStore.fingerprint(readerFactory.source());
+        Optional<LoadReport> restored = snapshotStore.restore(fingerprint);
+        if (restored.isPresent()) {
+            logger.info("Movie list restored from snapshot: {}", restored.get());
+            return restored.get();
+        }
+
+        LoadReport report = loadCsv();
+        try {
+            snapshotStore.save(fingerprint);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not write dataset snapshot: {}", e.toString());
+        }
+        return report;
+    }
+
+    private LoadReport loadCsv() throws IOException {
+        long start = System.nanoTime();
+        state.begin(readerFactory.estimateRecords());
+
+        MovieBulkWriter.Session session = writer.openSession();
+        IngestionPipeline current = pipelineFactory.create();
+        current.onProgress(p -> state.progress(session.getMoviesWritten()));
+        this.pipeline = current;
+        try (MovieRecordReader reader = readerFactory.open()) {
+            current.run(reader, session::write);
+        }
+
+        LoadReport report = LoadReport.of(session,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        logger.info("Movie list loaded ({} reader): {}", properties.getCsv().getReaderMode(), report);
+        logger.info("Ingestion stages: {}", current.getStages());
+        return report;
+    }
+
+    /**
+     * Métricas por estágio da carga em andamento (ou da última executada).
+     */
+    public List<StageMetrics> getStageMetrics() {
+        IngestionPipeline current = pipeline;
+        return current == null ? Collections.<StageMetrics>emptyList() : current.getStages();
+    }
+}
@@ -0,0 +1,61 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Alterações de um lote da importação delta: filmes novos, filmes alterados
+ * (com o ID existente) e IDs de filmes removidos da fonte.
+ */
+public class MovieDeltaBatch {
+
+    private final List<MovieRow> inserts = new ArrayList<>();
+    private final List<MovieRow> updates = new ArrayList<>();
+    private final List<Long> updateIds = new ArrayList<>();
+    private final List<Long> deletes = new ArrayList<>();
+
+    public static MovieDeltaBatch inserts(List<MovieRow> rows) {
+        MovieDeltaBatch batch = new MovieDeltaBatch();
+        batch.inserts.addAll(rows);
+        return batch;
+    }
+
+    public static MovieDeltaBatch deletes(List<Long> ids) {
+        MovieDeltaBatch batch = new MovieDeltaBatch();
+        batch.deletes.addAll(ids);
+        return batch;
+    }
+
+    public void insert(MovieRow row) {
+        inserts.add(row);
+    }
+
+    public void update(long id, MovieRow row) {
+        updateIds.add(id);
+        updates.add(row);
+    }
+
+    public void delete(long id) {
+        deletes.add(id);
+    }
+
+    public List<MovieRow> getInserts() {
+        return inserts;
+    }
+
+    public List<MovieRow> getUpdates() {
+        return updates;
+    }
+
+    public List<Long> getUpdateIds() {
+        return updateIds;
+    }
+
+    public List<Long> getDeletes() {
+        return deletes;
+    }
+
+    public boolean isEmpty() {
+        return inserts.isEmpty() && updates.isEmpty() && deletes.isEmpty();
+    }
+}
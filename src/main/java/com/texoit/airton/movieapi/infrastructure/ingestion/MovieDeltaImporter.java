@@ -0,0 +1,179 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+
+/**
+ * Importação delta: compara o fingerprint de cada registro da fonte com o
+ * gravado em {@code MOVIE.FINGERPRINT} (chave natural ano + título) e aplica
+ * só as diferenças. Registros novos são inseridos, registros com fingerprint
+ * diferente são atualizados junto com seus vínculos. Registros iguais não
+ * geram escrita, então o custo de gravação acompanha o volume de mudanças.
+ * <p>
+ * Remover os filmes da base que não aparecem na fonte é opcional
+ * ({@code deleteMissing}) e só acontece depois que a fonte foi lida até o fim
+ * sem erro. Uma fonte sem nenhum registro nunca remove nada: um arquivo vazio
+ * ou truncado no cabeçalho apagaria a base inteira.
+ */
+@Component
+public class MovieDeltaImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieDeltaImporter.class);
+
+    private static final String SELECT_FINGERPRINTS = "SELECT ID_MOVIE, YEAR, TITLE, FINGERPRINT FROM MOVIE";
+
+    private final MovieApiProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final IngestionPipelineFactory pipelineFactory;
+    private final MovieBulkWriter writer;
+
+    public MovieDeltaImporter(MovieApiProperties properties, JdbcTemplate jdbcTemplate,
+            IngestionPipelineFactory pipelineFactory, MovieBulkWriter writer) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.pipelineFactory = pipelineFactory;
+        this.writer = writer;
+    }
+
+    /**
+     * Notificação de um lote aplicado, chamada na transação do lote.
+     */
+    @FunctionalInterface
+    public interface BatchListener {
+
+        /**
+         * @param records registros da fonte no lote
+         * @param position {@link MovieRecordReader#position()} da fonte logo
+         *        após o último registro do lote
+         */
+        void applied(int records, long position);
+    }
+
+    public DeltaReport importDelta(MovieRecordReader reader) throws IOException {
+        return importDelta(reader, false);
+    }
+
+    public DeltaReport importDelta(MovieRecordReader reader, boolean deleteMissing) throws IOException {
+        return importDelta(reader, 0, deleteMissing, null);
+    }
+
+    /**
+     * Consome e fecha o leitor.
+     *
+     * @param skipRecords registros iniciais já aplicados (retomada de job);
+     *        são lidos só para não serem tratados como removidos
+     * @param deleteMissing remove os filmes da base ausentes da fonte
+     * @param onBatch chamado na transação de cada lote; pode ser {@code null}
+     */
+    public DeltaReport importDelta(MovieRecordReader reader, long skipRecords, boolean deleteMissing,
+            BatchListener onBatch) throws IOException {
+        long start = System.nanoTime();
+        Map<String, Existing> existing = loadExisting();
+        long[] unchanged = { 0 };
+
+        long records = 0;
+        MovieBulkWriter.Session session = writer.openSession();
+        try (MovieRecordReader source = reader) {
+            for (; records < skipRecords && source.hasNext(); records++) {
+                MovieCsvRecord record = source.next();
+                take(existing, MovieRow.key(record.getYear(), record.getTitle()));
+            }
+
+            records += pipelineFactory.create().runWithPositions(source, (rows, position) -> {
+                MovieDeltaBatch batch = new MovieDeltaBatch();
+                for (MovieRow row : rows) {
+                    Existing current = take(existing, row.getKey());
+                    long fingerprint = row.fingerprint();
+                    if (current == null) {
+                        batch.insert(row);
+                    } else if (current.fingerprint == null || current.fingerprint != fingerprint) {
+                        batch.update(current.id, row);
+                    } else {
+                        unchanged[0]++;
+                    }
+                }
+                session.apply(batch, onBatch == null ? null : () -> onBatch.applied(rows.size(), position));
+                return rows.size();
+            });
+        }
+
+        if (deleteMissing) {
+            if (records == 0) {
+                logger.warn("Delta source has no records; keeping the {} movies that would be removed",
+                        existing.size());
+            } else {
+                deleteMissing(session, existing);
+            }
+        }
+
+        DeltaReport report = new DeltaReport(session.getMoviesWritten(), session.getMoviesUpdated(),
+                session.getMoviesDeleted(), unchanged[0],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        logger.info("Delta import finished: {}", report);
+        return report;
+    }
+
+    private Map<String, Existing> loadExisting() {
+        Map<String, Existing> existing = new HashMap<>();
+        jdbcTemplate.query(SELECT_FINGERPRINTS, rs -> {
+            long fingerprint = rs.getLong(4);
+            Existing movie = new Existing(rs.getLong(1), rs.wasNull() ? null : fingerprint);
+            // Títulos repetidos no mesmo ano ficam encadeados e são consumidos um a um
+            movie.next = existing.put(MovieRow.key(rs.getInt(2), rs.getString(3)), movie);
+        });
+        return existing;
+    }
+
+    private void deleteMissing(MovieBulkWriter.Session session, Map<String, Existing> existing) {
+        int batchSize = Math.max(1, properties.getCsv().getBatchSize());
+        List<Long> ids = new ArrayList<>(batchSize);
+        for (Existing movie : existing.values()) {
+            for (Existing current = movie; current != null; current = current.next) {
+                ids.add(current.id);
+                if (ids.size() == batchSize) {
+                    session.apply(MovieDeltaBatch.deletes(ids), null);
+                    ids.clear();
+                }
+            }
+        }
+        if (!ids.isEmpty()) {
+            session.apply(MovieDeltaBatch.deletes(ids), null);
+        }
+    }
+
+    private static Existing take(Map<String, Existing> existing, String key) {
+        Existing movie = existing.get(key);
+        if (movie == null) {
+            return null;
+        }
+        if (movie.next == null) {
+            existing.remove(key);
+        } else {
+            existing.put(key, movie.next);
+        }
+        return movie;
+    }
+
+    private static final class Existing {
+
+        private final long id;
+        private final Long fingerprint;
+        private Existing next;
+
+        Existing(long id, Long fingerprint) {
+            this.id = id;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
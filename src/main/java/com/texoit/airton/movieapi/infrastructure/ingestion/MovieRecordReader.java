@@ -0,0 +1,20 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Fonte de registros do arquivo de filmes consumida pelo
+ * {@link IngestionPipeline}.
+ */
+public interface MovieRecordReader extends Iterator<MovieCsvRecord>, Closeable {
+
+    /**
+     * Posição na fonte logo após o último registro devolvido por
+     * {@link #next()}, na unidade do próprio leitor, para reabrir a leitura
+     * a partir dali. {@code -1} se o leitor não sabe retomar.
+     */
+    default long position() {
+        return -1;
+    }
+}
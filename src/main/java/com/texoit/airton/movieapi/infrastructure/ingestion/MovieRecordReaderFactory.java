@@ -0,0 +1,145 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.springframework.stereotype.Component;
+
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+
+/**
+ * Abre o leitor do arquivo de filmes conforme {@code movieapi.csv.reader-mode}.
+ * Sem {@code movieapi.csv.path}, lê o {@code movielist.csv} do classpath; o
+ * modo MAPPED exige um arquivo no sistema de arquivos.
+ */
+@Component
+public class MovieRecordReaderFactory {
+
+    static final String RESOURCE = "movielist.csv";
+
+    private final MovieApiProperties properties;
+
+    public MovieRecordReaderFactory(MovieApiProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Abre o arquivo configurado em {@code movieapi.csv.path} ou, na falta
+     * dele, o recurso do classpath.
+     */
+    public MovieRecordReader open() throws IOException {
+        MovieApiProperties.Csv csv = properties.getCsv();
+        if (hasPath(csv)) {
+            return open(Paths.get(csv.getPath().trim()));
+        }
+
+        URL resource = source();
+        if (csv.getReaderMode() == MovieApiProperties.Csv.ReaderMode.MAPPED) {
+            if (!"file".equals(resource.getProtocol())) {
+                throw new IllegalStateException("Mapped reader needs a file: set movieapi.csv.path ("
+                        + RESOURCE + " resolved to " + resource + ")");
+            }
+            try {
+                return new MappedMovieCsvReader(Paths.get(resource.toURI()), csv);
+            } catch (URISyntaxException e) {
+                throw new IllegalStateException("Invalid resource location: " + resource, e);
+            }
+        }
+        return new MovieCsvReader(resource.openStream(), csv);
+    }
+
+    /**
+     * Localização do arquivo lido por {@link #open()}.
+     */
+    public URL source() throws IOException {
+        MovieApiProperties.Csv csv = properties.getCsv();
+        if (hasPath(csv)) {
+            return Paths.get(csv.getPath().trim()).toUri().toURL();
+        }
+        URL resource = Thread.currentThread().getContextClassLoader().getResource(RESOURCE);
+        if (resource == null) {
+            throw new IllegalStateException("Resource not found on classpath: " + RESOURCE);
+        }
+        return resource;
+    }
+
+    /**
+     * Estimativa do total de registros de {@link #source()} pela contagem de
+     * quebras de linha (campos com quebra de linha entre aspas contam a mais).
+     */
+    public long estimateRecords() throws IOException {
+        return estimateRecords(source());
+    }
+
+    /**
+     * Estimativa do total de registros de um arquivo arbitrário.
+     */
+    public long estimateRecords(Path file) throws IOException {
+        return estimateRecords(file.toUri().toURL());
+    }
+
+    private long estimateRecords(URL source) throws IOException {
+        long lines = 0;
+        int last = '\n';
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = source.openStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                    }
+                }
+                if (read > 0) {
+                    last = buffer[read - 1];
+                }
+            }
+        }
+        if (last != '\n') {
+            lines++;
+        }
+        if (properties.getCsv().isSkipFirstLine()) {
+            lines--;
+        }
+        return Math.max(0, lines);
+    }
+
+    /**
+     * Abre um arquivo arbitrário com o modo de leitura configurado.
+     */
+    public MovieRecordReader open(Path file) throws IOException {
+        return open(file, getReaderMode(), 0);
+    }
+
+    /**
+     * Abre um arquivo arbitrário com o modo de leitura indicado, a partir de
+     * uma {@link MovieRecordReader#position()} obtida com o mesmo modo.
+     */
+    public MovieRecordReader open(Path file, MovieApiProperties.Csv.ReaderMode mode, long position)
+            throws IOException {
+        MovieApiProperties.Csv csv = properties.getCsv();
+        if (mode == MovieApiProperties.Csv.ReaderMode.MAPPED) {
+            return new MappedMovieCsvReader(file, csv, position);
+        }
+        InputStream in = new FileInputStream(file.toFile());
+        try {
+            return new MovieCsvReader(in, csv, position);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    public MovieApiProperties.Csv.ReaderMode getReaderMode() {
+        return properties.getCsv().getReaderMode();
+    }
+
+    private static boolean hasPath(MovieApiProperties.Csv csv) {
+        return csv.getPath() != null && !csv.getPath().trim().isEmpty();
+    }
+}
@@ -0,0 +1,96 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Linha normalizada pronta para persistência em lote: nomes de estúdios e
+ * produtores já separados, sem espaços e sem repetição dentro do filme.
+ */
+public class MovieRow {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int year;
+    private final String title;
+    private final List<String> studios;
+    private final List<String> producers;
+    private final boolean winner;
+
+    public MovieRow(int year, String title, List<String> studios, List<String> producers, boolean winner) {
+        this.year = year;
+        this.title = title;
+        this.studios = Collections.unmodifiableList(studios);
+        this.producers = Collections.unmodifiableList(producers);
+        this.winner = winner;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public List<String> getStudios() {
+        return studios;
+    }
+
+    public List<String> getProducers() {
+        return producers;
+    }
+
+    public boolean isWinner() {
+        return winner;
+    }
+
+    /**
+     * Chave natural do filme usada na importação delta.
+     */
+    public String getKey() {
+        return key(year, title);
+    }
+
+    /**
+     * Hash de 64 bits (FNV-1a) de ano, título, estúdios, produtores e
+     * vencedor. Duas linhas com o mesmo fingerprint geram as mesmas linhas
+     * no banco.
+     */
+    public long fingerprint() {
+        long hash = FNV_OFFSET;
+        hash = mix(hash, year);
+        hash = mix(hash, title);
+        hash = mix(hash, '\u0001');
+        for (String studio : studios) {
+            hash = mix(hash, studio);
+            hash = mix(hash, '\u0002');
+        }
+        hash = mix(hash, '\u0001');
+        for (String producer : producers) {
+            hash = mix(hash, producer);
+            hash = mix(hash, '\u0002');
+        }
+        return mix(hash, winner ? 'Y' : 'N');
+    }
+
+    static String key(int year, String title) {
+        return year + "\u0000" + title;
+    }
+
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return mix(hash, '\u0003');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = mix(hash, value.charAt(i));
+        }
+        return mix(hash, '\u0000');
+    }
+
+    private static long mix(long hash, int value) {
+        hash = (hash ^ (value & 0xffff)) * FNV_PRIME;
+        return (hash ^ (value >>> 16)) * FNV_PRIME;
+    }
+}
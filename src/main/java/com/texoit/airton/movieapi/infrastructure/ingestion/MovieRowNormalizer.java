@@ -0,0 +1,67 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Converte registros brutos em {@link MovieRow}, separando as listas de nomes
+ * com os mesmos separadores usados historicamente (vírgula e " and ") pelo
+ * {@link NameListTokenizer}. Cada thread normalizadora guarda os nomes já
+ * vistos em um {@link NameDictionary} próprio e consulta o intervalo do
+ * token direto nele, então um nome repetido não gera substring: todas as
+ * linhas compartilham a mesma instância.
+ */
+@Component
+public class MovieRowNormalizer {
+
+    /** Ao passar deste tamanho o dicionário da thread recomeça vazio. */
+    static final int MAX_CACHED_NAMES = 1 << 16;
+
+    private final ThreadLocal<NameDictionary> names = ThreadLocal.withInitial(NameDictionary::new);
+
+    public MovieRow normalize(MovieCsvRecord record) {
+        return new MovieRow(
+                record.getYear(),
+                record.getTitle(),
+                splitNames(record.getStudios()),
+                splitNames(record.getProducers()),
+                record.isWinner());
+    }
+
+    private List<String> splitNames(String value) {
+        NameDictionary dictionary = dictionary();
+        List<String> result = new ArrayList<>(4);
+        NameListTokenizer.tokenize(value, (source, start, end) -> {
+            if (!contains(result, source, start, end)) {
+                String name = dictionary.canonical(source, start, end);
+                if (name == null) {
+                    name = source.substring(start, end);
+                    dictionary.putIfAbsent(name, 0);
+                }
+                result.add(name);
+            }
+        });
+        return result;
+    }
+
+    private NameDictionary dictionary() {
+        NameDictionary dictionary = names.get();
+        if (dictionary.size() >= MAX_CACHED_NAMES) {
+            dictionary = new NameDictionary();
+            names.set(dictionary);
+        }
+        return dictionary;
+    }
+
+    private static boolean contains(List<String> names, String source, int start, int end) {
+        int length = end - start;
+        for (String name : names) {
+            if (name.length() == length && source.regionMatches(start, name, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,130 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+/**
+ * Dicionário nome → ID com escopo de uma carga. Tabela de endereçamento
+ * aberto consultada diretamente por intervalos de caracteres, então um nome
+ * já conhecido é resolvido sem criar substring; só a primeira ocorrência de
+ * cada nome gera uma {@link String}, que passa a ser a instância canônica.
+ * Não é thread-safe.
+ */
+public class NameDictionary {
+
+    /** Valor devolvido por {@link #get} quando o nome não está no dicionário. */
+    public static final long ABSENT = Long.MIN_VALUE;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private String[] names;
+    private long[] ids;
+    private int size;
+
+    public NameDictionary() {
+        this(MIN_CAPACITY);
+    }
+
+    public NameDictionary(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        this.names = new String[capacity];
+        this.ids = new long[capacity];
+    }
+
+    public long get(String name) {
+        return get(name, 0, name.length());
+    }
+
+    /**
+     * @return ID do nome {@code source[start, end)} ou {@link #ABSENT}
+     */
+    public long get(CharSequence source, int start, int end) {
+        int slot = find(source, start, end);
+        return names[slot] == null ? ABSENT : ids[slot];
+    }
+
+    /**
+     * Instância canônica do nome {@code source[start, end)}, ou
+     * {@code null} se ele ainda não foi registrado.
+     */
+    public String canonical(CharSequence source, int start, int end) {
+        return names[find(source, start, end)];
+    }
+
+    /**
+     * Registra o nome, mantendo o ID existente se ele já estiver presente.
+     *
+     * @return ID associado ao nome
+     */
+    public long putIfAbsent(String name, long id) {
+        int slot = find(name, 0, name.length());
+        if (names[slot] != null) {
+            return ids[slot];
+        }
+        names[slot] = name;
+        ids[slot] = id;
+        if (++size * 2 > names.length) {
+            resize();
+        }
+        return id;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int find(CharSequence source, int start, int end) {
+        int mask = names.length - 1;
+        int hash = hash(source, start, end);
+        int slot = spread(hash) & mask;
+        String name;
+        while ((name = names[slot]) != null && (name.hashCode() != hash || !matches(name, source, start, end))) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        String[] oldNames = names;
+        long[] oldIds = ids;
+        names = new String[oldNames.length << 1];
+        ids = new long[oldNames.length << 1];
+        int mask = names.length - 1;
+        for (int i = 0; i < oldNames.length; i++) {
+            String name = oldNames[i];
+            if (name != null) {
+                int slot = spread(name.hashCode()) & mask;
+                while (names[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                names[slot] = name;
+                ids[slot] = oldIds[i];
+            }
+        }
+    }
+
+    /** Mesmo cálculo de {@link String#hashCode()}, sobre o intervalo. */
+    private static int hash(CharSequence source, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + source.charAt(i);
+        }
+        return h;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(String name, CharSequence source, int start, int end) {
+        if (name.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != source.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,74 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Separa listas de nomes de estúdios e produtores pelos separadores
+ * históricos (vírgula e {@code " and "}) sem expressão regular. Os nomes são
+ * entregues como intervalos da string original, já sem espaços nas pontas,
+ * para que o chamador decida se precisa de uma nova {@link String}.
+ */
+public final class NameListTokenizer {
+
+    private static final String AND = " and ";
+
+    /**
+     * Recebe cada nome como o intervalo {@code [start, end)} de {@code source}.
+     */
+    @FunctionalInterface
+    public interface NameSink {
+        void accept(String source, int start, int end);
+    }
+
+    private NameListTokenizer() {
+    }
+
+    /**
+     * Entrega os nomes não vazios de {@code names} na ordem em que aparecem.
+     */
+    public static void tokenize(String names, NameSink sink) {
+        if (names == null) {
+            return;
+        }
+
+        int length = names.length();
+        int start = 0;
+        int i = 0;
+        while (i < length) {
+            char c = names.charAt(i);
+            if (c == ',') {
+                emit(names, start, i, sink);
+                start = ++i;
+            } else if (c == ' ' && names.startsWith(AND, i)) {
+                emit(names, start, i, sink);
+                i += AND.length();
+                start = i;
+            } else {
+                i++;
+            }
+        }
+        emit(names, start, length, sink);
+    }
+
+    /**
+     * Nomes não vazios de {@code names}, como novas strings.
+     */
+    public static List<String> split(String names) {
+        List<String> result = new ArrayList<>(4);
+        tokenize(names, (source, start, end) -> result.add(source.substring(start, end)));
+        return result;
+    }
+
+    private static void emit(String source, int start, int end, NameSink sink) {
+        while (start < end && source.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && source.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start < end) {
+            sink.accept(source, start, end);
+        }
+    }
+}
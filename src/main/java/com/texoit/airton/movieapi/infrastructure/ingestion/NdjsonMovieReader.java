@@ -0,0 +1,99 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Leitor de filmes em NDJSON (um objeto JSON por linha), lido em streaming
+ * pelo Jackson. Aceita os mesmos campos do CSV: {@code year}, {@code title},
+ * {@code studios}, {@code producers} e {@code winner}. Estúdios e produtores
+ * podem vir como texto (mesmo formato da coluna do CSV) ou como lista;
+ * {@code winner} pode ser booleano ou "yes".
+ */
+public class NdjsonMovieReader implements MovieRecordReader {
+
+    private final MappingIterator<JsonNode> values;
+    private long line;
+
+    public NdjsonMovieReader(InputStream in, ObjectMapper objectMapper) throws IOException {
+        this.values = objectMapper.readerFor(JsonNode.class).readValues(in);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return values.hasNextValue();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid NDJSON after record " + line + ": "
+                    + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public MovieCsvRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        JsonNode node;
+        try {
+            node = values.nextValue();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid NDJSON after record " + line + ": "
+                    + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        line++;
+
+        JsonNode year = node.get("year");
+        if (year == null || !year.canConvertToInt() && !year.isTextual()) {
+            throw new IllegalArgumentException("Record " + line + " has no valid year");
+        }
+        return new MovieCsvRecord(
+                year.isTextual() ? Integer.parseInt(year.asText().trim()) : year.asInt(),
+                text(node.get("title")),
+                names(node.get("studios")),
+                names(node.get("producers")),
+                winner(node.get("winner")));
+    }
+
+    @Override
+    public void close() throws IOException {
+        values.close();
+    }
+
+    private static String text(JsonNode node) {
+        return node == null || node.isNull() ? "" : node.asText();
+    }
+
+    private static String names(JsonNode node) {
+        if (node == null || !node.isArray()) {
+            return text(node);
+        }
+        StringBuilder joined = new StringBuilder();
+        for (JsonNode name : node) {
+            if (joined.length() > 0) {
+                joined.append(", ");
+            }
+            joined.append(name.asText());
+        }
+        return joined.toString();
+    }
+
+    private static boolean winner(JsonNode node) {
+        if (node != null && node.isBoolean()) {
+            return node.booleanValue();
+        }
+        return MovieCsvRecord.isWinner(text(node));
+    }
+}
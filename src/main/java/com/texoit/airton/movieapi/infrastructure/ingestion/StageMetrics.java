@@ -0,0 +1,75 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas de um estágio do pipeline de ingestão: linhas processadas, vazão e
+ * profundidade da fila de entrada. Uma fila de entrada sempre cheia indica
+ * que o estágio é o gargalo; sempre vazia, que o estágio anterior é.
+ */
+public class StageMetrics {
+
+    private final String name;
+    private final BlockingQueue<?> inputQueue;
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong chunks = new AtomicLong();
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    public StageMetrics(String name, BlockingQueue<?> inputQueue) {
+        this.name = name;
+        this.inputQueue = inputQueue;
+    }
+
+    void start() {
+        if (startNanos == 0) {
+            startNanos = System.nanoTime();
+        }
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    void record(int chunkRows) {
+        rows.addAndGet(chunkRows);
+        chunks.incrementAndGet();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQueueDepth() {
+        return inputQueue == null ? 0 : inputQueue.size();
+    }
+
+    public int getQueueCapacity() {
+        return inputQueue == null ? 0 : inputQueue.size() + inputQueue.remainingCapacity();
+    }
+
+    public long getRows() {
+        return rows.get();
+    }
+
+    public long getChunks() {
+        return chunks.get();
+    }
+
+    public double getRowsPerSecond() {
+        if (startNanos == 0) {
+            return 0;
+        }
+        long end = endNanos == 0 ? System.nanoTime() : endNanos;
+        long elapsedMillis = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(end - startNanos));
+        return rows.get() * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[rows=%d, chunks=%d, %.0f rows/s, queue=%d/%d]",
+                name, getRows(), getChunks(), getRowsPerSecond(), getQueueDepth(), getQueueCapacity());
+    }
+}
@@ -0,0 +1,218 @@
+package com.texoit.airton.movieapi.infrastructure.persistence;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.texoit.airton.movieapi.dto.MovieViewDTO;
+
+/**
+ * Leitura de filmes com nomes de estúdios e produtores direto via JDBC para
+ * {@link MovieViewDTO}, sem carregar entidades: três consultas no total
+ * (filmes, estúdios e produtores), qualquer que seja a quantidade de filmes
+ * (por bloco de {@code IN}, nas leituras parciais).
+ * Os nomes passam pelo {@code interner} informado, para que filmes do mesmo
+ * estúdio ou produtor dividam a mesma string.
+ */
+@Repository
+public class MovieViewRepository {
+
+    static final String SELECT_MOVIES = "SELECT ID_MOVIE, YEAR, TITLE, IS_WINNER FROM MOVIE ";
+    static final String SELECT_STUDIOS = "SELECT ms.MOVIE_ID_MOVIE, s.NAME FROM MOVIE_STUDIO ms "
+            + "JOIN STUDIO s ON s.ID_STUDIO = ms.STUDIO_ID_STUDIO ";
+    static final String SELECT_PRODUCERS = "SELECT mp.MOVIE_ID_MOVIE, p.NAME FROM MOVIE_PRODUCER mp "
+            + "JOIN PRODUCER p ON p.ID_PRODUCER = mp.PRODUCER_ID_PRODUCER ";
+    static final String ORDER_BY_KEY = "ORDER BY YEAR, ID_MOVIE ";
+    static final String AFTER_KEY = "WHERE YEAR >= ? AND (YEAR > ? OR ID_MOVIE > ?) ";
+
+    /** Tamanho máximo da lista IN na leitura de filmes específicos. */
+    static final int IN_CHUNK = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public MovieViewRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Todos os filmes, ordenados por ID.
+     */
+    public List<MovieViewDTO> loadAll(UnaryOperator<String> interner) {
+        flushPending();
+        Map<Long, Row> rows = new LinkedHashMap<>();
+        load(rows, "", "", "", new Object[0], interner);
+        return build(rows);
+    }
+
+    /**
+     * Só os filmes informados, ordenados por ID. Filmes inexistentes (já
+     * removidos) ficam fora da lista.
+     */
+    public List<MovieViewDTO> load(Collection<Long> movieIds, UnaryOperator<String> interner) {
+        flushPending();
+        Map<Long, Row> rows = new LinkedHashMap<>();
+        Long[] ids = new TreeSet<>(movieIds).toArray(new Long[0]);
+        for (int from = 0; from < ids.length; from += IN_CHUNK) {
+            Object[] chunk = Arrays.copyOfRange(ids, from, Math.min(ids.length, from + IN_CHUNK));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.length, "?"));
+            load(rows, "WHERE ID_MOVIE IN (" + placeholders + ") ",
+                    "WHERE ms.MOVIE_ID_MOVIE IN (" + placeholders + ") ",
+                    "WHERE mp.MOVIE_ID_MOVIE IN (" + placeholders + ") ", chunk, interner);
+        }
+        return build(rows);
+    }
+
+    /**
+     * Página de até {@code limit} filmes ordenados por {@code (ano, id)},
+     * começando logo depois da chave {@code (afterYear, afterId)} ou do
+     * início quando ela é {@code null}. A chave usa o índice
+     * {@code (YEAR, ID_MOVIE)}: o custo não depende da profundidade da
+     * página, ao contrário de um {@code OFFSET}.
+     */
+    public List<MovieViewDTO> loadPage(Integer afterYear, Long afterId, int limit, UnaryOperator<String> interner) {
+        flushPending();
+        Map<Long, Row> rows = new LinkedHashMap<>();
+        if (afterYear == null) {
+            jdbcTemplate.query(SELECT_MOVIES + ORDER_BY_KEY + "LIMIT ?", rs -> {
+                addRow(rows, rs);
+            }, limit);
+        } else {
+            // YEAR >= ? repete a condição de forma que o banco use o índice como faixa
+            jdbcTemplate.query(SELECT_MOVIES + AFTER_KEY + ORDER_BY_KEY + "LIMIT ?", rs -> {
+                addRow(rows, rs);
+            }, afterYear, afterYear, afterId, limit);
+        }
+        loadNames(rows, interner);
+        return build(rows);
+    }
+
+    /**
+     * Percorre todos os filmes em ordem {@code (ano, id)} com um cursor do
+     * banco, trazendo {@code fetchSize} linhas por vez. A cada bloco desse
+     * tamanho os nomes de estúdios e produtores são lidos com {@code IN} e
+     * os filmes entregues a {@code action}; só um bloco fica em memória.
+     * <p>
+     * Deve rodar dentro de uma transação, para que o cursor e as consultas
+     * de nomes usem a mesma conexão.
+     */
+    public void forEach(int fetchSize, Consumer<MovieViewDTO> action) {
+        flushPending();
+        Map<Long, Row> chunk = new LinkedHashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_MOVIES + ORDER_BY_KEY,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            addRow(chunk, rs);
+            if (chunk.size() >= fetchSize) {
+                emit(chunk, action);
+            }
+        });
+        emit(chunk, action);
+    }
+
+    private void emit(Map<Long, Row> chunk, Consumer<MovieViewDTO> action) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        loadNames(chunk, UnaryOperator.identity());
+        build(chunk).forEach(action);
+        chunk.clear();
+    }
+
+    private static void addRow(Map<Long, Row> rows, ResultSet rs) throws SQLException {
+        long id = rs.getLong(1);
+        rows.put(id, new Row(id, rs.getInt(2), rs.getString(3), rs.getBoolean(4)));
+    }
+
+    /** Estúdios e produtores dos filmes já lidos, com {@code IN} em blocos de {@link #IN_CHUNK}. */
+    private void loadNames(Map<Long, Row> rows, UnaryOperator<String> interner) {
+        Long[] ids = rows.keySet().toArray(new Long[0]);
+        for (int from = 0; from < ids.length; from += IN_CHUNK) {
+            Object[] chunk = Arrays.copyOfRange(ids, from, Math.min(ids.length, from + IN_CHUNK));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.length, "?"));
+            loadNames(rows, "WHERE ms.MOVIE_ID_MOVIE IN (" + placeholders + ") ",
+                    "WHERE mp.MOVIE_ID_MOVIE IN (" + placeholders + ") ", chunk, interner);
+        }
+    }
+
+    private void load(Map<Long, Row> rows, String movieFilter, String studioFilter, String producerFilter,
+            Object[] args, UnaryOperator<String> interner) {
+        jdbcTemplate.query(SELECT_MOVIES + movieFilter + "ORDER BY ID_MOVIE", rs -> {
+            addRow(rows, rs);
+        }, args);
+        loadNames(rows, studioFilter, producerFilter, args, interner);
+    }
+
+    private void loadNames(Map<Long, Row> rows, String studioFilter, String producerFilter, Object[] args,
+            UnaryOperator<String> interner) {
+        jdbcTemplate.query(SELECT_STUDIOS + studioFilter + "ORDER BY ms.MOVIE_ID_MOVIE, s.NAME", rs -> {
+            Row row = rows.get(rs.getLong(1));
+            if (row != null) {
+                row.studios.add(interner.apply(rs.getString(2)));
+            }
+        }, args);
+        jdbcTemplate.query(SELECT_PRODUCERS + producerFilter + "ORDER BY mp.MOVIE_ID_MOVIE, p.NAME", rs -> {
+            Row row = rows.get(rs.getLong(1));
+            if (row != null) {
+                row.producers.add(interner.apply(rs.getString(2)));
+            }
+        }, args);
+    }
+
+    private static List<MovieViewDTO> build(Map<Long, Row> rows) {
+        List<MovieViewDTO> views = new ArrayList<>(rows.size());
+        for (Row row : rows.values()) {
+            row.studios.trimToSize();
+            row.producers.trimToSize();
+            views.add(new MovieViewDTO(row.id, row.year, row.title, row.studios, row.producers, row.winner));
+        }
+        return views;
+    }
+
+    private void flushPending() {
+        // Alterações pendentes do ORM na transação corrente precisam estar visíveis ao JDBC
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+    }
+
+    private static final class Row {
+
+        private final long id;
+        private final int year;
+        private final String title;
+        private final boolean winner;
+        private final ArrayList<String> studios = new ArrayList<>(2);
+        private final ArrayList<String> producers = new ArrayList<>(2);
+
+        Row(long id, int year, String title, boolean winner) {
+            this.id = id;
+            this.year = year;
+            this.title = title;
+            this.winner = winner;
+        }
+    }
+}
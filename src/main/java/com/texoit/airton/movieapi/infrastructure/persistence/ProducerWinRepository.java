@@ -0,0 +1,87 @@
+package com.texoit.airton.movieapi.infrastructure.persistence;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.TreeSet;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.texoit.airton.movieapi.application.interval.ProducerWinTable;
+
+/**
+ * Leitura dos anos de vitória por produtor direto via JDBC para uma
+ * {@link ProducerWinTable}, sem carregar entidades. O nome do produtor só é
+ * lido quando o produtor muda.
+ */
+@Repository
+public class ProducerWinRepository {
+
+    static final String SELECT_WINS_FROM = "SELECT mp.PRODUCER_ID_PRODUCER, m.YEAR, p.NAME "
+            + "FROM MOVIE_PRODUCER mp "
+            + "JOIN MOVIE m ON m.ID_MOVIE = mp.MOVIE_ID_MOVIE "
+            + "JOIN PRODUCER p ON p.ID_PRODUCER = mp.PRODUCER_ID_PRODUCER "
+            + "WHERE m.IS_WINNER = TRUE ";
+    static final String ORDER_BY = "ORDER BY mp.PRODUCER_ID_PRODUCER, m.YEAR";
+    static final String SELECT_WINS = SELECT_WINS_FROM + ORDER_BY;
+
+    /** Tamanho máximo da lista IN na leitura de produtores específicos. */
+    static final int IN_CHUNK = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ProducerWinRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public ProducerWinTable loadWins() {
+        flushPending();
+        ProducerWinTable.Builder builder = ProducerWinTable.builder();
+        query(SELECT_WINS, builder, new Object[0]);
+        return builder.build();
+    }
+
+    /**
+     * Vitórias apenas dos produtores informados. Produtores sem vitórias (ou
+     * inexistentes) ficam fora da tabela.
+     */
+    public ProducerWinTable loadWins(Collection<Long> producerIds) {
+        flushPending();
+        ProducerWinTable.Builder builder = ProducerWinTable.builder();
+        Long[] ids = new TreeSet<>(producerIds).toArray(new Long[0]);
+        for (int from = 0; from < ids.length; from += IN_CHUNK) {
+            Object[] chunk = Arrays.copyOfRange(ids, from, Math.min(ids.length, from + IN_CHUNK));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.length, "?"));
+            query(SELECT_WINS_FROM + "AND mp.PRODUCER_ID_PRODUCER IN (" + placeholders + ") " + ORDER_BY,
+                    builder, chunk);
+        }
+        return builder.build();
+    }
+
+    private void query(String sql, ProducerWinTable.Builder builder, Object[] args) {
+        long[] current = { Long.MIN_VALUE };
+        jdbcTemplate.query(sql, rs -> {
+            long producerId = rs.getLong(1);
+            if (producerId != current[0]) {
+                current[0] = producerId;
+                builder.producer(producerId, rs.getString(3));
+            }
+            builder.year(rs.getInt(2));
+        }, args);
+    }
+
+    private void flushPending() {
+        // Alterações pendentes do ORM na transação corrente precisam estar visíveis ao JDBC
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.texoit.airton.movieapi.infrastructure.persistence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Aloca IDs para gravações JDBC a partir da mesma sequence usada pelo
+ * {@link PooledSequenceGenerator}. Cada {@code NEXT VALUE} obtido reserva o
+ * bloco {@code (valor - incremento, valor]}, a mesma convenção do otimizador
+ * pooled do Hibernate, então os dois caminhos nunca geram IDs repetidos.
+ * Não é thread-safe.
+ */
+public class SequenceIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String sequenceName;
+    private final long increment;
+
+    private long next;
+    private long hi;
+
+    public SequenceIdAllocator(JdbcTemplate jdbcTemplate, String sequenceName) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceName = sequenceName;
+        Long configured = jdbcTemplate.queryForObject(
+                "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?",
+                Long.class, sequenceName);
+        this.increment = configured == null ? 1L : configured;
+        this.next = 1;
+        this.hi = 0;
+    }
+
+    public long next() {
+        if (next > hi) {
+            Long value = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequenceName, Long.class);
+            hi = value;
+            next = Math.max(1L, value - increment + 1);
+        }
+        return next++;
+    }
+
+    /**
+     * Reinicia a sequence logo acima de {@code maxId}, para continuar a
+     * numeração depois de linhas gravadas com IDs explícitos.
+     */
+    public void restartAfter(long maxId) {
+        long start = Math.max(0L, maxId) + increment;
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequenceName + " RESTART WITH " + start);
+        next = 1;
+        hi = 0;
+    }
+}
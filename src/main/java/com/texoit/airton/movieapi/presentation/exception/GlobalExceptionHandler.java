@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
 import com.texoit.airton.movieapi.presentation.dto.ErrorResponse;
+import com.texoit.airton.movieapi.shared.exception.ComputationTimeoutException;
 import com.texoit.airton.movieapi.shared.exception.InvalidIntervalException;
 
 /**
@@ -102,6 +103,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errorResponse);
     }
 
+    /**
+     * Trata a espera excedida por um cálculo compartilhado em andamento
+     */
+    @ExceptionHandler(ComputationTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleComputationTimeoutException(
+            ComputationTimeoutException ex, WebRequest request) {
+
+        logger.warn("Computation timeout: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .code("COMPUTATION_TIMEOUT")
+                .message(ex.getMessage())
+                .timestamp(Instant.now())
+                .path(request.getDescription(false))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
     /**
      * Trata exceções de argumentos ilegais
      */
@@ -0,0 +1,161 @@
+package com.texoit.airton.movieapi.presentation.interceptor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Segura {@code ETag} e {@code Cache-Control} até o status da resposta ser
+ * conhecido e só os envia em respostas 2xx e no 304. O
+ * {@link DatasetEtagInterceptor} grava esses cabeçalhos antes do handler,
+ * quando ainda não se sabe se a resposta vai ser um erro; sem este filtro um
+ * 503 de timeout ou um 500 transitório levaria um ETag forte e poderia ser
+ * guardado como a resposta daquela versão.
+ * <p>
+ * Os cabeçalhos são liberados quando o corpo começa a ser escrito ou, se não
+ * houver corpo, no fim da requisição. Enquanto estão retidos continuam
+ * visíveis por {@link HttpServletResponse#getHeader(String)}.
+ */
+public class CacheHeadersFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        DeferredHeadersResponse deferred = new DeferredHeadersResponse(response);
+        chain.doFilter(request, deferred);
+        deferred.release();
+    }
+
+    static boolean isCacheable(int status) {
+        return (status >= 200 && status < 300) || status == HttpServletResponse.SC_NOT_MODIFIED;
+    }
+
+    private static final class DeferredHeadersResponse extends HttpServletResponseWrapper {
+
+        private final Map<String, String> pending = new LinkedHashMap<>();
+        private boolean released;
+
+        DeferredHeadersResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (isDeferred(name)) {
+                pending.put(key(name), value);
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (isDeferred(name)) {
+                setHeader(name, value);
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public boolean containsHeader(String name) {
+            return isDeferred(name) ? pending.containsKey(key(name)) : super.containsHeader(name);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isDeferred(name) ? pending.get(key(name)) : super.getHeader(name);
+        }
+
+        @Override
+        public Collection<String> getHeaders(String name) {
+            if (!isDeferred(name)) {
+                return super.getHeaders(name);
+            }
+            String value = pending.get(key(name));
+            return value == null ? Collections.emptyList() : Collections.singletonList(value);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            release();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            release();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            release();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int status) throws IOException {
+            discard();
+            super.sendError(status);
+        }
+
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            discard();
+            super.sendError(status, message);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            discard();
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void reset() {
+            pending.clear();
+            super.reset();
+        }
+
+        void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            if (isCacheable(getStatus())) {
+                for (Map.Entry<String, String> header : pending.entrySet()) {
+                    super.setHeader(header.getKey(), header.getValue());
+                }
+            }
+            pending.clear();
+        }
+
+        private void discard() {
+            pending.clear();
+            released = true;
+        }
+
+        private boolean isDeferred(String name) {
+            return !released
+                    && (HttpHeaders.ETAG.equalsIgnoreCase(name) || HttpHeaders.CACHE_CONTROL.equalsIgnoreCase(name));
+        }
+
+        private static String key(String name) {
+            return HttpHeaders.ETAG.equalsIgnoreCase(name) ? HttpHeaders.ETAG : HttpHeaders.CACHE_CONTROL;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.texoit.airton.movieapi.presentation.interceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.texoit.airton.movieapi.infrastructure.cache.DatasetVersion;
+import com.texoit.airton.movieapi.infrastructure.cache.MaterializedResponse;
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+
+/**
+ * ETag forte dos endpoints de leitura, derivado da {@link DatasetVersion}
+ * e da requisição (caminho, parâmetros em ordem canônica e {@code Accept}).
+ * Como a resposta de um GET depende só desses dois, um {@code If-None-Match}
+ * que casa é respondido com 304 aqui mesmo, antes de qualquer serviço ou
+ * repositório.
+ * <p>
+ * A versão é lida antes do cálculo: se a base mudar no meio da requisição,
+ * o ETag antigo deixa de casar na próxima e o cliente recebe a resposta
+ * nova. Os cabeçalhos são gravados antes do handler, quando o status ainda
+ * não é conhecido; o {@link CacheHeadersFilter} os retém e só os envia em
+ * respostas 2xx e no 304, então erros como o 503 de timeout não levam ETag.
+ * Como o {@code Accept} entra no ETag, a resposta leva {@code Vary: Accept}.
+ */
+@Component
+public class DatasetEtagInterceptor implements HandlerInterceptor {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final DatasetVersion datasetVersion;
+    private final MovieApiProperties properties;
+
+    public DatasetEtagInterceptor(DatasetVersion datasetVersion, MovieApiProperties properties) {
+        this.datasetVersion = datasetVersion;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        MovieApiProperties.Http http = properties.getHttp();
+        if (!http.isEtagEnabled() || !isRead(request)) {
+            return true;
+        }
+
+        String etag = etag(request, datasetVersion.epoch(), datasetVersion.current());
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (StringUtils.hasText(http.getCacheControl())) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, http.getCacheControl());
+        }
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (matches(ifNoneMatch, etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return false;
+        }
+        // Respostas materializadas levam um ETag próprio na variante gzip
+        String gzipEtag = MaterializedResponse.gzipEtag(etag);
+        if (MaterializedResponse.acceptsGzip(request) && matches(ifNoneMatch, gzipEtag)) {
+            response.setHeader(HttpHeaders.ETAG, gzipEtag);
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+    }
+
+    /**
+     * {@code "<época>.<versão>-<hash>"}, com o hash (FNV-1a de 64 bits) do
+     * caminho, dos parâmetros ordenados por nome e do {@code Accept}, quando
+     * houver. A época impede que outro processo (ou este, reiniciado) com a
+     * mesma versão e outra base devolva 304 para um ETag que não é seu.
+     */
+    static String etag(HttpServletRequest request, String epoch, long version) {
+        long hash = hash(FNV_OFFSET, request.getRequestURI());
+        Map<String, String[]> parameters = new TreeMap<>();
+        Enumeration<String> names = request.getParameterNames();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            parameters.put(name, request.getParameterValues(name));
+        }
+        for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+            hash = hash(hash, "&" + parameter.getKey());
+            for (String value : parameter.getValue()) {
+                hash = hash(hash, "=" + value);
+            }
+        }
+        // O mesmo endereço pode responder JSON ou NDJSON conforme o Accept
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null) {
+            hash = hash(hash, "|" + accept);
+        }
+        return "\"" + epoch + "." + version + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    private static long hash(long hash, String value) {
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Comparação fraca, como pede o {@code If-None-Match}: aceita lista,
+     * {@code *} e ETags com prefixo {@code W/}.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (!StringUtils.hasText(ifNoneMatch)) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package com.texoit.airton.movieapi.presentation.interceptor;
+
+import java.time.Instant;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+import com.texoit.airton.movieapi.infrastructure.ingestion.DatasetLoadState;
+import com.texoit.airton.movieapi.presentation.dto.ErrorResponse;
+
+/**
+ * Bloqueia os endpoints de dados até a carga da base terminar, respondendo
+ * 503 com {@code Retry-After} em vez de devolver resultados parciais.
+ */
+@Component
+public class DatasetReadinessInterceptor implements HandlerInterceptor {
+
+    private final DatasetLoadState state;
+    private final MovieApiProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public DatasetReadinessInterceptor(DatasetLoadState state, MovieApiProperties properties,
+            ObjectMapper objectMapper) {
+        this.state = state;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        if (state.isReady()) {
+            return true;
+        }
+
+        long retryAfter = properties.getIngestion().getRetryAfterSeconds();
+        long eta = state.getEtaSeconds();
+        if (eta > 0) {
+            retryAfter = Math.min(retryAfter, eta);
+        }
+
+        ErrorResponse error = ErrorResponse.builder()
+                .code("DATASET_NOT_READY")
+                .message(state.getPhase() == DatasetLoadState.Phase.FAILED
+                        ? "Dataset load failed"
+                        : "Dataset is still loading (" + state.getRowsDone() + " rows done)")
+                .timestamp(Instant.now())
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter)));
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+package com.texoit.airton.movieapi.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.texoit.airton.movieapi.entity.ImportJob;
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+	
+	List<ImportJob> findByStatusInOrderById(Collection<ImportJob.Status> statuses);
+	
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("update ImportJob job set job.status = com.texoit.airton.movieapi.entity.ImportJob$Status.RUNNING, "
+			+ "job.startedAt = :now, job.updatedAt = :now, job.rowsAtStart = job.rowsCommitted, "
+			+ "job.rowsTotal = :rowsTotal, job.readerMode = :readerMode, job.error = null where job.id = :id")
+	int markRunning(@Param("id") Long id, @Param("rowsTotal") Long rowsTotal,
+			@Param("readerMode") MovieApiProperties.Csv.ReaderMode readerMode, @Param("now") Instant now);
+	
+	/**
+	 * Checkpoint do job; deve ser chamado na transação do lote gravado.
+	 */
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("update ImportJob job set job.rowsCommitted = :rows, job.batchesCommitted = :batches, "
+			+ "job.positionCommitted = :position, job.updatedAt = :now where job.id = :id")
+	int checkpoint(@Param("id") Long id, @Param("rows") Long rows, @Param("batches") Integer batches,
+			@Param("position") Long position, @Param("now") Instant now);
+	
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("update ImportJob job set job.status = :status, job.error = :error, job.updatedAt = :now, "
+			+ "job.finishedAt = :now where job.id = :id")
+	int markFinished(@Param("id") Long id, @Param("status") ImportJob.Status status, @Param("error") String error,
+			@Param("now") Instant now);
+	
+}
@@ -10,9 +10,31 @@ import com.texoit.airton.movieapi.entity.MovieProducerId;
 
 public interface MovieProducerRepository extends JpaRepository<MovieProducer, MovieProducerId> {
 	
-	@Query(value="select mp from MovieProducer as mp join mp.movie as movie join mp.producer as producer "
+	@Query(value="select mp from MovieProducer as mp join fetch mp.movie as movie join fetch mp.producer as producer "
 			+ "where movie.winner = true order by producer.id, movie.year")
 	List<MovieProducer> findByMovieWinnerOrderByProducerId(Boolean isWinner);
 	
+	/**
+	 * Intervalos entre vitórias consecutivas calculados no banco com
+	 * {@code LAG(year)} por produtor. Devolve só as linhas empatadas no menor
+	 * ou no maior intervalo, ordenadas por produtor e ano.
+	 */
+	@Query(nativeQuery=true, value="SELECT PRODUCER AS producer, PREVIOUS_WIN AS previousWin, "
+			+ "FOLLOWING_WIN AS followingWin, INTERVAL_YEARS AS intervalYears, MIN_INTERVAL AS minInterval, "
+			+ "MAX_INTERVAL AS maxInterval FROM ("
+			+ " SELECT g.*, MIN(INTERVAL_YEARS) OVER () AS MIN_INTERVAL, MAX(INTERVAL_YEARS) OVER () AS MAX_INTERVAL FROM ("
+			+ "  SELECT PRODUCER_ID, PRODUCER, PREVIOUS_WIN, FOLLOWING_WIN, FOLLOWING_WIN - PREVIOUS_WIN AS INTERVAL_YEARS FROM ("
+			+ "   SELECT mp.PRODUCER_ID_PRODUCER AS PRODUCER_ID, p.NAME AS PRODUCER, m.YEAR AS FOLLOWING_WIN,"
+			+ "    LAG(m.YEAR) OVER (PARTITION BY mp.PRODUCER_ID_PRODUCER ORDER BY m.YEAR) AS PREVIOUS_WIN"
+			+ "   FROM MOVIE_PRODUCER mp"
+			+ "   JOIN MOVIE m ON m.ID_MOVIE = mp.MOVIE_ID_MOVIE"
+			+ "   JOIN PRODUCER p ON p.ID_PRODUCER = mp.PRODUCER_ID_PRODUCER"
+			+ "   WHERE m.IS_WINNER = TRUE"
+			+ "  ) w WHERE PREVIOUS_WIN IS NOT NULL"
+			+ " ) g"
+			+ ") t WHERE INTERVAL_YEARS = MIN_INTERVAL OR INTERVAL_YEARS = MAX_INTERVAL "
+			+ "ORDER BY PRODUCER_ID, PREVIOUS_WIN, FOLLOWING_WIN")
+	List<ProducerIntervalRow> findExtremeWinIntervals();
+	
 }
 
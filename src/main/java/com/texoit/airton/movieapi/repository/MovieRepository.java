@@ -1,16 +1,41 @@
 package com.texoit.airton.movieapi.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.texoit.airton.movieapi.dto.YearWinnerMovieDTO;
 import com.texoit.airton.movieapi.entity.Movie;
 
 public interface MovieRepository extends JpaRepository<Movie, Long> {
 	
-	List<Movie> findByYear(Integer year);
+	/**
+	 * Filmes do ano com estúdios e produtores, em uma única consulta.
+	 */
+	@EntityGraph(Movie.WITH_LINKS)
+	@QueryHints(@QueryHint(name="hibernate.query.passDistinctThrough", value="false"))
+	@Query("select distinct movie from Movie as movie where movie.year = :year")
+	List<Movie> findByYear(@Param("year") Integer year);
+	
+	/**
+	 * Filme com estúdios e produtores, em uma única consulta.
+	 */
+	@EntityGraph(Movie.WITH_LINKS)
+	@Query("select movie from Movie as movie where movie.id = :id")
+	Optional<Movie> findWithLinksById(@Param("id") Long id);
+	
+	/**
+	 * Só o indicador de vencedor, sem carregar o filme; {@code null} se o filme não existe.
+	 */
+	@Query("select movie.winner from Movie as movie where movie.id = :id")
+	Boolean findWinnerById(@Param("id") Long id);
 	
 	@Query(value="select new com.texoit.airton.movieapi.dto.YearWinnerMovieDTO(movie.year, count(movie.winner)) "
 			+ "from Movie as movie where movie.winner=true group by movie.year having count(movie.winner) > 1")
@@ -0,0 +1,20 @@
+package com.texoit.airton.movieapi.repository;
+
+/**
+ * Projeção de um intervalo entre vitórias consecutivas calculado no banco.
+ */
+public interface ProducerIntervalRow {
+	
+	String getProducer();
+	
+	Integer getPreviousWin();
+	
+	Integer getFollowingWin();
+	
+	Integer getIntervalYears();
+	
+	Integer getMinInterval();
+	
+	Integer getMaxInterval();
+	
+}
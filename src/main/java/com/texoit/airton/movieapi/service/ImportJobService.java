@@ -0,0 +1,142 @@
+package com.texoit.airton.movieapi.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.texoit.airton.movieapi.dto.ImportJobDTO;
+import com.texoit.airton.movieapi.entity.ImportJob;
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+import com.texoit.airton.movieapi.infrastructure.ingestion.ImportJobRunner;
+import com.texoit.airton.movieapi.repository.ImportJobRepository;
+
+/**
+ * Jobs de importação assíncronos. Os jobs rodam um de cada vez em uma thread
+ * dedicada; jobs que estavam na fila ou em execução quando a aplicação parou
+ * são retomados do último checkpoint na inicialização.
+ */
+@Service
+public class ImportJobService {
+	
+	Logger logger = LoggerFactory.getLogger(ImportJobService.class);
+	
+	@Autowired
+	private ImportJobRepository importJobRepository;
+	
+	@Autowired
+	private ImportJobRunner importJobRunner;
+	
+	@Autowired
+	private MovieApiProperties properties;
+	
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "import-job");
+		thread.setDaemon(true);
+		return thread;
+	});
+	
+	public ImportJobDTO submit(String path) {
+		return submit(path, null, false);
+	}
+	
+	/**
+	 * @param mode {@code append} (padrão) ou {@code delta}
+	 * @param deleteMissing no modo delta, remove os filmes que não aparecem no arquivo
+	 */
+	public ImportJobDTO submit(String path, String mode, boolean deleteMissing) {
+		Path file = resolve(path);
+		ImportJob.Mode jobMode = parseMode(mode);
+		if (deleteMissing && jobMode != ImportJob.Mode.DELTA) {
+			throw new IllegalArgumentException("deleteMissing is only supported in delta mode");
+		}
+		ImportJob newJob = new ImportJob(file.toString(), jobMode);
+		newJob.setDeleteMissing(deleteMissing);
+		ImportJob job = importJobRepository.save(newJob);
+		logger.info("Import job {} queued for {} ({})", job.getId(), file, job.getMode());
+		schedule(job.getId());
+		return new ImportJobDTO(job);
+	}
+	
+	public Optional<ImportJobDTO> findJob(Long id) {
+		return importJobRepository.findById(id).map(ImportJobDTO::new);
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void resumePendingJobs() {
+		for (ImportJob job : importJobRepository.findByStatusInOrderById(
+				Arrays.asList(ImportJob.Status.QUEUED, ImportJob.Status.RUNNING))) {
+			logger.info("Resuming import job {} from row {}", job.getId(), job.getRowsCommitted());
+			schedule(job.getId());
+		}
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+	
+	private void schedule(Long id) {
+		executor.execute(() -> importJobRunner.run(id));
+	}
+	
+	private ImportJob.Mode parseMode(String mode) {
+		if (mode == null || mode.trim().isEmpty()) {
+			return ImportJob.Mode.APPEND;
+		}
+		
+		try {
+			return ImportJob.Mode.valueOf(mode.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unknown import mode: " + mode);
+		}
+	}
+	
+	/**
+	 * Resolve o caminho pedido dentro de {@code import-directory}. Sem diretório
+	 * configurado a importação fica desabilitada; links simbólicos são seguidos
+	 * antes da verificação, então não servem para escapar do diretório.
+	 */
+	private Path resolve(String path) {
+		if (path == null || path.trim().isEmpty()) {
+			throw new IllegalArgumentException("Import path is required");
+		}
+		
+		String directory = properties.getIngestion().getImportDirectory();
+		if (directory == null || directory.trim().isEmpty()) {
+			throw new IllegalArgumentException("Imports are disabled: no import directory is configured");
+		}
+		
+		Path root;
+		Path file;
+		try {
+			root = Paths.get(directory.trim()).toRealPath();
+			file = root.resolve(path.trim()).toRealPath();
+		} catch (IOException | InvalidPathException e) {
+			throw new IllegalArgumentException("Import file not found or not readable: " + path);
+		}
+		if (!file.startsWith(root)) {
+			throw new IllegalArgumentException("Import path is outside the import directory: " + path);
+		}
+		if (!Files.isRegularFile(file) || !Files.isReadable(file)) {
+			throw new IllegalArgumentException("Import file not found or not readable: " + path);
+		}
+		return file;
+	}
+	
+
+}
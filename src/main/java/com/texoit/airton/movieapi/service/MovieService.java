@@ -1,50 +1,176 @@
 package com.texoit.airton.movieapi.service;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.texoit.airton.movieapi.dto.MovieDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.texoit.airton.movieapi.application.movie.MovieYearIndex;
+import com.texoit.airton.movieapi.application.usecase.StreamMoviesUseCase;
+import com.texoit.airton.movieapi.dto.BulkImportDTO;
+import com.texoit.airton.movieapi.dto.MoviePageDTO;
+import com.texoit.airton.movieapi.dto.MovieViewDTO;
 import com.texoit.airton.movieapi.dto.YearWinnerDTO;
 import com.texoit.airton.movieapi.dto.YearWinnerMovieDTO;
 import com.texoit.airton.movieapi.entity.Movie;
 import com.texoit.airton.movieapi.exceptions.BadRequestException;
 import com.texoit.airton.movieapi.exceptions.ResourceNotFoundException;
+import com.texoit.airton.movieapi.infrastructure.cache.MaterializedResponse;
+import com.texoit.airton.movieapi.infrastructure.cache.ResponseMaterializer;
+import com.texoit.airton.movieapi.infrastructure.cache.ResultCache;
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+import com.texoit.airton.movieapi.infrastructure.ingestion.MovieBulkImporter;
+import com.texoit.airton.movieapi.infrastructure.ingestion.MovieCsvReader;
+import com.texoit.airton.movieapi.infrastructure.ingestion.MovieRecordReader;
+import com.texoit.airton.movieapi.infrastructure.ingestion.NdjsonMovieReader;
+import com.texoit.airton.movieapi.infrastructure.persistence.MovieViewRepository;
 import com.texoit.airton.movieapi.repository.MovieRepository;
 
 @Service
 public class MovieService {
 	
+	public static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+	
+	public static final MediaType APPLICATION_NDJSON = MediaType.valueOf("application/x-ndjson");
+	
 	Logger logger = LoggerFactory.getLogger(MovieService.class);
 	
 	@Autowired
 	private MovieRepository movieRepository;
 	
+	@Autowired
+	private MovieYearIndex movieYearIndex;
+	
+	@Autowired
+	private MovieViewRepository movieViewRepository;
+	
+	@Autowired
+	private StreamMoviesUseCase streamMoviesUseCase;
+	
+	@Autowired
+	private MovieBulkImporter movieBulkImporter;
+	
+	@Autowired
+	private MovieApiProperties properties;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@Autowired
+	private ResultCache resultCache;
+	
+	@Autowired
+	private ResponseMaterializer responseMaterializer;
+	
 	public List<Movie> getMoviesFromAYear(Integer year) {
 		return movieRepository.findByYear(year);
 	}
 	
-	public List<MovieDTO> getMoviesByYear(Integer year) {
-		List<Movie> movies = movieRepository.findByYear(year);
+	/**
+	 * Filmes do ano, lidos do {@link MovieYearIndex} sem consultar o banco.
+	 */
+	public List<MovieViewDTO> getMoviesByYear(Integer year) {
+		return movieYearIndex.findByYear(year);
+	}
+	
+	/**
+	 * Filmes de vários anos em uma única consulta ao índice, agrupados por ano.
+	 * Limitado a {@code movieapi.performance.max-years-per-request} anos distintos.
+	 */
+	public Map<Integer, List<MovieViewDTO>> getMoviesByYears(List<Integer> years) {
+		if ( years == null || years.isEmpty() ) {
+			throw new IllegalArgumentException("At least one year is required");
+		}
 		
-		if (movies == null || movies.isEmpty()) {
-			return new ArrayList<>();
-		} 
+		Set<Integer> distinct = new TreeSet<>();
+		for (Integer year : years) {
+			if ( year == null ) {
+				throw new IllegalArgumentException("Years must not be empty");
+			}
+			distinct.add(year);
+		}
+		checkYearCount(distinct.size());
+		return movieYearIndex.findByYears(distinct);
+	}
+	
+	/**
+	 * Filmes de {@code from} a {@code to} (inclusivos), agrupados por ano.
+	 */
+	public Map<Integer, List<MovieViewDTO>> getMoviesByYearRange(int from, int to) {
+		if ( from > to ) {
+			throw new IllegalArgumentException("'from' (" + from + ") must not be greater than 'to' (" + to + ")");
+		}
+		checkYearCount((long) to - from + 1);
 		
-		List<MovieDTO> moviesDto = new ArrayList<>();
-		for (Movie m : movies) {
-			moviesDto.add(new MovieDTO(m));
+		List<Integer> years = new ArrayList<>(to - from + 1);
+		for (int year = from; year <= to; year++) {
+			years.add(year);
+		}
+		return movieYearIndex.findByYears(years);
+	}
+	
+	private void checkYearCount(long count) {
+		int max = properties.getPerformance().getMaxYearsPerRequest();
+		if ( count > max ) {
+			throw new IllegalArgumentException("At most " + max + " years per request are allowed, got " + count);
+		}
+	}
+	
+	/**
+	 * Página de filmes em ordem {@code (ano, id)} depois da chave
+	 * {@code (afterYear, afterId)}, ou a primeira quando ela não é
+	 * informada. Lê {@code size + 1} filmes para saber se há próxima página.
+	 */
+	public MoviePageDTO getMoviePage(Integer afterYear, Long afterId, int size) {
+		int max = properties.getPerformance().getMaxPageSize();
+		if ( size < 1 || size > max ) {
+			throw new IllegalArgumentException("'size' must be between 1 and " + max + ", got " + size);
+		}
+		if ( (afterYear == null) != (afterId == null) ) {
+			throw new IllegalArgumentException("'afterYear' and 'afterId' must be given together");
 		}
 		
-		return moviesDto;		
+		List<MovieViewDTO> movies = movieViewRepository.loadPage(afterYear, afterId, size + 1, name -> name);
+		if ( movies.size() <= size ) {
+			return new MoviePageDTO(size, false, null, null, movies);
+		}
+		List<MovieViewDTO> page = movies.subList(0, size);
+		MovieViewDTO last = page.get(size - 1);
+		return new MoviePageDTO(size, true, last.getYear(), last.getId(), page);
+	}
+	
+	/**
+	 * Todos os filmes em NDJSON, lidos por cursor enquanto são escritos.
+	 */
+	public StreamingResponseBody streamMovies() {
+		return streamMoviesUseCase.execute();
 	}
 	
 	public YearWinnerDTO getYearsWithMoreThanOneWinners() {
+		return resultCache.get(ResultCache.MOVIE_YEARS, "all", this::findYearsWithMoreThanOneWinners);
+	}
+	
+	/**
+	 * {@link #getYearsWithMoreThanOneWinners()} já serializado para a versão atual da base.
+	 */
+	public MaterializedResponse getYearsWithMoreThanOneWinnersResponse() {
+		return responseMaterializer.get(ResponseMaterializer.MOVIE_YEARS, this::getYearsWithMoreThanOneWinners,
+				dto -> dto.getYears().isEmpty());
+	}
+	
+	private YearWinnerDTO findYearsWithMoreThanOneWinners() {
 		List<YearWinnerMovieDTO> years = movieRepository.findYearsWithModeThanOneWinner();
 		if (years == null || years.isEmpty()) {
 			return new YearWinnerDTO();
@@ -52,19 +178,37 @@ public class MovieService {
 		return new YearWinnerDTO(years);
 	}
 
+	/**
+	 * Remove um filme não vencedor. O indicador de vencedor é lido sem
+	 * carregar o filme; só o filme removido é lido, já com os vínculos.
+	 */
+	@Transactional
 	public void remove(Long id) {
-		Optional<Movie> optional = movieRepository.findById(id);
+		Boolean winner = movieRepository.findWinnerById(id);
 		
-		if ( !optional.isPresent() ) {
+		if ( winner == null ) {
 			throw new ResourceNotFoundException();
 		}
 		
-		Movie movie = optional.get();
-		if ( movie.getWinner() ) {
+		if ( winner ) {
 			throw new BadRequestException();
 		}
 		
-		movieRepository.delete(movie);
+		movieRepository.findWithLinksById(id).ifPresent(movieRepository::delete);
+	}
+	
+	/**
+	 * Importa filmes em streaming a partir de um corpo CSV (mesmo cabeçalho do
+	 * movielist.csv) ou NDJSON, gravando em lotes de movieapi.csv.batch-size.
+	 */
+	public BulkImportDTO bulkImport(InputStream body, MediaType contentType) throws IOException {
+		MovieRecordReader reader;
+		if ( APPLICATION_NDJSON.isCompatibleWith(contentType) ) {
+			reader = new NdjsonMovieReader(body, objectMapper);
+		} else {
+			reader = new MovieCsvReader(body, properties.getCsv());
+		}
+		return new BulkImportDTO(movieBulkImporter.importRecords(reader));
 	}
 	
 }
@@ -1,21 +1,29 @@
 package com.texoit.airton.movieapi.service;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Example;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.texoit.airton.movieapi.application.interval.IntervalFilter;
+import com.texoit.airton.movieapi.application.usecase.CalculateProducerIntervalsUseCase;
+import com.texoit.airton.movieapi.application.usecase.RankProducerIntervalsUseCase;
+import com.texoit.airton.movieapi.application.usecase.StreamProducerIntervalsUseCase;
+import com.texoit.airton.movieapi.dto.ProducerIntervalRankingDTO;
 import com.texoit.airton.movieapi.dto.ProducerMinMaxPrizesDTO;
 import com.texoit.airton.movieapi.dto.ProducerPrizesDTO;
 import com.texoit.airton.movieapi.entity.Movie;
 import com.texoit.airton.movieapi.entity.MovieProducer;
 import com.texoit.airton.movieapi.entity.Producer;
+import com.texoit.airton.movieapi.infrastructure.cache.MaterializedResponse;
+import com.texoit.airton.movieapi.infrastructure.cache.ResponseMaterializer;
+import com.texoit.airton.movieapi.infrastructure.cache.ResultCache;
+import com.texoit.airton.movieapi.infrastructure.ingestion.NameDictionary;
+import com.texoit.airton.movieapi.infrastructure.ingestion.NameListTokenizer;
 import com.texoit.airton.movieapi.repository.MovieProducerRepository;
 import com.texoit.airton.movieapi.repository.ProducerRepository;
 
@@ -30,124 +38,82 @@ public class ProducerService {
 	@Autowired
 	private MovieProducerRepository movieProducerRepository;
 
-	public void saveProducers(Movie movie, String producers) {
-		for (String strProducer : producers.split(",|\\ and ")) {
-			Producer producer = new Producer(strProducer.trim());
-
-			Example<Producer> example = Example.of(producer);
-
-			if (producerRepository.exists(example)) {
-				producer = producerRepository.findByName(strProducer.trim());
-			} else {
-				producer = producerRepository.save(producer);
-			}
-
-			movieProducerRepository.save(new MovieProducer(movie, producer));
-		}
-	}
-
-	public ProducerMinMaxPrizesDTO getMaxAndMinPrizes() {
-		List<MovieProducer> mpList = movieProducerRepository.findByMovieWinnerOrderByProducerId(true);
-
-		// Calcular todos os intervalos consecutivos
-		List<ProducerPrizesDTO> allIntervals = calculateAllConsecutiveIntervals(mpList);
-
-		// Encontrar todos os produtores com intervalo mínimo e máximo
-		List<ProducerPrizesDTO> minIntervals = findAllMinIntervals(allIntervals);
-		List<ProducerPrizesDTO> maxIntervals = findAllMaxIntervals(allIntervals);
+	@Autowired
+	private CalculateProducerIntervalsUseCase calculateProducerIntervalsUseCase;
 
-		ProducerMinMaxPrizesDTO dto = new ProducerMinMaxPrizesDTO();
+	@Autowired
+	private RankProducerIntervalsUseCase rankProducerIntervalsUseCase;
 
-		// Adicionar todos os intervalos mínimos
-		for (ProducerPrizesDTO minInterval : minIntervals) {
-			dto.addMin(minInterval);
-		}
+	@Autowired
+	private StreamProducerIntervalsUseCase streamProducerIntervalsUseCase;
 
-		// Adicionar todos os intervalos máximos
-		for (ProducerPrizesDTO maxInterval : maxIntervals) {
-			dto.addMax(maxInterval);
-		}
+	@Autowired
+	private ResultCache resultCache;
+	
+	@Autowired
+	private ResponseMaterializer responseMaterializer;
 
-		return dto;
+	public void saveProducers(Movie movie, String producers) {
+		saveProducers(movie, producers, new NameDictionary());
 	}
-
-	private List<ProducerPrizesDTO> calculateAllConsecutiveIntervals(List<MovieProducer> mpList) {
-		List<ProducerPrizesDTO> intervals = new ArrayList<>();
-
-		// Agrupar filmes por produtor
-		Map<String, List<Integer>> producerYears = new HashMap<>();
-
-		for (MovieProducer mp : mpList) {
-			String producerName = mp.getProducer().getName();
-			Integer year = mp.getMovie().getYear();
-
-			producerYears.computeIfAbsent(producerName, k -> new ArrayList<>()).add(year);
-		}
-
-		// Calcular intervalos consecutivos para cada produtor
-		for (Map.Entry<String, List<Integer>> entry : producerYears.entrySet()) {
-			String producerName = entry.getKey();
-			List<Integer> years = entry.getValue();
-
-			// Ordenar anos
-			years.sort(Integer::compareTo);
-
-			// Calcular intervalos consecutivos
-			for (int i = 0; i < years.size() - 1; i++) {
-				Integer previousWin = years.get(i);
-				Integer followingWin = years.get(i + 1);
-				Integer interval = followingWin - previousWin;
-
-				intervals.add(new ProducerPrizesDTO(producerName, interval, previousWin, followingWin));
+	
+	/**
+	 * Vincula os produtores ao filme. {@code names} é o dicionário da carga: cada
+	 * produtor distinto é consultado no banco uma única vez, e os nomes já vistos
+	 * são resolvidos sem criar novas strings.
+	 */
+	public void saveProducers(Movie movie, String producers, NameDictionary names) {
+		NameListTokenizer.tokenize(producers, (source, start, end) -> {
+			long id = names.get(source, start, end);
+			if (id == NameDictionary.ABSENT) {
+				String name = source.substring(start, end);
+				id = names.putIfAbsent(name, resolveProducer(name));
 			}
-		}
-
-		return intervals;
+			
+			movieProducerRepository.save(new MovieProducer(movie, producerRepository.getOne(id)));
+		});
 	}
-
-	private List<ProducerPrizesDTO> findAllMinIntervals(List<ProducerPrizesDTO> intervals) {
-		List<ProducerPrizesDTO> minIntervals = new ArrayList<>();
-
-		if (intervals.isEmpty()) {
-			return minIntervals;
+	
+	private long resolveProducer(String name) {
+		Producer producer = producerRepository.findByName(name);
+		if (producer == null) {
+			producer = producerRepository.save(new Producer(name));
 		}
-
-		// Encontrar o menor intervalo
-		Integer minInterval = intervals.stream()
-				.mapToInt(ProducerPrizesDTO::getInterval)
-				.min()
-				.orElse(Integer.MAX_VALUE);
-
-		// Adicionar todos os produtores com o menor intervalo
-		for (ProducerPrizesDTO interval : intervals) {
-			if (interval.getInterval().equals(minInterval)) {
-				minIntervals.add(interval);
-			}
-		}
-
-		return minIntervals;
+		return producer.getId();
 	}
 
-	private List<ProducerPrizesDTO> findAllMaxIntervals(List<ProducerPrizesDTO> intervals) {
-		List<ProducerPrizesDTO> maxIntervals = new ArrayList<>();
-
-		if (intervals.isEmpty()) {
-			return maxIntervals;
-		}
-
-		// Encontrar o maior intervalo
-		Integer maxInterval = intervals.stream()
-				.mapToInt(ProducerPrizesDTO::getInterval)
-				.max()
-				.orElse(Integer.MIN_VALUE);
-
-		// Adicionar todos os produtores com o maior intervalo
-		for (ProducerPrizesDTO interval : intervals) {
-			if (interval.getInterval().equals(maxInterval)) {
-				maxIntervals.add(interval);
-			}
-		}
-
-		return maxIntervals;
+	public ProducerMinMaxPrizesDTO getMaxAndMinPrizes() {
+		return getMaxAndMinPrizes(IntervalFilter.none());
+	}
+	
+	/**
+	 * Resultado sem filtros já serializado para a versão atual da base.
+	 */
+	public MaterializedResponse getMaxAndMinPrizesResponse() {
+		return responseMaterializer.get(ResponseMaterializer.PRODUCER_INTERVALS, this::getMaxAndMinPrizes,
+				dto -> dto.getMax().isEmpty() && dto.getMin().isEmpty());
+	}
+	
+	public ProducerMinMaxPrizesDTO getMaxAndMinPrizes(Integer from, Integer to, List<String> producers) {
+		return getMaxAndMinPrizes(IntervalFilter.of(from, to, producers));
+	}
+	
+	private ProducerMinMaxPrizesDTO getMaxAndMinPrizes(IntervalFilter filter) {
+		return resultCache.get(ResultCache.PRODUCER_INTERVALS, filter,
+				() -> calculateProducerIntervalsUseCase.execute(filter));
+	}
+	
+	public List<ProducerPrizesDTO> getTopIntervals(String order, int k) {
+		return resultCache.get(ResultCache.PRODUCER_RANKING, Arrays.asList("top", order, k),
+				() -> rankProducerIntervalsUseCase.top(order, k));
+	}
+	
+	public ProducerIntervalRankingDTO getIntervalRanking(String order, int page, int size) {
+		return resultCache.get(ResultCache.PRODUCER_RANKING, Arrays.asList("page", order, page, size),
+				() -> rankProducerIntervalsUseCase.page(order, page, size));
+	}
+	
+	public StreamingResponseBody streamIntervals(Boolean includeNonConsecutive) {
+		return streamProducerIntervalsUseCase.execute(includeNonConsecutive);
 	}
 }
@@ -3,13 +3,17 @@ package com.texoit.airton.movieapi.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Example;
 import org.springframework.stereotype.Service;
 
 import com.texoit.airton.movieapi.dto.StudioDTO;
 import com.texoit.airton.movieapi.entity.Movie;
 import com.texoit.airton.movieapi.entity.MovieStudio;
 import com.texoit.airton.movieapi.entity.Studio;
+import com.texoit.airton.movieapi.infrastructure.cache.MaterializedResponse;
+import com.texoit.airton.movieapi.infrastructure.cache.ResponseMaterializer;
+import com.texoit.airton.movieapi.infrastructure.cache.ResultCache;
+import com.texoit.airton.movieapi.infrastructure.ingestion.NameDictionary;
+import com.texoit.airton.movieapi.infrastructure.ingestion.NameListTokenizer;
 import com.texoit.airton.movieapi.repository.MovieStudioRepository;
 import com.texoit.airton.movieapi.repository.StudioRepository;
 
@@ -24,24 +28,52 @@ public class StudioService {
 	@Autowired
 	private MovieStudioRepository movieStudioRepository;
 	
-	public void saveStudios(Movie movie, String studios) {
-		for (String strStudio : studios.split(",|\\ and ")) {
-			Studio studio = new Studio(strStudio.trim());
-
-			Example<Studio> example = Example.of(studio); 
+	@Autowired
+	private ResultCache resultCache;
+	
+	@Autowired
+	private ResponseMaterializer responseMaterializer;
 
-			if (studioRepository.exists(example)) {
-				studio = studioRepository.findByName(strStudio.trim());
-			} else {
-				studio = studioRepository.save(studio);
+	public void saveStudios(Movie movie, String studios) {
+		saveStudios(movie, studios, new NameDictionary());
+	}
+	
+	/**
+	 * Vincula os estúdios ao filme. {@code names} é o dicionário da carga: cada
+	 * estúdio distinto é consultado no banco uma única vez, e os nomes já vistos
+	 * são resolvidos sem criar novas strings.
+	 */
+	public void saveStudios(Movie movie, String studios, NameDictionary names) {
+		NameListTokenizer.tokenize(studios, (source, start, end) -> {
+			long id = names.get(source, start, end);
+			if (id == NameDictionary.ABSENT) {
+				String name = source.substring(start, end);
+				id = names.putIfAbsent(name, resolveStudio(name));
 			}
-
-			movieStudioRepository.save(new MovieStudio(movie, studio));
+			
+			movieStudioRepository.save(new MovieStudio(movie, studioRepository.getOne(id)));
+		});
+	}
+	
+	private long resolveStudio(String name) {
+		Studio studio = studioRepository.findByName(name);
+		if (studio == null) {
+			studio = studioRepository.save(new Studio(name));
 		}
+		return studio.getId();
 	}
 	
 	public StudioDTO getGreatestWinners() {
-		return new StudioDTO(studioRepository.findByWinners());
+		return resultCache.get(ResultCache.STUDIO_WINNERS, "all",
+				() -> new StudioDTO(studioRepository.findByWinners()));
+	}
+	
+	/**
+	 * {@link #getGreatestWinners()} já serializado para a versão atual da base.
+	 */
+	public MaterializedResponse getGreatestWinnersResponse() {
+		return responseMaterializer.get(ResponseMaterializer.STUDIO_WINNERS, this::getGreatestWinners,
+				dto -> dto.getStudios() == null || dto.getStudios().isEmpty());
 	}
 
 }
@@ -0,0 +1,18 @@
+package com.texoit.airton.movieapi.shared.exception;
+
+/**
+ * Exception lançada quando a espera por um cálculo em andamento, iniciado
+ * por outra requisição, passa do tempo limite.
+ */
+public class ComputationTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ComputationTimeoutException(String message) {
+        super(message);
+    }
+
+    public ComputationTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,267 @@
+package com.texoit.airton.movieapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.hamcrest.CoreMatchers;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.texoit.airton.movieapi.entity.ImportJob;
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+import com.texoit.airton.movieapi.infrastructure.ingestion.ImportJobRunner;
+import com.texoit.airton.movieapi.repository.ImportJobRepository;
+
+/**
+ * Testes de integração dos jobs de importação: execução assíncrona,
+ * acompanhamento por /import/jobs/{id} e retomada a partir do checkpoint.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@WebAppConfiguration
+public class ImportJobIntegrationTest {
+
+    private static final String HEADER = "year;title;studios;producers;winner\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    protected WebApplicationContext wac;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ImportJobRunner importJobRunner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MovieApiProperties properties;
+
+    private String importDirectory;
+
+    @Before
+    public void setup() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(wac).build();
+        importDirectory = properties.getIngestion().getImportDirectory();
+        properties.getIngestion().setImportDirectory(folder.getRoot().getAbsolutePath());
+    }
+
+    @After
+    public void cleanup() {
+        properties.getIngestion().setImportDirectory(importDirectory);
+        jdbcTemplate.update("DELETE FROM MOVIE_PRODUCER WHERE MOVIE_ID_MOVIE IN "
+                + "(SELECT ID_MOVIE FROM MOVIE WHERE TITLE LIKE 'Job Movie%')");
+        jdbcTemplate.update("DELETE FROM MOVIE_STUDIO WHERE MOVIE_ID_MOVIE IN "
+                + "(SELECT ID_MOVIE FROM MOVIE WHERE TITLE LIKE 'Job Movie%')");
+        jdbcTemplate.update("DELETE FROM MOVIE WHERE TITLE LIKE 'Job Movie%'");
+        jdbcTemplate.update("DELETE FROM PRODUCER WHERE NAME LIKE 'Job Producer%'");
+        jdbcTemplate.update("DELETE FROM STUDIO WHERE NAME LIKE 'Job Studio%'");
+        importJobRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldRunSubmittedJobAndReportProgress() throws Exception {
+        // Given
+        Path file = write("jobs.csv", 5);
+
+        // When
+        String location = mockMvc.perform(MockMvcRequestBuilders.post("/import/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"path\": \"" + file.toString().replace("\\", "\\\\") + "\"}"))
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(header().string("Location", CoreMatchers.containsString("/import/jobs/")))
+                .andReturn().getResponse().getHeader("Location");
+        Long id = Long.valueOf(location.substring(location.lastIndexOf('/') + 1));
+        awaitFinished(id);
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/import/jobs/" + id))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.rowsProcessed").value(5))
+                .andExpect(jsonPath("$.rowsTotal").value(5))
+                .andExpect(jsonPath("$.batchesCommitted").value(1));
+        assertEquals(Integer.valueOf(5), countJobMovies());
+    }
+
+    @Test
+    public void shouldResumeFromCheckpoint() throws Exception {
+        // Given: job interrompido após confirmar os 3 primeiros registros
+        Path file = write("resume.csv", 8);
+        ImportJob job = new ImportJob(file.toString());
+        job.setStatus(ImportJob.Status.RUNNING);
+        job.setRowsCommitted(3L);
+        job.setBatchesCommitted(1);
+        job = importJobRepository.save(job);
+
+        // When
+        importJobRunner.run(job.getId());
+
+        // Then
+        ImportJob finished = importJobRepository.findById(job.getId()).get();
+        assertEquals(ImportJob.Status.COMPLETED, finished.getStatus());
+        assertEquals(Long.valueOf(8), finished.getRowsCommitted());
+        assertEquals(Integer.valueOf(2), finished.getBatchesCommitted());
+        assertEquals(Integer.valueOf(5), countJobMovies());
+        assertEquals(Integer.valueOf(0), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM MOVIE WHERE TITLE IN ('Job Movie 0', 'Job Movie 1', 'Job Movie 2')",
+                Integer.class));
+    }
+
+    @Test
+    public void shouldResumeFromCommittedPositionWithoutRereading() throws Exception {
+        for (MovieApiProperties.Csv.ReaderMode mode : MovieApiProperties.Csv.ReaderMode.values()) {
+            // Given: os registros já confirmados são inválidos, então só passa quem pular direto para a posição
+            String committed = HEADER + "x;Job Movie x;Job Studio;Job Producer 0;\n"
+                    + "y;Job Movie y;Job Studio;Job Producer 1;\n";
+            StringBuilder content = new StringBuilder(committed);
+            for (int i = 0; i < 4; i++) {
+                content.append(1920 + i).append(";Job Movie ").append(i).append(";Job Studio;Job Producer ")
+                        .append(i % 2).append(";\n");
+            }
+            Path file = folder.newFile("position-" + mode + ".csv").toPath();
+            Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+            ImportJob job = new ImportJob(file.toString());
+            job.setStatus(ImportJob.Status.RUNNING);
+            job.setRowsCommitted(2L);
+            job.setBatchesCommitted(1);
+            job.setPositionCommitted((long) committed.length());
+            job.setReaderMode(mode);
+            job = importJobRepository.save(job);
+
+            // When
+            importJobRunner.run(job.getId());
+
+            // Then
+            ImportJob finished = importJobRepository.findById(job.getId()).get();
+            assertEquals(mode.name(), ImportJob.Status.COMPLETED, finished.getStatus());
+            assertEquals(Long.valueOf(6), finished.getRowsCommitted());
+            assertEquals(Long.valueOf(content.length()), finished.getPositionCommitted());
+            assertEquals(Integer.valueOf(4), countJobMovies());
+            cleanup();
+        }
+    }
+
+    @Test
+    public void shouldReportFailedRecordWithoutFileContent() throws Exception {
+        // Given: o quarto registro tem um ano inválido
+        Path file = folder.newFile("invalid.csv").toPath();
+        Files.write(file, (HEADER + "1910;Job Movie 0;Job Studio;Job Producer 0;\n"
+                + "1911;Job Movie 1;Job Studio;Job Producer 1;\n"
+                + "1912;Job Movie 2;Job Studio;Job Producer 0;\n"
+                + "secret-value;Job Movie 3;Job Studio;Job Producer 1;\n").getBytes(StandardCharsets.UTF_8));
+        ImportJob job = importJobRepository.save(new ImportJob(file.toString()));
+
+        // When
+        importJobRunner.run(job.getId());
+
+        // Then
+        ImportJob failed = importJobRepository.findById(job.getId()).get();
+        assertEquals(ImportJob.Status.FAILED, failed.getStatus());
+        assertEquals("INVALID_RECORD at record 4", failed.getError());
+    }
+
+    @Test
+    public void shouldRejectMissingFile() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/import/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"path\": \"/does/not/exist.csv\"}"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void shouldRejectPathOutsideImportDirectory() throws Exception {
+        // Given: um arquivo fora do diretório e um link dentro dele apontando para fora
+        Path outside = Files.createTempFile("outside", ".csv");
+        try {
+            Path link = folder.getRoot().toPath().resolve("link.csv");
+            Files.createSymbolicLink(link, outside);
+
+            // When / Then
+            submit(outside.toString()).andExpect(MockMvcResultMatchers.status().isBadRequest());
+            submit(link.toString()).andExpect(MockMvcResultMatchers.status().isBadRequest());
+            submit(folder.getRoot() + "/../" + outside.getFileName())
+                    .andExpect(MockMvcResultMatchers.status().isBadRequest());
+            assertEquals(0, importJobRepository.count());
+        } finally {
+            Files.deleteIfExists(outside);
+        }
+    }
+
+    @Test
+    public void shouldRejectJobsWithoutImportDirectory() throws Exception {
+        // Given
+        Path file = write("disabled.csv", 1);
+        properties.getIngestion().setImportDirectory(null);
+
+        // When / Then
+        submit(file.toString()).andExpect(MockMvcResultMatchers.status().isBadRequest());
+        assertEquals(0, importJobRepository.count());
+    }
+
+    @Test
+    public void shouldReturnNotFoundForUnknownJob() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/import/jobs/999999"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    private ResultActions submit(String path) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.post("/import/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"path\": \"" + path.replace("\\", "\\\\") + "\"}"));
+    }
+
+    private Path write(String name, int rows) throws Exception {
+        StringBuilder content = new StringBuilder(HEADER);
+        for (int i = 0; i < rows; i++) {
+            content.append(1910 + i).append(";Job Movie ").append(i).append(";Job Studio;Job Producer ")
+                    .append(i % 2).append(";\n");
+        }
+        Path file = folder.newFile(name).toPath();
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private void awaitFinished(Long id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            ImportJob.Status status = importJobRepository.findById(id).get().getStatus();
+            if (status == ImportJob.Status.COMPLETED || status == ImportJob.Status.FAILED) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private Integer countJobMovies() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM MOVIE WHERE TITLE LIKE 'Job Movie%'", Integer.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.texoit.airton.movieapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Testes de integração do POST /movie/bulk.
+ * Os lotes participam da transação do teste e são desfeitos ao final.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@WebAppConfiguration
+@Transactional
+public class MovieBulkImportIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    protected WebApplicationContext wac;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setup() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(wac).build();
+    }
+
+    @Test
+    public void shouldImportCsvBody() throws Exception {
+        String body = "year;title;studios;producers;winner\n"
+                + "1901;Bulk Movie A;Bulk Studio;Bulk Producer A and Bulk Producer B;\n"
+                + "1901;Bulk Movie B;Bulk Studio, Other Bulk Studio;Bulk Producer A;\n"
+                + "1902;Bulk Movie C;Bulk Studio;Bulk Producer C;\n";
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/movie/bulk").contentType("text/csv").content(body))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.movies").value(3))
+                .andExpect(jsonPath("$.studios").value(2))
+                .andExpect(jsonPath("$.producers").value(3))
+                .andExpect(jsonPath("$.batches.length()").value(1))
+                .andExpect(jsonPath("$.batches[0].batch").value(1))
+                .andExpect(jsonPath("$.batches[0].movies").value(3))
+                .andExpect(jsonPath("$.batches[0].links").value(8));
+
+        assertEquals(Integer.valueOf(2), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM MOVIE WHERE YEAR = 1901", Integer.class));
+    }
+
+    @Test
+    public void shouldImportNdjsonBody() throws Exception {
+        String body = "{\"year\": 1903, \"title\": \"Bulk Movie D\", \"studios\": [\"Bulk Studio\"],"
+                + " \"producers\": \"Bulk Producer D\", \"winner\": false}\n"
+                + "{\"year\": \"1904\", \"title\": \"Bulk Movie E\", \"studios\": \"Bulk Studio\","
+                + " \"producers\": [\"Bulk Producer D\", \"Bulk Producer E\"], \"winner\": \"no\"}\n";
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/movie/bulk").contentType("application/x-ndjson").content(body))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.movies").value(2))
+                .andExpect(jsonPath("$.producers").value(2))
+                .andExpect(jsonPath("$.links").value(5));
+    }
+
+    @Test
+    public void shouldRejectInvalidRecord() throws Exception {
+        String body = "year;title;studios;producers;winner\n"
+                + "nineteen;Bulk Movie F;Bulk Studio;Bulk Producer F;\n";
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/movie/bulk").contentType("text/csv").content(body))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("ILLEGAL_ARGUMENT"));
+    }
+}
@@ -4,8 +4,13 @@ package com.texoit.airton.movieapi;
 
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -15,11 +20,15 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.texoit.airton.movieapi.controller.MovieController;
 
 @RunWith(SpringRunner.class)
@@ -32,6 +41,9 @@ public class MovieControllerIntegrationTest {
 	@Autowired
 	private MovieController movieController;
 	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
     @Autowired
     protected WebApplicationContext wac;
 	
@@ -48,6 +60,119 @@ public class MovieControllerIntegrationTest {
             .andExpect( jsonPath("$.*.title", hasItem( is("The Emoji Movie"))));
     }
     
+    @Test
+    public void getMoviesByYearFromIndexTest() throws Exception {
+        mockMvc.perform( MockMvcRequestBuilders.get("/movie/2015").contentType(MediaType.APPLICATION_JSON))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect( jsonPath("$[0].title").value("Fantastic Four") )
+            .andExpect( jsonPath("$[0].year").value(2015) )
+            .andExpect( jsonPath("$[0].winner").value(true) )
+            .andExpect( jsonPath("$[0].studios[0]").value("20th Century Fox") )
+            .andExpect( jsonPath("$[0].producers.length()").value(5) )
+            .andExpect( jsonPath("$[0].producers", hasItem( is("Matthew Vaughn"))) );
+    }
+    
+    @Test
+    public void getMoviesByYearsTest() throws Exception {
+        mockMvc.perform( MockMvcRequestBuilders.get("/movie").param("years", "2003,1980,2003,1999"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect( jsonPath("$.length()").value(2) )
+            .andExpect( jsonPath("$.1980[0].title").value("Test 1") )
+            .andExpect( jsonPath("$.2003[0].title").value("Test 2") );
+    }
+    
+    @Test
+    public void getMoviesByYearRangeTest() throws Exception {
+        mockMvc.perform( MockMvcRequestBuilders.get("/movie").param("from", "2000").param("to", "2020"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect( jsonPath("$.length()").value(3) )
+            .andExpect( jsonPath("$.2002[0].title").value("Swept Away") )
+            .andExpect( jsonPath("$.2015[0].producers.length()").value(5) );
+        
+        mockMvc.perform( MockMvcRequestBuilders.get("/movie").param("from", "2020").param("to", "2000"))
+            .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        
+        // Acima de movieapi.performance.max-years-per-request
+        mockMvc.perform( MockMvcRequestBuilders.get("/movie").param("from", "1900").param("to", "2100"))
+            .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+    
+    /**
+     * Percorre a listagem página a página pela chave (ano, id) devolvida em
+     * cada resposta: a ordem é estritamente crescente e nenhum filme se repete.
+     */
+    @Test
+    public void getMoviePagesByKeysetTest() throws Exception {
+        mockMvc.perform( MockMvcRequestBuilders.get("/movie").param("size", "3"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect( jsonPath("$.movies.length()").value(3) )
+            .andExpect( jsonPath("$.hasNext").value(true) )
+            .andExpect( jsonPath("$.movies[0].title").value("Test 1") );
+        
+        List<String> keys = new ArrayList<>();
+        String afterYear = null;
+        String afterId = null;
+        boolean hasNext = true;
+        while ( hasNext ) {
+            MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/movie").param("size", "3");
+            if ( afterYear != null ) {
+                request.param("afterYear", afterYear).param("afterId", afterId);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString());
+            long previousYear = keys.isEmpty() ? Long.MIN_VALUE : Long.parseLong(afterYear);
+            long previousId = keys.isEmpty() ? Long.MIN_VALUE : Long.parseLong(afterId);
+            for (JsonNode movie : page.get("movies")) {
+                long year = movie.get("year").asLong();
+                long id = movie.get("id").asLong();
+                assertTrue( year > previousYear || (year == previousYear && id > previousId) );
+                previousYear = year;
+                previousId = id;
+                keys.add(year + "-" + id);
+            }
+            hasNext = page.get("hasNext").asBoolean();
+            afterYear = page.get("nextAfterYear").asText();
+            afterId = page.get("nextAfterId").asText();
+        }
+        assertTrue( keys.size() >= 7 );
+        
+        // Chave incompleta ou tamanho acima de movieapi.performance.max-page-size
+        mockMvc.perform( MockMvcRequestBuilders.get("/movie").param("afterYear", "1990"))
+            .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform( MockMvcRequestBuilders.get("/movie").param("size", "100000"))
+            .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+    
+    /**
+     * A variante NDJSON escreve um filme por linha, na mesma ordem das páginas.
+     */
+    @Test
+    public void streamMoviesAsNdjsonTest() throws Exception {
+        MvcResult started = mockMvc.perform( MockMvcRequestBuilders.get("/movie")
+                .accept("application/x-ndjson"))
+            .andExpect(MockMvcResultMatchers.request().asyncStarted())
+            .andReturn();
+        String body = mockMvc.perform( MockMvcRequestBuilders.asyncDispatch(started))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andReturn().getResponse().getContentAsString();
+        
+        String[] lines = body.split("\n");
+        assertTrue( body.endsWith("\n") );
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals( "Test 1", first.get("title").asText() );
+        assertEquals( 1980, first.get("year").asInt() );
+        
+        JsonNode page = objectMapper.readTree(mockMvc.perform( MockMvcRequestBuilders.get("/movie")
+                .param("size", String.valueOf(lines.length)))
+            .andReturn().getResponse().getContentAsString());
+        assertEquals( false, page.get("hasNext").asBoolean() );
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals( page.get("movies").get(i), objectMapper.readTree(lines[i]) );
+        }
+    }
+    
     @Test
     public void getYearsWithMoreThanOneWinnersTest() throws Exception {
         mockMvc.perform( MockMvcRequestBuilders.get("/movie/years").contentType(MediaType.APPLICATION_JSON))
@@ -3,7 +3,12 @@ package com.texoit.airton.movieapi;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
+import com.texoit.airton.movieapi.infrastructure.ingestion.DatasetSnapshotStoreTest;
+import com.texoit.airton.movieapi.infrastructure.ingestion.MovieBulkWriterTest;
+import com.texoit.airton.movieapi.infrastructure.ingestion.MovieDeltaImporterTest;
+import com.texoit.airton.movieapi.infrastructure.persistence.BatchInsertStatementCountTest;
 import com.texoit.airton.movieapi.infrastructure.persistence.MovieProducerRepositoryTest;
+import com.texoit.airton.movieapi.infrastructure.persistence.MovieReadQueryCountTest;
 
 /**
  * Suite completa de testes de integração.
@@ -16,11 +21,18 @@ import com.texoit.airton.movieapi.infrastructure.persistence.MovieProducerReposi
 @Suite.SuiteClasses({
         // 🔧 Infrastructure Layer Tests (Integration Tests)
         MovieProducerRepositoryTest.class,
+        BatchInsertStatementCountTest.class,
+        MovieReadQueryCountTest.class,
+        MovieBulkWriterTest.class,
+        DatasetSnapshotStoreTest.class,
+        MovieDeltaImporterTest.class,
 
         // 🌐 Presentation Layer Tests (Integration Tests)
         MovieControllerIntegrationTest.class,
         ProducerControllerIntegrationTest.class,
         StudioControllerIntegrationTest.class,
+        MovieBulkImportIntegrationTest.class,
+        ImportJobIntegrationTest.class,
 
         // 🧪 Scenario Tests (Integration Tests)
         ProducerScenarioTest.class,
@@ -1,7 +1,13 @@
 package com.texoit.airton.movieapi;
 
 import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.hasItems;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
 import org.junit.Before;
@@ -9,16 +15,19 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import com.texoit.airton.movieapi.controller.ProducerController;
+import com.texoit.airton.movieapi.infrastructure.cache.ResultCache;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
@@ -30,6 +39,9 @@ public class ProducerControllerIntegrationTest {
     @Autowired
     private ProducerController producerController;
 
+    @Autowired
+    private ResultCache resultCache;
+
     @Autowired
     protected WebApplicationContext wac;
 
@@ -60,6 +72,114 @@ public class ProducerControllerIntegrationTest {
                 .andExpect(jsonPath("$.max[0].followingWin").value(2015));
     }
 
+    @Test
+    public void getTopIntervalsTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/producer/interval-prizes/top?order=desc&k=3"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].producer").value("Matthew Vaughn"))
+                .andExpect(jsonPath("$[0].interval").value(22))
+                .andExpect(jsonPath("$[2].interval").value(12));
+
+        // max-results limita o tamanho do ranking
+        mockMvc.perform(MockMvcRequestBuilders.get("/producer/interval-prizes/ranking?order=asc&page=100&size=10"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.intervals.length()").value(0))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/producer/interval-prizes/top?order=sideways"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void getAllIntervalsStreamedTest() throws Exception {
+        MvcResult adjacent = mockMvc.perform(MockMvcRequestBuilders.get("/producer/interval-prizes/all"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(adjacent))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$[?(@.producer == 'Matthew Vaughn')].interval", hasItem(is(22))))
+                .andExpect(jsonPath("$[?(@.producer == 'Matthew Vaughn')].interval", not(hasItem(is(57)))));
+
+        // Todos os pares: 1980 → 2037 aparece só no modo não consecutivo
+        MvcResult allPairs = mockMvc
+                .perform(MockMvcRequestBuilders.get("/producer/interval-prizes/all?includeNonConsecutive=true"))
+                .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(allPairs))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$[?(@.producer == 'Matthew Vaughn')].interval", hasItem(is(57))));
+    }
+
+    @Test
+    public void getFilteredIntervalPrizesTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/producer/interval-prizes")
+                .param("producer", "Matthew Vaughn")
+                .param("from", "2000")
+                .param("to", "2020"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.min.length()").value(1))
+                .andExpect(jsonPath("$.min[0].previousWin").value(2002))
+                .andExpect(jsonPath("$.min[0].followingWin").value(2003))
+                .andExpect(jsonPath("$.max.length()").value(1))
+                .andExpect(jsonPath("$.max[0].previousWin").value(2003))
+                .andExpect(jsonPath("$.max[0].followingWin").value(2015));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/producer/interval-prizes?from=2010&to=2000"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void getIntervalPrizesNotModifiedTest() throws Exception {
+        // Given
+        MvcResult first = mockMvc.perform(MockMvcRequestBuilders.get("/producer/interval-prizes")
+                .param("from", "1990"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        long lookups = resultCache.getHits(ResultCache.PRODUCER_INTERVALS)
+                + resultCache.getMisses(ResultCache.PRODUCER_INTERVALS);
+
+        // When / Then: 304 sem corpo e sem passar pelo serviço
+        mockMvc.perform(MockMvcRequestBuilders.get("/producer/interval-prizes")
+                .param("from", "1990")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, etag))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        assertEquals(lookups, resultCache.getHits(ResultCache.PRODUCER_INTERVALS)
+                + resultCache.getMisses(ResultCache.PRODUCER_INTERVALS));
+
+        // Outros parâmetros geram outro ETag
+        MvcResult other = mockMvc.perform(MockMvcRequestBuilders.get("/producer/interval-prizes")
+                .param("from", "1991")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        assertNotEquals(etag, other.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void getIntervalPrizesGzippedTest() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/producer/interval-prizes")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(MockMvcResultMatchers.header().stringValues(HttpHeaders.VARY,
+                        hasItems(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertTrue(etag.endsWith("-gzip\""));
+
+        // A variante gzip revalida com o próprio ETag
+        mockMvc.perform(MockMvcRequestBuilders.get("/producer/interval-prizes")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, etag));
+    }
+
     // Manter o teste antigo para compatibilidade
     @Test
     public void getGreatestWinnersTest() throws Exception {
@@ -0,0 +1,61 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import static com.texoit.airton.movieapi.application.interval.IntervalTestData.describe;
+import static com.texoit.airton.movieapi.application.interval.IntervalTestData.randomTable;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.texoit.airton.movieapi.dto.ProducerMinMaxPrizesDTO;
+
+/**
+ * Testes do ForkJoinIntervalEngine: com faixas pequenas, o resultado deve
+ * ser idêntico ao do motor sequencial, inclusive na ordem dos empates.
+ */
+public class ForkJoinIntervalEngineTest {
+
+    private final ForkJoinIntervalEngine engine = new ForkJoinIntervalEngine(null, 4, 64);
+
+    @After
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    public void shouldMatchSequentialEngineExactly() {
+        for (int seed = 0; seed < 20; seed++) {
+            // Given
+            ProducerWinTable table = randomTable(new Random(seed), 2000);
+
+            // When
+            ProducerMinMaxPrizesDTO sequential = PrimitiveIntervalEngine.extremes(table, 0, table.producerCount())
+                    .toDto(table);
+            ProducerMinMaxPrizesDTO parallel = engine.extremes(table).toDto(table);
+
+            // Then
+            assertEquals(describe(sequential.getMin()), describe(parallel.getMin()));
+            assertEquals(describe(sequential.getMax()), describe(parallel.getMax()));
+        }
+    }
+
+    @Test
+    public void shouldHandleSingleProducerLargerThanChunk() {
+        // Given
+        ProducerWinTable.Builder builder = ProducerWinTable.builder().producer("Prolific");
+        for (int year = 1000; year < 1500; year += 5) {
+            builder.year(year);
+        }
+        ProducerWinTable table = builder.producer("Other").year(2000).year(2001).build();
+
+        // When
+        ProducerMinMaxPrizesDTO result = engine.extremes(table).toDto(table);
+
+        // Then
+        assertEquals(1, result.getMin().size());
+        assertEquals("Other", result.getMin().get(0).getProducer());
+        assertEquals(99, result.getMax().size());
+    }
+}
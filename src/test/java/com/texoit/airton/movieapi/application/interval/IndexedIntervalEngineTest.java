@@ -0,0 +1,223 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import static com.texoit.airton.movieapi.application.interval.IntervalTestData.describe;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import com.texoit.airton.movieapi.dto.ProducerMinMaxPrizesDTO;
+import com.texoit.airton.movieapi.infrastructure.event.DatasetChangeEvent;
+import com.texoit.airton.movieapi.infrastructure.persistence.ProducerWinRepository;
+
+/**
+ * Testes do IndexedIntervalEngine: após cada alteração, o índice deve
+ * coincidir com um cálculo completo, recarregando só os produtores afetados.
+ */
+public class IndexedIntervalEngineTest {
+
+    private final InMemoryWins wins = new InMemoryWins();
+    private final IndexedIntervalEngine engine = new IndexedIntervalEngine(wins);
+
+    @Test
+    public void shouldMatchFullCalculationAfterEveryChange() {
+        // Given
+        Random random = new Random(7);
+        for (long producer = 0; producer < 300; producer++) {
+            wins.put(producer, randomYears(random));
+        }
+        assertSameAsFull(engine.calculate());
+
+        for (int round = 0; round < 200; round++) {
+            // When
+            long producer = random.nextInt(320);
+            if (random.nextInt(4) == 0) {
+                wins.remove(producer);
+            } else {
+                wins.put(producer, randomYears(random));
+            }
+            engine.onDatasetChange(DatasetChangeEvent.of(Collections.singleton(producer)));
+
+            // Then
+            assertSameAsFull(engine.calculate());
+            assertEquals(Collections.singletonList(producer), wins.lastPartialLoad);
+        }
+    }
+
+    @Test
+    public void shouldRebuildAfterFullChangeAndIgnoreUnrelatedReads() {
+        // Given
+        wins.put(1L, new int[] { 1990, 1991 });
+        wins.put(2L, new int[] { 1980, 2000 });
+        engine.calculate();
+        wins.fullLoads = 0;
+
+        // When
+        engine.calculate();
+        wins.put(3L, new int[] { 1950, 2010 });
+        engine.onDatasetChange(DatasetChangeEvent.all());
+        ProducerMinMaxPrizesDTO result = engine.calculate();
+
+        // Then
+        assertEquals(1, wins.fullLoads);
+        assertEquals("Producer 1", result.getMin().get(0).getProducer());
+        assertEquals("Producer 3", result.getMax().get(0).getProducer());
+    }
+
+    @Test
+    public void shouldKeepRepeatedIntervalsOfSameProducer() {
+        // Given
+        wins.put(1L, new int[] { 2000, 2000, 2000, 2010 });
+
+        // When
+        ProducerMinMaxPrizesDTO result = engine.calculate();
+        wins.put(1L, new int[] { 2000, 2010 });
+        engine.onDatasetChange(DatasetChangeEvent.of(Collections.singleton(1L)));
+        ProducerMinMaxPrizesDTO updated = engine.calculate();
+
+        // Then
+        assertEquals(2, result.getMin().size());
+        assertEquals(0, result.getMin().get(0).getInterval().intValue());
+        assertEquals(1, updated.getMin().size());
+        assertEquals(10, updated.getMin().get(0).getInterval().intValue());
+    }
+
+    @Test
+    public void shouldReturnEmptyResultWhenNoProducerHasTwoWins() {
+        // Given
+        wins.put(1L, new int[] { 2000 });
+
+        // When
+        ProducerMinMaxPrizesDTO result = engine.calculate();
+
+        // Then
+        assertTrue(result.getMin().isEmpty());
+        assertTrue(result.getMax().isEmpty());
+    }
+
+    @Test
+    public void shouldClipEachProducerToFilterWindow() {
+        // Given
+        Random random = new Random(3);
+        for (long producer = 0; producer < 200; producer++) {
+            wins.put(producer, randomYears(random));
+        }
+        IntervalFilter filter = IntervalFilter.of(1930, 1990, Arrays.asList("Producer 5", "Producer 17", "Producer 150"));
+
+        // When
+        ProducerMinMaxPrizesDTO result = engine.calculate(filter, false);
+
+        // Then
+        ProducerWinTable.Builder expected = ProducerWinTable.builder();
+        for (long producer : new long[] { 5, 17, 150 }) {
+            expected.producer(producer, "Producer " + producer);
+            for (int year : wins.years.get(producer)) {
+                if (year >= 1930 && year <= 1990) {
+                    expected.year(year);
+                }
+            }
+        }
+        ProducerWinTable table = expected.build();
+        ProducerMinMaxPrizesDTO full = PrimitiveIntervalEngine.extremes(table, 0, table.producerCount()).toDto(table);
+        assertEquals(describe(full.getMin()), describe(result.getMin()));
+        assertEquals(describe(full.getMax()), describe(result.getMax()));
+    }
+
+    @Test
+    public void shouldFilterEveryProducerSharingTheName() {
+        // Given: PRODUCER.NAME não é único
+        wins.put(1L, new int[] { 1990, 1991 });
+        wins.put(2L, new int[] { 2000, 2010 });
+        wins.put(3L, new int[] { 1980, 2020 });
+        wins.names.put(1L, "Joel Silver");
+        wins.names.put(2L, "Joel Silver");
+        IntervalFilter filter = IntervalFilter.of(null, null, Collections.singletonList("Joel Silver"));
+
+        // When
+        ProducerMinMaxPrizesDTO before = engine.calculate(filter, false);
+        wins.put(1L, new int[] { 1990, 1992 });
+        engine.onDatasetChange(DatasetChangeEvent.of(Collections.singleton(1L)));
+        ProducerMinMaxPrizesDTO after = engine.calculate(filter, false);
+
+        // Then
+        assertEquals(Collections.singletonList("Joel Silver:1:1990-1991"), describe(before.getMin()));
+        assertEquals(Collections.singletonList("Joel Silver:10:2000-2010"), describe(before.getMax()));
+        assertEquals(Collections.singletonList("Joel Silver:2:1990-1992"), describe(after.getMin()));
+        assertEquals(Collections.singletonList("Joel Silver:10:2000-2010"), describe(after.getMax()));
+    }
+
+    private void assertSameAsFull(ProducerMinMaxPrizesDTO indexed) {
+        ProducerWinTable table = wins.table(wins.years.keySet());
+        ProducerMinMaxPrizesDTO full = PrimitiveIntervalEngine.extremes(table, 0, table.producerCount()).toDto(table);
+        assertEquals(describe(full.getMin()), describe(indexed.getMin()));
+        assertEquals(describe(full.getMax()), describe(indexed.getMax()));
+    }
+
+    private static int[] randomYears(Random random) {
+        int[] years = new int[random.nextInt(5)];
+        int year = 1900 + random.nextInt(50);
+        for (int i = 0; i < years.length; i++) {
+            year += random.nextInt(40);
+            years[i] = year;
+        }
+        return years;
+    }
+
+    /** Repositório em memória que registra as leituras feitas pelo índice. */
+    private static final class InMemoryWins extends ProducerWinRepository {
+
+        private final Map<Long, int[]> years = new TreeMap<>();
+        private final Map<Long, String> names = new TreeMap<>();
+        private int fullLoads;
+        private List<Long> lastPartialLoad;
+
+        InMemoryWins() {
+            super(null);
+        }
+
+        void put(long producer, int[] producerYears) {
+            years.put(producer, producerYears);
+        }
+
+        void remove(long producer) {
+            years.remove(producer);
+        }
+
+        @Override
+        public ProducerWinTable loadWins() {
+            fullLoads++;
+            return table(years.keySet());
+        }
+
+        @Override
+        public ProducerWinTable loadWins(Collection<Long> producerIds) {
+            lastPartialLoad = new ArrayList<>(producerIds);
+            return table(producerIds);
+        }
+
+        ProducerWinTable table(Collection<Long> producerIds) {
+            ProducerWinTable.Builder builder = ProducerWinTable.builder();
+            for (Long producer : new TreeSet<>(producerIds)) {
+                int[] producerYears = years.get(producer);
+                if (producerYears == null || producerYears.length == 0) {
+                    continue;
+                }
+                builder.producer(producer, names.getOrDefault(producer, "Producer " + producer));
+                for (int year : producerYears) {
+                    builder.year(year);
+                }
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import static com.texoit.airton.movieapi.application.interval.IntervalTestData.describe;
+import static com.texoit.airton.movieapi.application.interval.IntervalTestData.randomTable;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.texoit.airton.movieapi.dto.ProducerPrizesDTO;
+
+/**
+ * Testes do IntervalRanking: o heap limitado deve devolver o mesmo prefixo
+ * de uma ordenação completa, inclusive na ordem dos empates.
+ */
+public class IntervalRankingTest {
+
+    @Test
+    public void shouldMatchPrefixOfFullSortInBothOrders() {
+        for (int seed = 0; seed < 10; seed++) {
+            // Given
+            ProducerWinTable table = randomTable(new Random(seed), 500);
+            List<ProducerPrizesDTO> all = allIntervals(table);
+
+            for (int k : new int[] { 1, 7, 50, all.size() + 10 }) {
+                // When
+                List<ProducerPrizesDTO> asc = IntervalRanking.top(table, IntervalRanking.Order.ASC, k);
+                List<ProducerPrizesDTO> desc = IntervalRanking.top(table, IntervalRanking.Order.DESC, k);
+
+                // Then
+                all.sort(Comparator.comparing(ProducerPrizesDTO::getInterval));
+                assertEquals(describe(prefix(all, k)), describe(asc));
+                all.sort(Comparator.comparing(ProducerPrizesDTO::getInterval).reversed());
+                assertEquals(describe(prefix(all, k)), describe(desc));
+                all = allIntervals(table);
+            }
+        }
+    }
+
+    @Test
+    public void shouldReturnEmptyRankingWithoutIntervals() {
+        // Given
+        ProducerWinTable table = ProducerWinTable.builder().producer("Single").year(2000).build();
+
+        // When
+        List<ProducerPrizesDTO> result = IntervalRanking.top(table, IntervalRanking.Order.DESC, 5);
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    /** Intervalos na ordem da tabela; a ordenação estável preserva os empates. */
+    private static List<ProducerPrizesDTO> allIntervals(ProducerWinTable table) {
+        List<ProducerPrizesDTO> intervals = new ArrayList<>();
+        for (int producer = 0; producer < table.producerCount(); producer++) {
+            for (int i = table.start(producer) + 1; i < table.end(producer); i++) {
+                intervals.add(new ProducerPrizesDTO(table.producer(producer), table.year(i) - table.year(i - 1),
+                        table.year(i - 1), table.year(i)));
+            }
+        }
+        return intervals;
+    }
+
+    private static List<ProducerPrizesDTO> prefix(List<ProducerPrizesDTO> intervals, int k) {
+        return intervals.subList(0, Math.min(k, intervals.size()));
+    }
+}
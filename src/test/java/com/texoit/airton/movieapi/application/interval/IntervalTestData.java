@@ -0,0 +1,53 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import com.texoit.airton.movieapi.dto.ProducerPrizesDTO;
+
+/**
+ * Dados e comparações compartilhados pelos testes dos motores de intervalo.
+ */
+final class IntervalTestData {
+
+    private IntervalTestData() {
+    }
+
+    /**
+     * Até 5 vitórias por produtor, a partir de um ano entre 1900 e 1999 e
+     * com saltos de 0 a 29 anos.
+     */
+    static ProducerWinTable randomTable(Random random, int producers) {
+        return randomTable(random, producers, 6, 30, 1900);
+    }
+
+    /**
+     * Tabela aleatória com até {@code maxWins - 1} vitórias por produtor,
+     * começando entre {@code baseYear} e {@code baseYear + 99} e com saltos
+     * de 0 a {@code maxGap - 1} anos (0 repete o ano).
+     */
+    static ProducerWinTable randomTable(Random random, int producers, int maxWins, int maxGap, int baseYear) {
+        ProducerWinTable.Builder builder = ProducerWinTable.builder();
+        for (int p = 0; p < producers; p++) {
+            builder.producer("Producer " + p);
+            int year = baseYear + random.nextInt(100);
+            for (int w = random.nextInt(maxWins); w > 0; w--) {
+                year += random.nextInt(maxGap);
+                builder.year(year);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * {@code produtor:intervalo:anterior-seguinte} de cada intervalo, na
+     * ordem recebida, para comparar resultados inclusive na ordem dos empates.
+     */
+    static List<String> describe(List<ProducerPrizesDTO> intervals) {
+        return intervals.stream()
+                .map(dto -> dto.getProducer() + ":" + dto.getInterval() + ":" + dto.getPreviousWin() + "-"
+                        + dto.getFollowingWin())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,74 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.texoit.airton.movieapi.dto.ProducerMinMaxPrizesDTO;
+
+/**
+ * Compara os extremos do modo include-non-consecutive calculados em O(w) por
+ * produtor ({@code linear}) com a enumeração de todos os pares
+ * ({@code allPairs}), em uma base sintética com poucos produtores de
+ * milhares de vitórias cada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NonConsecutiveIntervalBenchmark {
+
+    private static final int PRODUCERS = 50;
+
+    @Param({ "1000", "5000", "20000" })
+    public int winsPerProducer;
+
+    private ProducerWinTable table;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        ProducerWinTable.Builder builder = ProducerWinTable.builder();
+        for (int p = 0; p < PRODUCERS; p++) {
+            builder.producer("Producer " + p);
+            int year = random.nextInt(100);
+            for (int w = 0; w < winsPerProducer; w++) {
+                year += 1 + random.nextInt(3);
+                builder.year(year);
+            }
+        }
+        table = builder.build();
+    }
+
+    @Benchmark
+    public ProducerMinMaxPrizesDTO linear() {
+        return NonConsecutiveIntervals.extremes(table, 0, table.producerCount()).toDto(table);
+    }
+
+    @Benchmark
+    public ProducerMinMaxPrizesDTO allPairs() {
+        IntervalExtremes extremes = new IntervalExtremes();
+        NonConsecutiveIntervals.forEach(table, true, extremes::offer);
+        return extremes.toDto(table);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NonConsecutiveIntervalBenchmark.class.getSimpleName()).build()).run();
+    }
+}
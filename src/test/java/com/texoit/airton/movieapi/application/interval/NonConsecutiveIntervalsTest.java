@@ -0,0 +1,74 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import static com.texoit.airton.movieapi.application.interval.IntervalTestData.describe;
+import static com.texoit.airton.movieapi.application.interval.IntervalTestData.randomTable;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.texoit.airton.movieapi.dto.ProducerMinMaxPrizesDTO;
+
+/**
+ * Testes do modo include-non-consecutive: os extremos calculados em O(w)
+ * devem coincidir com a enumeração de todos os pares, inclusive com anos
+ * repetidos e produtores com milhares de vitórias.
+ */
+public class NonConsecutiveIntervalsTest {
+
+    @Test
+    public void shouldMatchAllPairsEnumeration() {
+        for (int seed = 0; seed < 30; seed++) {
+            // Given
+            ProducerWinTable table = randomTable(new Random(seed), 200, 8, 4, 0);
+
+            // When
+            ProducerMinMaxPrizesDTO fast = NonConsecutiveIntervals.extremes(table, 0, table.producerCount())
+                    .toDto(table);
+
+            // Then
+            ProducerMinMaxPrizesDTO enumerated = enumerate(table);
+            assertEquals(describe(enumerated.getMin()), describe(fast.getMin()));
+            assertEquals(describe(enumerated.getMax()), describe(fast.getMax()));
+        }
+    }
+
+    @Test
+    public void shouldHandleProducersWithThousandsOfWins() {
+        // Given
+        ProducerWinTable table = randomTable(new Random(11), 20, 3000, 4, 0);
+
+        // When
+        ProducerMinMaxPrizesDTO fast = NonConsecutiveIntervals.extremes(table, 0, table.producerCount())
+                .toDto(table);
+
+        // Then
+        ProducerMinMaxPrizesDTO enumerated = enumerate(table);
+        assertEquals(describe(enumerated.getMin()), describe(fast.getMin()));
+        assertEquals(describe(enumerated.getMax()), describe(fast.getMax()));
+    }
+
+    @Test
+    public void shouldUseFirstAndLastWinAsLongestInterval() {
+        // Given
+        ProducerWinTable table = ProducerWinTable.builder()
+                .producer("Steady").year(1990).year(1995).year(2000).year(2005)
+                .producer("Burst").year(2010).year(2011)
+                .build();
+
+        // When
+        ProducerMinMaxPrizesDTO result = NonConsecutiveIntervals.extremes(table, 0, table.producerCount())
+                .toDto(table);
+
+        // Then
+        assertEquals("Steady:15:1990-2005", describe(result.getMax()).get(0));
+        assertEquals("Burst:1:2010-2011", describe(result.getMin()).get(0));
+    }
+
+    private static ProducerMinMaxPrizesDTO enumerate(ProducerWinTable table) {
+        IntervalExtremes extremes = new IntervalExtremes();
+        NonConsecutiveIntervals.forEach(table, true, extremes::offer);
+        return extremes.toDto(table);
+    }
+}
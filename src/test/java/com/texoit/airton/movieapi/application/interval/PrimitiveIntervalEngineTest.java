@@ -0,0 +1,96 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.texoit.airton.movieapi.dto.ProducerMinMaxPrizesDTO;
+import com.texoit.airton.movieapi.dto.ProducerPrizesDTO;
+
+/**
+ * Testes do PrimitiveIntervalEngine sobre tabelas montadas em memória:
+ * empates, anos fora de ordem, anos repetidos e junção de partes.
+ */
+public class PrimitiveIntervalEngineTest {
+
+    @Test
+    public void shouldReturnEveryTieForMinAndMax() {
+        // Given
+        ProducerWinTable table = ProducerWinTable.builder()
+                .producer("Matthew Vaughn").year(1980).year(2002).year(2003).year(2015).year(2037)
+                .producer("Joel Silver").year(1990).year(1991)
+                .producer("Bo Derek").year(1984)
+                .build();
+
+        // When
+        ProducerMinMaxPrizesDTO result = PrimitiveIntervalEngine.extremes(table, 0, table.producerCount())
+                .toDto(table);
+
+        // Then
+        assertIntervals(result.getMin(), 1, "Matthew Vaughn:2002-2003", "Joel Silver:1990-1991");
+        assertIntervals(result.getMax(), 22, "Matthew Vaughn:1980-2002", "Matthew Vaughn:2015-2037");
+    }
+
+    @Test
+    public void shouldSortUnorderedYearsAndKeepRepeatedWins() {
+        // Given
+        ProducerWinTable table = ProducerWinTable.builder()
+                .producer("Allan Carr").year(1990).year(1980).year(1985)
+                .producer("Jerry Weintraub").year(2000).year(2000)
+                .build();
+
+        // When
+        ProducerMinMaxPrizesDTO result = PrimitiveIntervalEngine.extremes(table, 0, table.producerCount())
+                .toDto(table);
+
+        // Then
+        assertIntervals(result.getMin(), 0, "Jerry Weintraub:2000-2000");
+        assertIntervals(result.getMax(), 5, "Allan Carr:1980-1985", "Allan Carr:1985-1990");
+    }
+
+    @Test
+    public void shouldMergePartsInProducerOrder() {
+        // Given
+        ProducerWinTable table = ProducerWinTable.builder()
+                .producer("A").year(2000).year(2001).year(2011)
+                .producer("B").year(1990).year(1991)
+                .producer("C").year(1970).year(1980)
+                .build();
+
+        // When
+        IntervalExtremes merged = PrimitiveIntervalEngine.extremes(table, 0, 1)
+                .merge(PrimitiveIntervalEngine.extremes(table, 1, 2))
+                .merge(PrimitiveIntervalEngine.extremes(table, 2, 3));
+        ProducerMinMaxPrizesDTO result = merged.toDto(table);
+
+        // Then
+        assertIntervals(result.getMin(), 1, "A:2000-2001", "B:1990-1991");
+        assertIntervals(result.getMax(), 10, "A:2001-2011", "C:1970-1980");
+    }
+
+    @Test
+    public void shouldReturnEmptyListsWithoutIntervals() {
+        // Given
+        ProducerWinTable table = ProducerWinTable.builder().producer("Single").year(2000).build();
+
+        // When
+        IntervalExtremes extremes = PrimitiveIntervalEngine.extremes(table, 0, table.producerCount());
+
+        // Then
+        assertTrue(extremes.isEmpty());
+        assertTrue(extremes.toDto(table).getMin().isEmpty());
+        assertTrue(extremes.toDto(table).getMax().isEmpty());
+    }
+
+    private static void assertIntervals(List<ProducerPrizesDTO> intervals, int interval, String... expected) {
+        assertEquals(expected.length, intervals.size());
+        for (int i = 0; i < expected.length; i++) {
+            ProducerPrizesDTO dto = intervals.get(i);
+            assertEquals(Integer.valueOf(interval), dto.getInterval());
+            assertEquals(expected[i], dto.getProducer() + ":" + dto.getPreviousWin() + "-" + dto.getFollowingWin());
+        }
+    }
+}
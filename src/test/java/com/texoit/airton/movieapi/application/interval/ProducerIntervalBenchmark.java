@@ -0,0 +1,204 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.texoit.airton.movieapi.domain.model.ProducerInterval;
+import com.texoit.airton.movieapi.dto.ProducerMinMaxPrizesDTO;
+import com.texoit.airton.movieapi.dto.ProducerPrizesDTO;
+import com.texoit.airton.movieapi.entity.Movie;
+import com.texoit.airton.movieapi.entity.MovieProducer;
+import com.texoit.airton.movieapi.entity.Producer;
+
+/**
+ * Compara o {@link PrimitiveIntervalEngine} com os dois cálculos que ele
+ * substituiu: o agrupamento por {@code indexOf} do antigo
+ * {@code CalculateProducerIntervalsUseCase} e a lista completa de intervalos
+ * do antigo {@code ProducerService.getMaxAndMinPrizes}. Ambos são
+ * reproduzidos aqui sobre a mesma lista de entidades que o repositório
+ * devolvia ({@code findByMovieWinnerOrderByProducerId}).
+ * <p>
+ * {@code primitiveFromEntities} inclui a montagem da tabela a partir das
+ * entidades; {@code primitiveTable} mede só a passada sobre a tabela, que é
+ * o caso real (a tabela vem direto do JDBC), e {@code forkJoinTable} a mesma
+ * passada no {@link ForkJoinIntervalEngine}. Com 10^7 linhas, rodar com
+ * heap de alguns GB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class ProducerIntervalBenchmark {
+
+    private static final int WINS_PER_PRODUCER = 8;
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    public int rows;
+
+    private List<MovieProducer> winners;
+    private ProducerWinTable table;
+    private ForkJoinIntervalEngine forkJoinEngine;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        winners = new ArrayList<>(rows);
+        Producer producer = null;
+        int year = 0;
+        for (int i = 0; i < rows; i++) {
+            if (i % WINS_PER_PRODUCER == 0) {
+                producer = new Producer("Producer " + i / WINS_PER_PRODUCER);
+                producer.setId((long) i / WINS_PER_PRODUCER);
+                year = 1900 + random.nextInt(50);
+            }
+            // Anos distintos por produtor: o agrupamento antigo falha com intervalo zero
+            year += 1 + random.nextInt(15);
+            winners.add(new MovieProducer(new Movie(year, "Movie " + i, "yes"), producer));
+        }
+        table = toTable(winners);
+        forkJoinEngine = new ForkJoinIntervalEngine(null, Runtime.getRuntime().availableProcessors(),
+                ForkJoinIntervalEngine.DEFAULT_MIN_CHUNK_WINS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        forkJoinEngine.shutdown();
+    }
+
+    @Benchmark
+    public ProducerMinMaxPrizesDTO legacyUseCase() {
+        List<ProducerInterval> intervals = winners.stream()
+                .collect(Collectors.groupingBy(mp -> mp.getProducer().getName()))
+                .entrySet().stream()
+                .flatMap(entry -> {
+                    List<Integer> years = entry.getValue().stream()
+                            .map(mp -> mp.getMovie().getYear())
+                            .sorted()
+                            .collect(Collectors.toList());
+                    return legacyIntervalsForProducer(entry.getKey(), years).stream();
+                })
+                .collect(Collectors.toList());
+
+        int minYears = intervals.stream().mapToInt(ProducerInterval::getYears).min().orElse(0);
+        int maxYears = intervals.stream().mapToInt(ProducerInterval::getYears).max().orElse(0);
+        ProducerMinMaxPrizesDTO result = new ProducerMinMaxPrizesDTO();
+        intervals.stream().filter(interval -> interval.getYears() == minYears)
+                .forEach(interval -> result.addMin(toDto(interval)));
+        intervals.stream().filter(interval -> interval.getYears() == maxYears)
+                .forEach(interval -> result.addMax(toDto(interval)));
+        return result;
+    }
+
+    @Benchmark
+    public ProducerMinMaxPrizesDTO legacyService() {
+        Map<String, List<Integer>> producerYears = new HashMap<>();
+        for (MovieProducer mp : winners) {
+            producerYears.computeIfAbsent(mp.getProducer().getName(), k -> new ArrayList<>())
+                    .add(mp.getMovie().getYear());
+        }
+
+        List<ProducerPrizesDTO> intervals = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> entry : producerYears.entrySet()) {
+            List<Integer> years = entry.getValue();
+            years.sort(Integer::compareTo);
+            for (int i = 0; i < years.size() - 1; i++) {
+                intervals.add(new ProducerPrizesDTO(entry.getKey(), years.get(i + 1) - years.get(i), years.get(i),
+                        years.get(i + 1)));
+            }
+        }
+
+        ProducerMinMaxPrizesDTO result = new ProducerMinMaxPrizesDTO();
+        if (intervals.isEmpty()) {
+            return result;
+        }
+        Integer minInterval = intervals.stream().mapToInt(ProducerPrizesDTO::getInterval).min().getAsInt();
+        Integer maxInterval = intervals.stream().mapToInt(ProducerPrizesDTO::getInterval).max().getAsInt();
+        for (ProducerPrizesDTO interval : intervals) {
+            if (interval.getInterval().equals(minInterval)) {
+                result.addMin(interval);
+            }
+        }
+        for (ProducerPrizesDTO interval : intervals) {
+            if (interval.getInterval().equals(maxInterval)) {
+                result.addMax(interval);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ProducerMinMaxPrizesDTO primitiveFromEntities() {
+        ProducerWinTable built = toTable(winners);
+        return PrimitiveIntervalEngine.extremes(built, 0, built.producerCount()).toDto(built);
+    }
+
+    @Benchmark
+    public ProducerMinMaxPrizesDTO primitiveTable() {
+        return PrimitiveIntervalEngine.extremes(table, 0, table.producerCount()).toDto(table);
+    }
+
+    @Benchmark
+    public ProducerMinMaxPrizesDTO forkJoinTable() {
+        return forkJoinEngine.extremes(table).toDto(table);
+    }
+
+    private static ProducerWinTable toTable(List<MovieProducer> winners) {
+        ProducerWinTable.Builder builder = ProducerWinTable.builder();
+        Producer current = null;
+        for (MovieProducer mp : winners) {
+            if (mp.getProducer() != current) {
+                current = mp.getProducer();
+                builder.producer(current.getName());
+            }
+            builder.year(mp.getMovie().getYear());
+        }
+        return builder.build();
+    }
+
+    private static List<ProducerInterval> legacyIntervalsForProducer(String producerName, List<Integer> years) {
+        return years.stream()
+                .collect(Collectors.groupingBy(year -> years.indexOf(year)))
+                .entrySet().stream()
+                .filter(entry -> entry.getKey() < years.size() - 1)
+                .map(entry -> {
+                    int currentYear = years.get(entry.getKey());
+                    int nextYear = years.get(entry.getKey() + 1);
+                    return new ProducerInterval(producerName, nextYear - currentYear, Year.of(currentYear),
+                            Year.of(nextYear));
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static ProducerPrizesDTO toDto(ProducerInterval interval) {
+        return new ProducerPrizesDTO(interval.getProducerName(), interval.getYears(),
+                interval.getPreviousWin().getValue(), interval.getFollowingWin().getValue());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProducerIntervalBenchmark.class.getSimpleName()).build()).run();
+    }
+}
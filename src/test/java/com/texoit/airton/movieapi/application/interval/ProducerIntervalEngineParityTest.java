@@ -0,0 +1,63 @@
+package com.texoit.airton.movieapi.application.interval;
+
+import static com.texoit.airton.movieapi.application.interval.IntervalTestData.describe;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.texoit.airton.movieapi.dto.ProducerMinMaxPrizesDTO;
+import com.texoit.airton.movieapi.entity.Movie;
+import com.texoit.airton.movieapi.entity.MovieProducer;
+import com.texoit.airton.movieapi.entity.Producer;
+import com.texoit.airton.movieapi.infrastructure.persistence.ProducerWinRepository;
+
+/**
+ * Test Slice comparando os motores de intervalo: sobre a mesma base, o
+ * motor SQL e o motor primitivo devem devolver os mesmos empates, na mesma
+ * ordem.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import({ PrimitiveIntervalEngine.class, SqlIntervalEngine.class, ProducerWinRepository.class })
+public class ProducerIntervalEngineParityTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PrimitiveIntervalEngine primitiveEngine;
+
+    @Autowired
+    private SqlIntervalEngine sqlEngine;
+
+    @Test
+    public void shouldReturnSameExtremesFromBothEngines() {
+        // Given
+        Random random = new Random(7);
+        for (int p = 0; p < 30; p++) {
+            Producer producer = entityManager.persist(new Producer("Producer " + p));
+            int wins = random.nextInt(5);
+            for (int w = 0; w < wins; w++) {
+                Movie movie = entityManager.persist(
+                        new Movie(1980 + random.nextInt(40), "Movie " + p + "-" + w, random.nextInt(4) == 0 ? "no" : "yes"));
+                entityManager.persist(new MovieProducer(movie, producer));
+            }
+        }
+
+        // When
+        ProducerMinMaxPrizesDTO primitive = primitiveEngine.calculate();
+        ProducerMinMaxPrizesDTO sql = sqlEngine.calculate();
+
+        // Then
+        assertEquals(describe(primitive.getMin()), describe(sql.getMin()));
+        assertEquals(describe(primitive.getMax()), describe(sql.getMax()));
+    }
+}
@@ -0,0 +1,231 @@
+package com.texoit.airton.movieapi.application.movie;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.texoit.airton.movieapi.dto.MovieViewDTO;
+import com.texoit.airton.movieapi.infrastructure.event.DatasetChangeEvent;
+import com.texoit.airton.movieapi.infrastructure.persistence.MovieViewRepository;
+
+/**
+ * Testes do MovieYearIndex: leituras sem banco e atualização só dos filmes
+ * alterados.
+ */
+public class MovieYearIndexTest {
+
+    private final InMemoryMovies movies = new InMemoryMovies();
+    private final MovieYearIndex index = new MovieYearIndex(movies);
+
+    @Test
+    public void shouldServeRepeatedReadsWithoutReloading() {
+        // Given
+        movies.put(1L, 1990, "Producer A");
+        movies.put(2L, 1990, "Producer A");
+        movies.put(3L, 1991, "Producer B");
+
+        // When
+        List<MovieViewDTO> first = index.findByYear(1990);
+        List<MovieViewDTO> second = index.findByYear(1990);
+
+        // Then
+        assertEquals(Arrays.asList(1L, 2L), ids(first));
+        assertEquals(1, movies.fullLoads);
+        assertSame(first.get(0).getProducers().get(0), first.get(1).getProducers().get(0));
+        assertSame(first.get(0), second.get(0));
+        assertTrue(index.findByYear(2000).isEmpty());
+    }
+
+    @Test
+    public void shouldPatchOnlyChangedMovies() {
+        // Given
+        movies.put(1L, 1990, "Producer A");
+        movies.put(2L, 1990, "Producer B");
+        movies.put(3L, 1991, "Producer C");
+        MovieViewDTO untouched = index.findByYear(1991).get(0);
+
+        // When: filme 2 muda de ano, filme 1 é removido e o 4 é inserido
+        movies.put(2L, 1991, "Producer B");
+        movies.remove(1L);
+        movies.put(4L, 1992, "Producer D");
+        index.onDatasetChange(DatasetChangeEvent.of(Collections.<Long>emptySet(),
+                new HashSet<>(Arrays.asList(1L, 2L, 4L))));
+
+        // Then
+        assertTrue(index.findByYear(1990).isEmpty());
+        assertEquals(Arrays.asList(2L, 3L), ids(index.findByYear(1991)));
+        assertEquals(Arrays.asList(4L), ids(index.findByYear(1992)));
+        assertSame(untouched, index.findByYear(1991).get(1));
+        assertEquals(1, movies.fullLoads);
+        assertEquals(Arrays.asList(1L, 2L, 4L), movies.lastPartialLoad);
+    }
+
+    @Test
+    public void shouldRebuildAfterFullChange() {
+        // Given
+        movies.put(1L, 1990, "Producer A");
+        index.findByYear(1990);
+
+        // When
+        movies.put(5L, 1990, "Producer E");
+        index.onDatasetChange(DatasetChangeEvent.all());
+
+        // Then
+        assertEquals(Arrays.asList(1L, 5L), ids(index.findByYear(1990)));
+        assertEquals(2, movies.fullLoads);
+    }
+
+    @Test
+    public void shouldGroupSeveralYearsInOneProbe() {
+        // Given
+        movies.put(1L, 1990, "Producer A");
+        movies.put(2L, 1992, "Producer B");
+        movies.put(3L, 1992, "Producer C");
+
+        // When
+        Map<Integer, List<MovieViewDTO>> result = index.findByYears(Arrays.asList(1992, 1991, 1990));
+
+        // Then
+        assertEquals(Arrays.asList(1990, 1992), new ArrayList<>(result.keySet()));
+        assertEquals(Arrays.asList(2L, 3L), ids(result.get(1992)));
+        assertEquals(1, movies.fullLoads);
+    }
+
+    @Test
+    public void shouldMakeConcurrentReadersWaitForFirstBuild() throws Exception {
+        // Given
+        movies.put(1L, 1990, "Producer A");
+        movies.put(2L, 1990, "Producer B");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        movies.afterFullLoad = () -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        ExecutorService readers = Executors.newFixedThreadPool(2);
+
+        try {
+            // When: o segundo leitor chega com a montagem em andamento
+            Future<List<MovieViewDTO>> first = readers.submit(() -> index.findByYear(1990));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<List<MovieViewDTO>> second = readers.submit(() -> index.findByYear(1990));
+
+            // Then: ele espera a montagem em vez de ler o mapa vazio
+            try {
+                second.get(200, TimeUnit.MILLISECONDS);
+                fail("Reader should wait for the index build");
+            } catch (TimeoutException expected) {
+                release.countDown();
+            }
+            assertEquals(Arrays.asList(1L, 2L), ids(first.get(5, TimeUnit.SECONDS)));
+            assertEquals(Arrays.asList(1L, 2L), ids(second.get(5, TimeUnit.SECONDS)));
+            assertEquals(1, movies.fullLoads);
+        } finally {
+            release.countDown();
+            readers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldRebuildAgainWhenInvalidatedDuringBuild() {
+        // Given: a base muda depois que a montagem já leu os filmes
+        movies.put(1L, 1990, "Producer A");
+        movies.afterFullLoad = () -> {
+            movies.afterFullLoad = null;
+            movies.put(2L, 1990, "Producer B");
+            index.onDatasetChange(DatasetChangeEvent.all());
+        };
+
+        // When
+        List<MovieViewDTO> during = index.findByYear(1990);
+        List<MovieViewDTO> after = index.findByYear(1990);
+
+        // Then
+        assertEquals(Arrays.asList(1L), ids(during));
+        assertEquals(Arrays.asList(1L, 2L), ids(after));
+        assertEquals(2, movies.fullLoads);
+    }
+
+    private static List<Long> ids(List<MovieViewDTO> views) {
+        return views.stream().map(MovieViewDTO::getId).collect(Collectors.toList());
+    }
+
+    /** Repositório em memória que registra as leituras feitas pelo índice. */
+    private static final class InMemoryMovies extends MovieViewRepository {
+
+        private final Map<Long, Object[]> rows = new TreeMap<>();
+        private int fullLoads;
+        private List<Long> lastPartialLoad;
+        private volatile Runnable afterFullLoad;
+
+        InMemoryMovies() {
+            super(null);
+        }
+
+        void put(long id, int year, String producer) {
+            rows.put(id, new Object[] { year, producer });
+        }
+
+        void remove(long id) {
+            rows.remove(id);
+        }
+
+        @Override
+        public List<MovieViewDTO> loadAll(UnaryOperator<String> interner) {
+            fullLoads++;
+            List<MovieViewDTO> views = views(rows.keySet(), interner);
+            Runnable hook = afterFullLoad;
+            if (hook != null) {
+                hook.run();
+            }
+            return views;
+        }
+
+        @Override
+        public List<MovieViewDTO> load(Collection<Long> movieIds, UnaryOperator<String> interner) {
+            lastPartialLoad = new ArrayList<>(movieIds);
+            Collections.sort(lastPartialLoad);
+            return views(movieIds, interner);
+        }
+
+        private List<MovieViewDTO> views(Collection<Long> ids, UnaryOperator<String> interner) {
+            List<MovieViewDTO> views = new ArrayList<>();
+            for (Long id : new TreeSet<>(ids)) {
+                Object[] row = rows.get(id);
+                if (row == null) {
+                    continue;
+                }
+                // new String: o índice é quem deve internar os nomes
+                String producer = interner.apply(new String((String) row[1]));
+                views.add(new MovieViewDTO(id, (Integer) row[0], "Movie " + id,
+                        Collections.singletonList("Studio"), Collections.singletonList(producer), false));
+            }
+            return views;
+        }
+    }
+}
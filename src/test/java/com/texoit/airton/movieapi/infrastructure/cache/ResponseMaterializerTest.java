@@ -0,0 +1,121 @@
+package com.texoit.airton.movieapi.infrastructure.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.texoit.airton.movieapi.infrastructure.event.DatasetChangeEvent;
+
+/**
+ * Testes das respostas serializadas uma vez por versão da base.
+ */
+public class ResponseMaterializerTest {
+
+    private final DatasetVersion version = new DatasetVersion();
+    private final ResponseMaterializer materializer = new ResponseMaterializer(new ObjectMapper(), version, 1000);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void shouldSerializeOncePerDatasetVersion() {
+        // Given
+        MaterializedResponse first = materializer.get("years", this::load, List::isEmpty);
+
+        // When
+        MaterializedResponse second = materializer.get("years", this::load, List::isEmpty);
+        version.onDatasetChange(DatasetChangeEvent.all());
+        MaterializedResponse third = materializer.get("years", this::load, List::isEmpty);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(0, first.getVersion());
+        assertEquals(1, third.getVersion());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void shouldWritePlainOrGzippedBytes() throws IOException {
+        // Given
+        MaterializedResponse materialized = materializer.get("years", this::load, List::isEmpty);
+        MockHttpServletRequest plainRequest = new MockHttpServletRequest("GET", "/api/movie/years");
+        MockHttpServletRequest gzipRequest = new MockHttpServletRequest("GET", "/api/movie/years");
+        gzipRequest.addHeader("Accept-Encoding", "deflate, gzip;q=0.8");
+        MockHttpServletResponse plain = new MockHttpServletResponse();
+        MockHttpServletResponse gzipped = new MockHttpServletResponse();
+        gzipped.setHeader("ETag", "\"1-abc\"");
+
+        // When
+        materialized.writeTo(plainRequest, plain);
+        materialized.writeTo(gzipRequest, gzipped);
+
+        // Then
+        assertEquals("[1990,2000]", plain.getContentAsString());
+        assertNull(plain.getHeader("Content-Encoding"));
+        assertEquals("gzip", gzipped.getHeader("Content-Encoding"));
+        assertEquals("\"1-abc-gzip\"", gzipped.getHeader("ETag"));
+        assertEquals("[1990,2000]", gunzip(gzipped.getContentAsByteArray()));
+        assertEquals(gzipped.getContentAsByteArray().length, gzipped.getContentLength());
+    }
+
+    @Test
+    public void shouldAnswerNoContentWhenEmpty() throws IOException {
+        // Given
+        MaterializedResponse materialized = materializer.get("empty",
+                () -> Collections.<Integer>emptyList(), List::isEmpty);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        materialized.writeTo(new MockHttpServletRequest("GET", "/api/studio/winners"), response);
+
+        // Then
+        assertEquals(204, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void shouldHonorZeroQualityForGzip() {
+        // Given
+        MockHttpServletRequest refused = new MockHttpServletRequest();
+        refused.addHeader("Accept-Encoding", "gzip;q=0, identity");
+        MockHttpServletRequest wildcard = new MockHttpServletRequest();
+        wildcard.addHeader("Accept-Encoding", "*");
+
+        // When / Then
+        assertFalse(MaterializedResponse.acceptsGzip(refused));
+        assertTrue(MaterializedResponse.acceptsGzip(wildcard));
+        assertFalse(MaterializedResponse.acceptsGzip(new MockHttpServletRequest()));
+    }
+
+    private List<Integer> load() {
+        loads.incrementAndGet();
+        return Arrays.asList(1990, 2000);
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[256];
+            for (int read; (read = in.read(buffer)) > 0;) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
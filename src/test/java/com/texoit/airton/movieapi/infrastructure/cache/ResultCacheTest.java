@@ -0,0 +1,93 @@
+package com.texoit.airton.movieapi.infrastructure.cache;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.texoit.airton.movieapi.infrastructure.event.DatasetChangeEvent;
+
+/**
+ * Testes do ResultCache: reaproveitamento dentro da mesma versão da base,
+ * invalidação quando a versão muda, expiração por TTL e contadores.
+ */
+public class ResultCacheTest {
+
+    private final DatasetVersion version = new DatasetVersion();
+    private final AtomicLong clock = new AtomicLong();
+    private final ResultCache cache = new ResultCache(true, 30, 1000, version, clock::get);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void shouldReuseValueWhileVersionIsUnchanged() {
+        // When
+        String first = cache.get(ResultCache.PRODUCER_INTERVALS, "all", this::load);
+        String second = cache.get(ResultCache.PRODUCER_INTERVALS, "all", this::load);
+        cache.get(ResultCache.PRODUCER_INTERVALS, "other", this::load);
+
+        // Then
+        assertEquals(first, second);
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getHits(ResultCache.PRODUCER_INTERVALS));
+        assertEquals(2, cache.getMisses(ResultCache.PRODUCER_INTERVALS));
+    }
+
+    @Test
+    public void shouldRecalculateAndEvictOldEntriesAfterDatasetChange() {
+        // Given
+        cache.get(ResultCache.MOVIE_YEARS, "all", this::load);
+        cache.get(ResultCache.STUDIO_WINNERS, "all", this::load);
+
+        // When
+        version.onDatasetChange(DatasetChangeEvent.of(Collections.<Long>emptySet()));
+        String reloaded = cache.get(ResultCache.MOVIE_YEARS, "all", this::load);
+
+        // Then
+        assertEquals("value-3", reloaded);
+        assertEquals(1, cache.getEvictions(ResultCache.MOVIE_YEARS));
+        assertEquals(1, cache.getEvictions(ResultCache.STUDIO_WINNERS));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldExpireEntriesAfterTtl() {
+        // Given
+        cache.get(ResultCache.PRODUCER_RANKING, "top", this::load);
+
+        // When
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(31));
+        String reloaded = cache.get(ResultCache.PRODUCER_RANKING, "top", this::load);
+
+        // Then
+        assertEquals("value-2", reloaded);
+        assertEquals(1, cache.getEvictions(ResultCache.PRODUCER_RANKING));
+        assertEquals(0, cache.getHits(ResultCache.PRODUCER_RANKING));
+    }
+
+    @Test
+    public void shouldAlwaysLoadWhenDisabled() {
+        // Given
+        ResultCache disabled = new ResultCache(false, 30, 1000, version, clock::get);
+
+        // When
+        disabled.get(ResultCache.PRODUCER_INTERVALS, "all", this::load);
+        disabled.get(ResultCache.PRODUCER_INTERVALS, "all", this::load);
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(0, disabled.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnknownCache() {
+        cache.get("unknown", "all", this::load);
+    }
+
+    private String load() {
+        return "value-" + loads.incrementAndGet();
+    }
+}
@@ -0,0 +1,141 @@
+package com.texoit.airton.movieapi.infrastructure.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.texoit.airton.movieapi.shared.exception.ComputationTimeoutException;
+
+/**
+ * Testes de concorrência da coalescência: N chamadas simultâneas da mesma
+ * chave disparam um único cálculo, falhas chegam a todas as chamadas que
+ * esperavam e a espera respeita o tempo limite.
+ */
+public class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger computations = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldComputeOnceForSimultaneousRequests() throws Exception {
+        // Given
+        LongSupplier ticker = System::nanoTime;
+        ResultCache cache = new ResultCache(true, 30, 10_000, new DatasetVersion(), ticker);
+        List<Future<String>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> cache.get(ResultCache.PRODUCER_INTERVALS, "all", this::slowLoad)));
+        }
+        awaitCoalesced(cache::getCoalesced, CALLERS - 1);
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertEquals("result", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, computations.get());
+        assertEquals(CALLERS, cache.getMisses(ResultCache.PRODUCER_INTERVALS));
+        assertEquals("result", cache.get(ResultCache.PRODUCER_INTERVALS, "all", this::slowLoad));
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    public void shouldPropagateFailureToEveryWaitingCaller() throws Exception {
+        // Given
+        SingleFlight singleFlight = new SingleFlight(10_000);
+        IllegalArgumentException failure = new IllegalArgumentException("boom");
+        List<Future<String>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                slowLoad();
+                throw failure;
+            })));
+        }
+        awaitCoalesced(singleFlight::getCoalesced, CALLERS - 1);
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            try {
+                result.get(5, TimeUnit.SECONDS);
+                fail("Failure should reach every caller");
+            } catch (ExecutionException e) {
+                assertSame(failure, e.getCause());
+            }
+        }
+        assertEquals(1, computations.get());
+        assertEquals(0, singleFlight.getInFlight());
+        assertEquals("again", singleFlight.execute("key", () -> "again"));
+    }
+
+    @Test
+    public void shouldTimeOutWaitingCallers() throws Exception {
+        // Given
+        SingleFlight singleFlight = new SingleFlight(50);
+        Future<String> leader = executor.submit(() -> singleFlight.execute("key", this::slowLoad));
+        while (computations.get() == 0) {
+            Thread.sleep(1);
+        }
+
+        // When
+        try {
+            singleFlight.execute("key", () -> "unused");
+            fail("Waiting caller should time out");
+        } catch (ComputationTimeoutException e) {
+            // Then
+            assertTrue(e.getMessage().contains("key"));
+        }
+        release.countDown();
+        assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    private String slowLoad() {
+        computations.incrementAndGet();
+        try {
+            if (!release.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Test did not release the computation");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return "result";
+    }
+
+    private static void awaitCoalesced(LongSupplier coalesced, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (coalesced.getAsLong() < expected) {
+            if (System.nanoTime() > deadline) {
+                fail("Only " + coalesced.getAsLong() + " of " + expected + " callers joined the computation");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
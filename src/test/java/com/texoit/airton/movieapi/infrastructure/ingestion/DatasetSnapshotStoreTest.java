@@ -0,0 +1,151 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+import com.texoit.airton.movieapi.infrastructure.event.DatasetChangePublisher;
+
+/**
+ * Test Slice para DatasetSnapshotStore.
+ * Grava um snapshot, esvazia a base e verifica que a restauração reproduz
+ * as mesmas linhas e mantém as sequences à frente dos IDs restaurados.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import({ MovieBulkWriter.class, DatasetSnapshotStore.class, DatasetChangePublisher.class, MovieApiProperties.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DatasetSnapshotStoreTest {
+
+    private static final String FINGERPRINT = "movielist-v1";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired
+    private DatasetSnapshotStore store;
+
+    @Autowired
+    private MovieBulkWriter writer;
+
+    @Autowired
+    private MovieApiProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() {
+        properties.getSnapshot().setDirectory(folder.getRoot().getAbsolutePath());
+        clear();
+    }
+
+    @After
+    public void tearDown() {
+        clear();
+    }
+
+    @Test
+    public void shouldRestoreSameRowsFromSnapshot() throws IOException {
+        // Given
+        writer.openSession().write(Arrays.asList(
+                new MovieRow(2002, "Swept Away", Collections.singletonList("Screen Gems"),
+                        Arrays.asList("Matthew Vaughn", "Adriano Giannini"), true),
+                new MovieRow(2015, "Fantastic Four", Arrays.asList("20th Century Fox", "Screen Gems"),
+                        Collections.singletonList("Matthew Vaughn"), true)));
+        List<String> movies = movies();
+        List<String> producerLinks = producerLinks();
+        store.save(FINGERPRINT);
+        clear();
+        assertTrue(store.isDatabaseEmpty());
+
+        // When
+        Optional<LoadReport> report = store.restore(FINGERPRINT);
+
+        // Then
+        assertTrue(report.isPresent());
+        assertEquals(2, report.get().getMovies());
+        assertEquals(2, report.get().getStudios());
+        assertEquals(2, report.get().getProducers());
+        assertEquals(6, report.get().getLinks());
+        assertEquals(movies, movies());
+        assertEquals(producerLinks, producerLinks());
+    }
+
+    @Test
+    public void shouldKeepSequencesAheadOfRestoredIds() throws IOException {
+        // Given
+        writer.openSession().write(Collections.singletonList(new MovieRow(1991, "Hudson Hawk",
+                Collections.singletonList("TriStar Pictures"), Collections.singletonList("Joel Silver"), true)));
+        store.save(FINGERPRINT);
+        clear();
+        store.restore(FINGERPRINT);
+        Long restoredMax = jdbcTemplate.queryForObject("SELECT MAX(ID_MOVIE) FROM MOVIE", Long.class);
+
+        // When
+        writer.openSession().write(Collections.singletonList(new MovieRow(1990, "The Adventures of Ford Fairlane",
+                Collections.singletonList("20th Century Fox"), Collections.singletonList("Joel Silver"), true)));
+
+        // Then
+        Long newId = jdbcTemplate.queryForObject(
+                "SELECT ID_MOVIE FROM MOVIE WHERE TITLE = 'The Adventures of Ford Fairlane'", Long.class);
+        assertTrue(newId > restoredMax);
+        assertEquals(Integer.valueOf(1), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRODUCER", Integer.class));
+    }
+
+    @Test
+    public void shouldIgnoreSnapshotOfAnotherSource() throws IOException {
+        // Given
+        writer.openSession().write(Collections.singletonList(new MovieRow(1980, "Can't Stop the Music",
+                Collections.singletonList("Associated Film Distribution"), Collections.singletonList("Allan Carr"),
+                true)));
+        store.save(FINGERPRINT);
+        clear();
+
+        // When
+        Optional<LoadReport> report = store.restore("movielist-v2");
+
+        // Then
+        assertFalse(report.isPresent());
+        assertTrue(store.isDatabaseEmpty());
+    }
+
+    private List<String> movies() {
+        return jdbcTemplate.queryForList(
+                "SELECT ID_MOVIE || ':' || YEAR || ':' || TITLE || ':' || IS_WINNER FROM MOVIE ORDER BY ID_MOVIE",
+                String.class);
+    }
+
+    private List<String> producerLinks() {
+        return jdbcTemplate.queryForList("SELECT m.TITLE || ':' || p.NAME FROM MOVIE_PRODUCER mp"
+                + " JOIN MOVIE m ON m.ID_MOVIE = mp.MOVIE_ID_MOVIE"
+                + " JOIN PRODUCER p ON p.ID_PRODUCER = mp.PRODUCER_ID_PRODUCER ORDER BY 1", String.class);
+    }
+
+    private void clear() {
+        for (String table : new String[] { "MOVIE_PRODUCER", "MOVIE_STUDIO", "MOVIE", "PRODUCER", "STUDIO" }) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+}
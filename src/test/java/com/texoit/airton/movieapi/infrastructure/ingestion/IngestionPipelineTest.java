@@ -0,0 +1,150 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Testes do pipeline de ingestão: ordem de gravação, backpressure com filas
+ * pequenas e propagação de falhas entre estágios.
+ */
+public class IngestionPipelineTest {
+
+    @Test
+    public void shouldWriteEveryRowInSourceOrder() {
+        // Given
+        IngestionPipeline pipeline = new IngestionPipeline(new MovieRowNormalizer(), 4, 2, 7, 0);
+        List<MovieRow> written = new ArrayList<>();
+
+        // When
+        long total = pipeline.run(records(1000), rows -> {
+            written.addAll(rows);
+            return rows.size();
+        });
+
+        // Then
+        assertEquals(1000, total);
+        assertEquals(1000, written.size());
+        for (int i = 0; i < written.size(); i++) {
+            assertEquals("Movie " + i, written.get(i).getTitle());
+        }
+        for (StageMetrics stage : pipeline.getStages()) {
+            assertEquals(stage.getName(), 1000, stage.getRows());
+            assertTrue(stage.getQueueDepth() <= 2);
+        }
+    }
+
+    /**
+     * Com o primeiro bloco parado no normalizador, os demais não podem se
+     * acumular no gravador: o leitor para em
+     * {@code (queueCapacity + workers + 1) * batchSize} registros lidos.
+     */
+    @Test
+    public void shouldHoldReaderWhileFirstChunkIsSlow() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        MovieRowNormalizer slowFirst = new MovieRowNormalizer() {
+            @Override
+            public MovieRow normalize(MovieCsvRecord record) {
+                if ("Movie 0".equals(record.getTitle())) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.normalize(record);
+            }
+        };
+        IngestionPipeline pipeline = new IngestionPipeline(slowFirst, 4, 2, 5, 0);
+        AtomicInteger read = new AtomicInteger();
+        Iterator<MovieCsvRecord> source = records(1000);
+        Iterator<MovieCsvRecord> counting = new Iterator<MovieCsvRecord>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public MovieCsvRecord next() {
+                read.incrementAndGet();
+                return source.next();
+            }
+        };
+        List<MovieRow> written = new ArrayList<>();
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+
+        try {
+            // When
+            Future<Long> total = caller.submit(() -> pipeline.run(counting, rows -> {
+                written.addAll(rows);
+                return rows.size();
+            }));
+            Thread.sleep(300);
+            int readWhileBlocked = read.get();
+            release.countDown();
+
+            // Then
+            assertTrue("read " + readWhileBlocked + " records", readWhileBlocked <= (2 + 4 + 1) * 5);
+            assertEquals(1000L, (long) total.get(10, TimeUnit.SECONDS));
+            for (int i = 0; i < written.size(); i++) {
+                assertEquals("Movie " + i, written.get(i).getTitle());
+            }
+        } finally {
+            release.countDown();
+            caller.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldPropagateReaderFailureToCaller() {
+        // Given
+        IngestionPipeline pipeline = new IngestionPipeline(new MovieRowNormalizer(), 2, 1, 5, 0);
+        Iterator<MovieCsvRecord> failing = new Iterator<MovieCsvRecord>() {
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public MovieCsvRecord next() {
+                if (++count > 12) {
+                    throw new NumberFormatException("invalid year");
+                }
+                return new MovieCsvRecord(2000, "Movie", "Studio", "Producer", false);
+            }
+        };
+
+        // When
+        try {
+            pipeline.run(failing, List::size);
+            fail("Reader failure should stop the pipeline");
+        } catch (IllegalStateException e) {
+            // Then
+            assertTrue(e.getCause() instanceof NumberFormatException);
+        }
+    }
+
+    private Iterator<MovieCsvRecord> records(int count) {
+        List<MovieCsvRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(new MovieCsvRecord(1980 + i % 40, "Movie " + i, "Studio A, Studio B",
+                    "Producer " + i % 13 + " and Producer X", i % 5 == 0));
+        }
+        return records.iterator();
+    }
+}
@@ -0,0 +1,195 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+
+/**
+ * Testes do leitor mapeado em memória, comparando o resultado com o leitor
+ * commons-csv para o mesmo conteúdo.
+ */
+public class MappedMovieCsvReaderTest {
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("movielist", ".csv");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void shouldReadSameRecordsAsStreamingReader() throws IOException {
+        // Given
+        MovieApiProperties.Csv csv = csv(";", "UTF-8");
+        String content = "year;title;studios;producers;winner\r\n"
+                + "1980;Can't Stop the Music;Associated Film Distribution;Allan Carr;yes\r\n"
+                + "1981;\"Mommie; \"\"Dearest\"\"\";Paramount Pictures;Frank Yablans;\r\n"
+                + "\r\n"
+                + "1982;Inchon;MGM;Mitsuharu Ishii;YES\r\n"
+                + "1983;Solarbabies;MGM;Irene Walzer, Jack Frost Sanders and Mel Brooks;no";
+        write(content, "UTF-8");
+
+        // When
+        List<MovieCsvRecord> mapped = readMapped(csv, MappedMovieCsvReader.DEFAULT_WINDOW_SIZE);
+        List<MovieCsvRecord> streaming = readStreaming(csv, content.replace("\r\n\r\n", "\r\n"), "UTF-8");
+
+        // Then
+        assertEquals(4, mapped.size());
+        assertSame(streaming, mapped);
+        assertEquals("Mommie; \"Dearest\"", mapped.get(1).getTitle());
+        assertTrue(mapped.get(2).isWinner());
+        assertFalse(mapped.get(3).isWinner());
+    }
+
+    @Test
+    public void shouldRemapWhenRecordCrossesWindow() throws IOException {
+        // Given
+        MovieApiProperties.Csv csv = csv(";", "UTF-8");
+        StringBuilder content = new StringBuilder("year;title;studios;producers;winner\n");
+        for (int i = 0; i < 500; i++) {
+            content.append(1980 + i % 40).append(";Movie ").append(i).append(";Studio;Producer ")
+                    .append(i % 7).append(";").append(i % 3 == 0 ? "yes" : "").append('\n');
+        }
+        write(content.toString(), "UTF-8");
+
+        // When
+        List<MovieCsvRecord> mapped = readMapped(csv, 128);
+
+        // Then
+        assertEquals(500, mapped.size());
+        assertSame(readStreaming(csv, content.toString(), "UTF-8"), mapped);
+    }
+
+    @Test
+    public void shouldHonorConfiguredDelimiterAndEncoding() throws IOException {
+        // Given
+        MovieApiProperties.Csv csv = csv(",", "ISO-8859-1");
+        csv.setSkipFirstLine(false);
+        String content = "1990,\"Ghosts Can't Do It\",Triumph Releasing,\"Bo Derek, José\",yes\n";
+        write(content, "ISO-8859-1");
+
+        // When
+        List<MovieCsvRecord> mapped = readMapped(csv, MappedMovieCsvReader.DEFAULT_WINDOW_SIZE);
+
+        // Then
+        assertEquals(1, mapped.size());
+        assertEquals("Bo Derek, José", mapped.get(0).getProducers());
+        assertSame(readStreaming(csv, content, "ISO-8859-1"), mapped);
+    }
+
+    @Test
+    public void shouldResumeFromReportedPosition() throws IOException {
+        // Given: campo com quebra de linha e caracteres de mais de um byte
+        MovieApiProperties.Csv csv = csv(";", "UTF-8");
+        String content = "year;title;studios;producers;winner\r\n"
+                + "1980;Can't Stop the Music;Associated Film Distribution;Allan Carr;yes\r\n"
+                + "1981;\"Mommie\r\nDearest\";Paramount Pictures;Frank Yablans;\r\n"
+                + "1982;Pokémon;Estúdio Ação;José, Zoë;YES\r\n"
+                + "1983;Solarbabies;MGM;Mel Brooks;no\r\n";
+        write(content, "UTF-8");
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+
+        // When
+        long mappedPosition;
+        try (MappedMovieCsvReader reader = new MappedMovieCsvReader(file, csv, 0L)) {
+            reader.next();
+            reader.next();
+            mappedPosition = reader.position();
+        }
+        long streamingPosition;
+        try (MovieCsvReader reader = new MovieCsvReader(new ByteArrayInputStream(bytes), csv)) {
+            reader.next();
+            reader.next();
+            streamingPosition = reader.position();
+        }
+
+        List<MovieCsvRecord> mapped = new ArrayList<>();
+        try (MappedMovieCsvReader reader = new MappedMovieCsvReader(file, csv, mappedPosition)) {
+            reader.forEachRemaining(mapped::add);
+            assertEquals(bytes.length, reader.position());
+        }
+        List<MovieCsvRecord> streaming = new ArrayList<>();
+        try (MovieCsvReader reader = new MovieCsvReader(new ByteArrayInputStream(bytes), csv, streamingPosition)) {
+            reader.forEachRemaining(streaming::add);
+            assertEquals(content.length(), reader.position());
+        }
+
+        // Then
+        List<MovieCsvRecord> all = readStreaming(csv, content, "UTF-8");
+        assertSame(all.subList(2, 4), mapped);
+        assertSame(all.subList(2, 4), streaming);
+        assertEquals("Pokémon", mapped.get(0).getTitle());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectRecordWithMissingColumns() throws IOException {
+        // Given
+        write("year;title;studios;producers;winner\n1980;Movie;Studio\n", "UTF-8");
+
+        // When
+        readMapped(csv(";", "UTF-8"), MappedMovieCsvReader.DEFAULT_WINDOW_SIZE);
+    }
+
+    private MovieApiProperties.Csv csv(String delimiter, String encoding) {
+        MovieApiProperties.Csv csv = new MovieApiProperties.Csv();
+        csv.setDelimiter(delimiter);
+        csv.setEncoding(encoding);
+        csv.setSkipFirstLine(true);
+        return csv;
+    }
+
+    private void write(String content, String encoding) throws IOException {
+        Files.write(file, content.getBytes(Charset.forName(encoding)));
+    }
+
+    private List<MovieCsvRecord> readMapped(MovieApiProperties.Csv csv, int windowSize) throws IOException {
+        List<MovieCsvRecord> records = new ArrayList<>();
+        try (MappedMovieCsvReader reader = new MappedMovieCsvReader(file, csv, windowSize)) {
+            reader.forEachRemaining(records::add);
+        }
+        return records;
+    }
+
+    private List<MovieCsvRecord> readStreaming(MovieApiProperties.Csv csv, String content, String encoding)
+            throws IOException {
+        List<MovieCsvRecord> records = new ArrayList<>();
+        byte[] bytes = content.getBytes(Charset.forName(encoding));
+        try (MovieCsvReader reader = new MovieCsvReader(new ByteArrayInputStream(bytes), csv)) {
+            reader.forEachRemaining(records::add);
+        }
+        return records;
+    }
+
+    private void assertSame(List<MovieCsvRecord> expected, List<MovieCsvRecord> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            MovieCsvRecord e = expected.get(i);
+            MovieCsvRecord a = actual.get(i);
+            assertEquals(e.getYear(), a.getYear());
+            assertEquals(e.getTitle(), a.getTitle());
+            assertEquals(e.getStudios(), a.getStudios());
+            assertEquals(e.getProducers(), a.getProducers());
+            assertEquals(e.isWinner(), a.isWinner());
+        }
+    }
+}
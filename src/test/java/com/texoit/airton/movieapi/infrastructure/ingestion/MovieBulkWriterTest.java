@@ -0,0 +1,156 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.texoit.airton.movieapi.infrastructure.event.DatasetChangePublisher;
+
+/**
+ * Test Slice para MovieBulkWriter.
+ * Verifica a gravação em lote e a resolução dos nomes em memória.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import({ MovieBulkWriter.class, DatasetChangePublisher.class })
+public class MovieBulkWriterTest {
+
+    @Autowired
+    private MovieBulkWriter writer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void shouldWriteMoviesAndResolveRepeatedNamesOnce() {
+        // Given
+        MovieRow hudsonHawk = new MovieRow(1991, "Hudson Hawk",
+                Collections.singletonList("TriStar Pictures"), Collections.singletonList("Joel Silver"), true);
+        MovieRow fordFairlane = new MovieRow(1990, "The Adventures of Ford Fairlane",
+                Collections.singletonList("20th Century Fox"), Arrays.asList("Steven Perry", "Joel Silver"), true);
+
+        // When
+        MovieBulkWriter.Session session = writer.openSession();
+        int written = session.write(Arrays.asList(hudsonHawk, fordFairlane));
+
+        // Then
+        assertEquals(2, written);
+        assertEquals(2, session.getProducersWritten());
+        assertEquals(2, session.getStudiosWritten());
+        assertEquals(5, session.getLinksWritten());
+        assertEquals(Integer.valueOf(2), count("MOVIE"));
+        assertEquals(Integer.valueOf(2), count("PRODUCER"));
+        assertEquals(Integer.valueOf(3), count("MOVIE_PRODUCER"));
+    }
+
+    @Test
+    public void shouldReuseNamesAlreadyPersistedByPreviousSession() {
+        // Given
+        writer.openSession().write(Collections.singletonList(new MovieRow(2002, "Swept Away",
+                Collections.singletonList("Screen Gems"), Collections.singletonList("Matthew Vaughn"), true)));
+
+        // When
+        MovieBulkWriter.Session session = writer.openSession();
+        session.write(Collections.singletonList(new MovieRow(2015, "Fantastic Four",
+                Collections.singletonList("Screen Gems"), Collections.singletonList("Matthew Vaughn"), true)));
+
+        // Then
+        assertEquals(0, session.getStudiosWritten());
+        assertEquals(0, session.getProducersWritten());
+        assertEquals(Integer.valueOf(1), count("STUDIO"));
+        assertEquals(Integer.valueOf(2), count("MOVIE_STUDIO"));
+    }
+
+    /**
+     * Duas sessões abertas antes de qualquer gravação: a segunda encontra no
+     * banco o nome gravado pela primeira em vez de criar outra linha.
+     */
+    @Test
+    public void shouldReuseNamesWrittenByAnotherOpenSession() {
+        // Given
+        MovieBulkWriter.Session first = writer.openSession();
+        MovieBulkWriter.Session second = writer.openSession();
+
+        // When
+        first.write(Collections.singletonList(new MovieRow(2002, "Swept Away",
+                Collections.singletonList("Screen Gems"), Collections.singletonList("Matthew Vaughn"), true)));
+        second.write(Collections.singletonList(new MovieRow(2015, "Fantastic Four",
+                Collections.singletonList("Screen Gems"), Collections.singletonList("Matthew Vaughn"), true)));
+
+        // Then
+        assertEquals(0, second.getStudiosWritten());
+        assertEquals(0, second.getProducersWritten());
+        assertEquals(Integer.valueOf(1), count("STUDIO"));
+        assertEquals(Integer.valueOf(1), count("PRODUCER"));
+        assertEquals(Integer.valueOf(2), count("MOVIE_PRODUCER"));
+    }
+
+    @Test
+    public void shouldReadLinkedProducersOfRemovedMoviesInOneQuery() {
+        // Given
+        AtomicInteger linkQueries = new AtomicInteger();
+        JdbcTemplate counting = new JdbcTemplate(dataSource) {
+            @Override
+            public void query(String sql, RowCallbackHandler rch, Object... args) {
+                if (sql.startsWith(MovieBulkWriter.SELECT_MOVIE_PRODUCERS)) {
+                    linkQueries.incrementAndGet();
+                }
+                super.query(sql, rch, args);
+            }
+        };
+        Set<Long> changedProducers = new HashSet<>();
+        DatasetChangePublisher publisher = new DatasetChangePublisher(event -> {
+        }) {
+            @Override
+            public void changed(Collection<Long> producerIds, Collection<Long> movieIds) {
+                changedProducers.addAll(producerIds);
+            }
+        };
+        MovieBulkWriter countingWriter = new MovieBulkWriter(counting, transactionManager, publisher);
+        List<MovieRow> rows = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            rows.add(new MovieRow(1990 + i, "Movie " + i, Collections.singletonList("Studio"),
+                    Collections.singletonList("Producer " + i), true));
+        }
+        countingWriter.openSession().write(rows);
+        List<Long> movieIds = jdbcTemplate.queryForList("SELECT ID_MOVIE FROM MOVIE", Long.class);
+        changedProducers.clear();
+
+        // When
+        countingWriter.openSession().apply(MovieDeltaBatch.deletes(movieIds), null);
+
+        // Then
+        assertEquals(1, linkQueries.get());
+        assertEquals(20, changedProducers.size());
+        assertEquals(Integer.valueOf(0), count("MOVIE_PRODUCER"));
+    }
+
+    private Integer count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
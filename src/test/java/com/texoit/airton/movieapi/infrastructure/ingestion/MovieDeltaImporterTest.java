@@ -0,0 +1,183 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+import com.texoit.airton.movieapi.infrastructure.event.DatasetChangePublisher;
+
+/**
+ * Test Slice para MovieDeltaImporter.
+ * Verifica que só as linhas alteradas são gravadas, que os vínculos dos
+ * filmes atualizados e removidos são mantidos em lote e que a remoção dos
+ * filmes ausentes é opcional e não roda com fonte vazia ou com falha.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import({ MovieBulkWriter.class, MovieDeltaImporter.class, IngestionPipelineFactory.class,
+        MovieRowNormalizer.class, DatasetChangePublisher.class, MovieApiProperties.class })
+public class MovieDeltaImporterTest {
+
+    @Autowired
+    private MovieDeltaImporter importer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void shouldInsertEverythingIntoEmptyDatabase() throws IOException {
+        // When
+        DeltaReport report = importer.importDelta(reader(
+                new MovieCsvRecord(1980, "Can't Stop the Music", "Associated Film Distribution", "Allan Carr", true),
+                new MovieCsvRecord(1980, "Cruising", "Lorimar Productions", "Jerry Weintraub", false)));
+
+        // Then
+        assertEquals(2, report.getInserted());
+        assertEquals(0, report.getUpdated());
+        assertEquals(0, report.getDeleted());
+        assertEquals(Integer.valueOf(2), count("MOVIE"));
+        assertEquals(Integer.valueOf(0), count("MOVIE WHERE FINGERPRINT IS NULL"));
+    }
+
+    @Test
+    public void shouldApplyOnlyChangedRows() throws IOException {
+        // Given
+        importer.importDelta(reader(
+                new MovieCsvRecord(1980, "Can't Stop the Music", "Associated Film Distribution", "Allan Carr", true),
+                new MovieCsvRecord(1980, "Cruising", "Lorimar Productions", "Jerry Weintraub", false),
+                new MovieCsvRecord(1981, "Mommie Dearest", "Paramount Pictures", "Frank Yablans", true)));
+        Long cruisingId = jdbcTemplate.queryForObject("SELECT ID_MOVIE FROM MOVIE WHERE TITLE = 'Cruising'",
+                Long.class);
+
+        // When
+        DeltaReport report = importer.importDelta(reader(
+                new MovieCsvRecord(1980, "Can't Stop the Music", "Associated Film Distribution", "Allan Carr", true),
+                new MovieCsvRecord(1980, "Cruising", "Lorimar Productions", "Jerry Weintraub and Bill Butler", true),
+                new MovieCsvRecord(1982, "Inchon", "MGM", "Mitsuharu Ishii", true)), true);
+
+        // Then
+        assertEquals(1, report.getInserted());
+        assertEquals(1, report.getUpdated());
+        assertEquals(1, report.getDeleted());
+        assertEquals(1, report.getUnchanged());
+        assertEquals(Integer.valueOf(3), count("MOVIE"));
+        assertEquals(Integer.valueOf(0), count("MOVIE WHERE TITLE = 'Mommie Dearest'"));
+        assertEquals(Integer.valueOf(0), count("MOVIE_PRODUCER WHERE MOVIE_ID_MOVIE NOT IN (SELECT ID_MOVIE FROM MOVIE)"));
+        assertEquals(Integer.valueOf(2), count("MOVIE_PRODUCER WHERE MOVIE_ID_MOVIE = " + cruisingId));
+        assertEquals(Boolean.TRUE, jdbcTemplate.queryForObject(
+                "SELECT IS_WINNER FROM MOVIE WHERE ID_MOVIE = " + cruisingId, Boolean.class));
+    }
+
+    @Test
+    public void shouldNotWriteWhenSourceIsUnchanged() throws IOException {
+        // Given
+        MovieCsvRecord[] records = {
+                new MovieCsvRecord(1984, "Bolero", "Cannon Films", "Bo Derek", true),
+                new MovieCsvRecord(1984, "Bolero", "Cannon Films", "Bo Derek", true) };
+        importer.importDelta(reader(records));
+
+        // When
+        DeltaReport report = importer.importDelta(reader(records));
+
+        // Then
+        assertEquals(0, report.getInserted());
+        assertEquals(0, report.getUpdated());
+        assertEquals(0, report.getDeleted());
+        assertEquals(2, report.getUnchanged());
+        assertEquals(Integer.valueOf(2), count("MOVIE"));
+    }
+
+    @Test
+    public void shouldKeepMissingMoviesUnlessDeletionIsRequested() throws IOException {
+        // Given
+        importer.importDelta(reader(
+                new MovieCsvRecord(1980, "Cruising", "Lorimar Productions", "Jerry Weintraub", false),
+                new MovieCsvRecord(1981, "Mommie Dearest", "Paramount Pictures", "Frank Yablans", true)));
+
+        // When
+        DeltaReport report = importer.importDelta(reader(
+                new MovieCsvRecord(1980, "Cruising", "Lorimar Productions", "Jerry Weintraub", false)));
+
+        // Then
+        assertEquals(0, report.getDeleted());
+        assertEquals(Integer.valueOf(2), count("MOVIE"));
+    }
+
+    @Test
+    public void shouldNotDeleteAnythingWhenSourceIsEmpty() throws IOException {
+        // Given
+        importer.importDelta(reader(
+                new MovieCsvRecord(1980, "Can't Stop the Music", "Associated Film Distribution", "Allan Carr", true),
+                new MovieCsvRecord(1981, "Mommie Dearest", "Paramount Pictures", "Frank Yablans", true)));
+
+        // When
+        DeltaReport report = importer.importDelta(reader(), true);
+
+        // Then
+        assertEquals(0, report.getDeleted());
+        assertEquals(Integer.valueOf(2), count("MOVIE"));
+        assertEquals(Integer.valueOf(2), count("MOVIE_PRODUCER"));
+    }
+
+    @Test
+    public void shouldNotDeleteAnythingWhenReadFails() throws IOException {
+        // Given
+        importer.importDelta(reader(
+                new MovieCsvRecord(1980, "Can't Stop the Music", "Associated Film Distribution", "Allan Carr", true),
+                new MovieCsvRecord(1981, "Mommie Dearest", "Paramount Pictures", "Frank Yablans", true)));
+        MovieRecordReader truncated = reader(
+                new MovieCsvRecord(1980, "Can't Stop the Music", "Associated Film Distribution", "Allan Carr", true),
+                null);
+
+        // When
+        try {
+            importer.importDelta(truncated, true);
+            fail("Expected the read failure to propagate");
+        } catch (RuntimeException expected) {
+            // esperado
+        }
+
+        // Then
+        assertEquals(Integer.valueOf(2), count("MOVIE"));
+    }
+
+    private Integer count(String from) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + from, Integer.class);
+    }
+
+    private static MovieRecordReader reader(MovieCsvRecord... records) {
+        Iterator<MovieCsvRecord> iterator = Arrays.asList(records).iterator();
+        return new MovieRecordReader() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public MovieCsvRecord next() {
+                MovieCsvRecord record = iterator.next();
+                if (record == null) {
+                    throw new IllegalArgumentException("Unreadable record");
+                }
+                return record;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Testes do MovieRowNormalizer: separação das listas de nomes e reuso da
+ * instância canônica de nomes repetidos.
+ */
+public class MovieRowNormalizerTest {
+
+    private final MovieRowNormalizer normalizer = new MovieRowNormalizer();
+
+    @Test
+    public void shouldSplitAndDeduplicateNames() {
+        // When
+        MovieRow row = normalizer.normalize(new MovieCsvRecord(1984, "Bolero", "Cannon Films",
+                "Bo Derek, John Derek and Bo Derek", true));
+
+        // Then
+        assertEquals(Arrays.asList("Cannon Films"), row.getStudios());
+        assertEquals(Arrays.asList("Bo Derek", "John Derek"), row.getProducers());
+    }
+
+    @Test
+    public void shouldShareNameInstancesAcrossRecords() {
+        // When
+        MovieRow first = normalizer.normalize(new MovieCsvRecord(1980, "Cruising", "Lorimar Productions",
+                "Jerry Weintraub", false));
+        MovieRow second = normalizer.normalize(new MovieCsvRecord(1981, "Other", "United Artists, Lorimar Productions",
+                "Steven Perry and Jerry Weintraub", false));
+
+        // Then
+        assertSame(first.getStudios().get(0), second.getStudios().get(1));
+        assertSame(first.getProducers().get(0), second.getProducers().get(1));
+    }
+}
@@ -0,0 +1,48 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+/**
+ * Testes do NameDictionary: consulta por intervalo, instância canônica e
+ * crescimento da tabela.
+ */
+public class NameDictionaryTest {
+
+    @Test
+    public void shouldResolveNameRangesWithoutSubstring() {
+        // Given
+        NameDictionary dictionary = new NameDictionary();
+        String joelSilver = "Joel Silver";
+        dictionary.putIfAbsent(joelSilver, 7L);
+        String source = "Steven Perry, Joel Silver";
+
+        // When / Then
+        assertEquals(7L, dictionary.get(source, 14, source.length()));
+        assertSame(joelSilver, dictionary.canonical(source, 14, source.length()));
+        assertEquals(NameDictionary.ABSENT, dictionary.get(source, 0, 12));
+        assertNull(dictionary.canonical(source, 0, 12));
+    }
+
+    @Test
+    public void shouldKeepFirstIdAndGrow() {
+        // Given
+        NameDictionary dictionary = new NameDictionary();
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            dictionary.putIfAbsent("Producer " + i, i);
+        }
+        long existing = dictionary.putIfAbsent("Producer 10", 99L);
+
+        // Then
+        assertEquals(10L, existing);
+        assertEquals(1000, dictionary.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, dictionary.get("Producer " + i));
+        }
+    }
+}
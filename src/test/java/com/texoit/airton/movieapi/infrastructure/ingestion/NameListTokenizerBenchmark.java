@@ -0,0 +1,98 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compara a resolução de nomes de produtores de uma carga: o caminho antigo
+ * ({@code split} com regex, {@code trim} e mapa por {@link String}) contra o
+ * {@link NameListTokenizer} com {@link NameDictionary}.
+ * <p>
+ * Execução: rodar {@link #main} a partir do classpath de testes
+ * ({@code mvn test-compile} e a classe pela IDE ou {@code java -cp}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameListTokenizerBenchmark {
+
+    @Param({ "10000", "100000" })
+    public int rows;
+
+    @Param({ "500" })
+    public int distinctNames;
+
+    private String[] lists;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        lists = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            int count = 1 + random.nextInt(3);
+            StringBuilder list = new StringBuilder();
+            for (int j = 0; j < count; j++) {
+                if (j > 0) {
+                    list.append(j == count - 1 ? " and " : ", ");
+                }
+                list.append("Producer Name ").append(random.nextInt(distinctNames));
+            }
+            lists[i] = list.toString();
+        }
+    }
+
+    @Benchmark
+    public void regexSplit(Blackhole blackhole) {
+        Map<String, Long> ids = new HashMap<>();
+        for (String list : lists) {
+            for (String name : list.split(",|\\ and ")) {
+                String trimmed = name.trim();
+                Long id = ids.get(trimmed);
+                if (id == null) {
+                    id = (long) ids.size();
+                    ids.put(trimmed, id);
+                }
+                blackhole.consume(id.longValue());
+            }
+        }
+    }
+
+    @Benchmark
+    public void tokenizerWithDictionary(Blackhole blackhole) {
+        NameDictionary ids = new NameDictionary();
+        for (String list : lists) {
+            NameListTokenizer.tokenize(list, (source, start, end) -> {
+                long id = ids.get(source, start, end);
+                if (id == NameDictionary.ABSENT) {
+                    id = ids.putIfAbsent(source.substring(start, end), ids.size());
+                }
+                blackhole.consume(id);
+            });
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NameListTokenizerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,58 @@
+package com.texoit.airton.movieapi.infrastructure.ingestion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Testes do NameListTokenizer: mesmo resultado do antigo
+ * {@code split(",|\\ and ")} seguido de {@code trim()}, sem nomes vazios.
+ */
+public class NameListTokenizerTest {
+
+    @Test
+    public void shouldSplitOnCommaAndAnd() {
+        // When
+        List<String> names = NameListTokenizer.split("Allan Carr, Jerry Weintraub and Bo Derek");
+
+        // Then
+        assertEquals(Arrays.asList("Allan Carr", "Jerry Weintraub", "Bo Derek"), names);
+    }
+
+    @Test
+    public void shouldMatchLegacyRegexSplit() {
+        // Given
+        String[] inputs = { "Matthew Vaughn", " Joel Silver ,Steven Perry", "Sandy and Andy and Anderson",
+                "Band Members, Grand andrew", "A,,B", ", leading and trailing ,", "X and and Y" };
+
+        for (String input : inputs) {
+            // When
+            List<String> names = NameListTokenizer.split(input);
+
+            // Then
+            assertEquals(input, legacySplit(input), names);
+        }
+    }
+
+    @Test
+    public void shouldIgnoreNullAndBlankLists() {
+        // When / Then
+        assertTrue(NameListTokenizer.split(null).isEmpty());
+        assertTrue(NameListTokenizer.split("  ,  and  ").isEmpty());
+    }
+
+    private static List<String> legacySplit(String names) {
+        List<String> result = new ArrayList<>();
+        for (String name : names.split(",|\\ and ")) {
+            if (!name.trim().isEmpty()) {
+                result.add(name.trim());
+            }
+        }
+        return result;
+    }
+}
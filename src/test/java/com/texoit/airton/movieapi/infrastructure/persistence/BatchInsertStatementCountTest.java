@@ -0,0 +1,188 @@
+package com.texoit.airton.movieapi.infrastructure.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.texoit.airton.movieapi.entity.Movie;
+import com.texoit.airton.movieapi.entity.MovieProducer;
+import com.texoit.airton.movieapi.entity.Producer;
+
+/**
+ * Conta as instruções JDBC efetivamente enviadas ao banco para garantir que
+ * as entidades com IDs por sequence são inseridas em lotes.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+public class BatchInsertStatementCountTest {
+
+    private static final StatementCounter counter = new StatementCounter();
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+
+        @Bean
+        public static BeanPostProcessor countingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? counter.wrap((DataSource) bean) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Before
+    public void resetCounter() {
+        entityManager.flush();
+        counter.reset();
+    }
+
+    @Test
+    public void shouldInsertProducersInASingleBatch() {
+        // Given
+        for (int i = 0; i < 20; i++) {
+            entityManager.persist(new Producer("Producer " + i));
+        }
+
+        // When
+        entityManager.flush();
+
+        // Then
+        assertEquals(20, counter.addBatchCount("insert into producer"));
+        assertEquals(1, counter.executeBatchCount("insert into producer"));
+        assertEquals(0, counter.executeUpdateCount("insert into producer"));
+        assertTrue("Sequence should be called once per allocation block",
+                counter.executeQueryCount("seq_producer") <= 2);
+    }
+
+    @Test
+    public void shouldGroupInterleavedInsertsByTable() {
+        // Given
+        Producer producer = entityManager.persist(new Producer("Joel Silver"));
+        for (int i = 0; i < 10; i++) {
+            Movie movie = entityManager.persist(new Movie(1990 + i, "Movie " + i, "yes"));
+            entityManager.persist(new MovieProducer(movie, producer));
+        }
+
+        // When
+        entityManager.flush();
+
+        // Then
+        assertEquals(1, counter.executeBatchCount("insert into movie "));
+        assertEquals(1, counter.executeBatchCount("insert into movie_producer"));
+        assertEquals(0, counter.executeUpdateCount("insert into"));
+    }
+
+    /**
+     * Proxy JDBC que registra as chamadas de execução por SQL.
+     */
+    static class StatementCounter {
+
+        private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+        void reset() {
+            counts.clear();
+        }
+
+        int addBatchCount(String sqlFragment) {
+            return count("addBatch", sqlFragment);
+        }
+
+        int executeBatchCount(String sqlFragment) {
+            return count("executeBatch", sqlFragment);
+        }
+
+        int executeUpdateCount(String sqlFragment) {
+            return count("executeUpdate", sqlFragment);
+        }
+
+        int executeQueryCount(String sqlFragment) {
+            return count("executeQuery", sqlFragment);
+        }
+
+        private int count(String method, String sqlFragment) {
+            int total = 0;
+            List<Map.Entry<String, AtomicInteger>> entries = new ArrayList<>(counts.entrySet());
+            for (Map.Entry<String, AtomicInteger> entry : entries) {
+                String key = entry.getKey();
+                if (key.startsWith(method + "|") && key.toLowerCase().contains(sqlFragment)) {
+                    total += entry.getValue().get();
+                }
+            }
+            return total;
+        }
+
+        DataSource wrap(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                Object result = invoke(method, target, args);
+                return result instanceof Connection ? wrap((Connection) result) : result;
+            });
+        }
+
+        private Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (target, method, args) -> {
+                Object result = invoke(method, target, args);
+                if (result instanceof PreparedStatement && args != null && args[0] instanceof String) {
+                    return wrap((PreparedStatement) result, ((String) args[0]).replaceAll("\\s+", " "));
+                }
+                return result;
+            });
+        }
+
+        private PreparedStatement wrap(PreparedStatement statement, String sql) {
+            return proxy(PreparedStatement.class, statement, (target, method, args) -> {
+                String name = method.getName();
+                if (name.equals("addBatch") || name.startsWith("execute")) {
+                    counts.computeIfAbsent(name + "|" + sql, k -> new AtomicInteger()).incrementAndGet();
+                }
+                return invoke(method, target, args);
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T proxy(Class<T> type, T target, TargetHandler handler) {
+            InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+            return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type }, invocationHandler);
+        }
+
+        private static Object invoke(java.lang.reflect.Method method, Object target, Object[] args)
+                throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        private interface TargetHandler {
+            Object handle(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable;
+        }
+    }
+}
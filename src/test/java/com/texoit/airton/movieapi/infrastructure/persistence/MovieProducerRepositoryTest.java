@@ -15,6 +15,7 @@ import com.texoit.airton.movieapi.entity.Movie;
 import com.texoit.airton.movieapi.entity.MovieProducer;
 import com.texoit.airton.movieapi.entity.Producer;
 import com.texoit.airton.movieapi.repository.MovieProducerRepository;
+import com.texoit.airton.movieapi.repository.ProducerIntervalRow;
 
 /**
  * Test Slice para MovieProducerRepository.
@@ -174,7 +175,41 @@ public class MovieProducerRepositoryTest {
         assertFalse("Should return only non-winning movies", result.get(0).getMovie().getWinner());
     }
 
+    @Test
+    public void shouldReturnOnlyExtremeIntervalsComputedInDatabase() {
+        // Given
+        Producer matthewVaughn = createAndPersistProducer("Matthew Vaughn");
+        Producer joelSilver = createAndPersistProducer("Joel Silver");
+        for (int year : new int[] { 2037, 1980, 2003, 2002, 2015 }) {
+            createAndPersistMovieProducer(createAndPersistMovie(year, "MV " + year, true), matthewVaughn);
+        }
+        createAndPersistMovieProducer(createAndPersistMovie(1990, "JS 1990", true), joelSilver);
+        createAndPersistMovieProducer(createAndPersistMovie(1991, "JS 1991", true), joelSilver);
+        createAndPersistMovieProducer(createAndPersistMovie(1995, "JS 1995", false), joelSilver);
+
+        // When
+        List<ProducerIntervalRow> result = movieProducerRepository.findExtremeWinIntervals();
+
+        // Then
+        assertEquals(4, result.size());
+        assertInterval(result.get(0), "Matthew Vaughn", 1980, 2002);
+        assertInterval(result.get(1), "Matthew Vaughn", 2002, 2003);
+        assertInterval(result.get(2), "Matthew Vaughn", 2015, 2037);
+        assertInterval(result.get(3), "Joel Silver", 1990, 1991);
+        result.forEach(row -> {
+            assertEquals(Integer.valueOf(1), row.getMinInterval());
+            assertEquals(Integer.valueOf(22), row.getMaxInterval());
+        });
+    }
+
     // Helper methods
+    private void assertInterval(ProducerIntervalRow row, String producer, int previousWin, int followingWin) {
+        assertEquals(producer, row.getProducer());
+        assertEquals(Integer.valueOf(previousWin), row.getPreviousWin());
+        assertEquals(Integer.valueOf(followingWin), row.getFollowingWin());
+        assertEquals(Integer.valueOf(followingWin - previousWin), row.getIntervalYears());
+    }
+
     private Producer createAndPersistProducer(String name) {
         Producer producer = new Producer(name);
         return entityManager.persistAndFlush(producer);
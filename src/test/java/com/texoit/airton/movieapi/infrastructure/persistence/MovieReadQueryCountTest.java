@@ -0,0 +1,142 @@
+package com.texoit.airton.movieapi.infrastructure.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.texoit.airton.movieapi.dto.MovieDTO;
+import com.texoit.airton.movieapi.entity.Movie;
+import com.texoit.airton.movieapi.entity.MovieProducer;
+import com.texoit.airton.movieapi.entity.MovieStudio;
+import com.texoit.airton.movieapi.entity.Producer;
+import com.texoit.airton.movieapi.entity.Studio;
+import com.texoit.airton.movieapi.repository.MovieProducerRepository;
+import com.texoit.airton.movieapi.repository.MovieRepository;
+
+/**
+ * Conta, pelas estatísticas do Hibernate, as instruções preparadas em cada
+ * leitura de filmes: o número deve ser o mesmo para 1 ou muitos filmes, sem
+ * consultas extras por vínculo (N+1).
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class MovieReadQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieProducerRepository movieProducerRepository;
+
+    private Statistics statistics;
+
+    @Before
+    public void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @Test
+    public void shouldReadMoviesOfAYearInOneStatementRegardlessOfCount() {
+        // Given
+        persistMovies(1901, 1);
+        persistMovies(1902, 25);
+        entityManager.clear();
+
+        // When
+        long single = statementsFor(() -> toDtos(movieRepository.findByYear(1901)));
+        long many = statementsFor(() -> toDtos(movieRepository.findByYear(1902)));
+
+        // Then
+        assertEquals(1, single);
+        assertEquals(single, many);
+        assertEquals(25, movieRepository.findByYear(1902).size());
+    }
+
+    @Test
+    public void shouldReadWinnerLinksInOneStatement() {
+        // Given
+        persistMovies(1903, 10);
+        entityManager.clear();
+
+        // When
+        long statements = statementsFor(() -> {
+            for (MovieProducer link : movieProducerRepository.findByMovieWinnerOrderByProducerId(true)) {
+                link.getProducer().getName();
+                link.getMovie().getYear();
+            }
+        });
+
+        // Then
+        assertEquals(1, statements);
+    }
+
+    @Test
+    public void shouldCheckWinnerAndLoadLinksWithConstantQueries() {
+        // Given
+        Movie movie = persistMovies(1904, 1).get(0);
+        entityManager.clear();
+
+        // When
+        statistics.clear();
+        Boolean winner = movieRepository.findWinnerById(movie.getId());
+        Movie loaded = movieRepository.findWithLinksById(movie.getId()).get();
+        movieRepository.delete(loaded);
+        entityManager.flush();
+
+        // Then
+        assertEquals(Boolean.TRUE, winner);
+        assertEquals(2, statistics.getQueryExecutionCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+        assertFalse(movieRepository.findById(movie.getId()).isPresent());
+    }
+
+    private long statementsFor(Runnable read) {
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static List<MovieDTO> toDtos(List<Movie> movies) {
+        List<MovieDTO> dtos = new ArrayList<>();
+        for (Movie movie : movies) {
+            dtos.add(new MovieDTO(movie));
+        }
+        return dtos;
+    }
+
+    /** Filmes vencedores com 2 estúdios e 3 produtores cada. */
+    private List<Movie> persistMovies(int year, int count) {
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Movie movie = entityManager.persist(new Movie(year, "Movie " + year + "-" + i, "yes"));
+            for (int s = 0; s < 2; s++) {
+                Studio studio = entityManager.persist(new Studio("Studio " + year + "-" + i + "-" + s));
+                entityManager.persist(new MovieStudio(movie, studio));
+            }
+            for (int p = 0; p < 3; p++) {
+                Producer producer = entityManager.persist(new Producer("Producer " + year + "-" + i + "-" + p));
+                entityManager.persist(new MovieProducer(movie, producer));
+            }
+            movies.add(movie);
+        }
+        entityManager.flush();
+        return movies;
+    }
+}
@@ -0,0 +1,106 @@
+package com.texoit.airton.movieapi.presentation.interceptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.texoit.airton.movieapi.infrastructure.cache.DatasetVersion;
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+
+/**
+ * Testes do CacheHeadersFilter: o ETag gravado pelo interceptor só sai em
+ * respostas de sucesso e no 304.
+ */
+public class CacheHeadersFilterTest {
+
+    private final DatasetVersion version = new DatasetVersion();
+    private final DatasetEtagInterceptor interceptor = new DatasetEtagInterceptor(version, new MovieApiProperties());
+    private final CacheHeadersFilter filter = new CacheHeadersFilter();
+
+    @Test
+    public void shouldSendEtagWithSuccessfulResponse() throws Exception {
+        // Given
+        MockHttpServletRequest request = get();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, (req, res) -> {
+            HttpServletResponse http = (HttpServletResponse) res;
+            interceptor.preHandle(request, http, null);
+            assertNotNull(http.getHeader("ETag"));
+            http.getWriter().write("{}");
+        });
+
+        // Then
+        assertEquals(DatasetEtagInterceptor.etag(request, version.epoch(), version.current()),
+                response.getHeader("ETag"));
+        assertEquals("no-cache", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    public void shouldDropEtagFromErrorResponse() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When: o handler estoura o tempo e o handler de exceções responde 503
+        filter.doFilter(get(), response, (req, res) -> {
+            HttpServletResponse http = (HttpServletResponse) res;
+            interceptor.preHandle(get(), http, null);
+            http.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            http.getWriter().write("{\"code\":\"COMPUTATION_TIMEOUT\"}");
+        });
+
+        // Then
+        assertEquals(503, response.getStatus());
+        assertNull(response.getHeader("ETag"));
+        assertNull(response.getHeader("Cache-Control"));
+        assertEquals("Accept", response.getHeader("Vary"));
+    }
+
+    @Test
+    public void shouldKeepEtagOnEarlyNotModified() throws Exception {
+        // Given
+        MockHttpServletRequest request = get();
+        String etag = DatasetEtagInterceptor.etag(request, version.epoch(), version.current());
+        request.addHeader("If-None-Match", etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, (req, res) -> assertFalse(
+                interceptor.preHandle(request, (HttpServletResponse) res, null)));
+
+        // Then
+        assertEquals(304, response.getStatus());
+        assertEquals(etag, response.getHeader("ETag"));
+    }
+
+    @Test
+    public void shouldDropEtagWhenHandlerFails() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        try {
+            filter.doFilter(get(), response, (req, res) -> {
+                interceptor.preHandle(get(), (HttpServletResponse) res, null);
+                throw new IllegalStateException("boom");
+            });
+        } catch (IllegalStateException expected) {
+            // esperado
+        }
+
+        // Then
+        assertNull(response.getHeader("ETag"));
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/producer/interval-prizes");
+    }
+}
@@ -0,0 +1,146 @@
+package com.texoit.airton.movieapi.presentation.interceptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.texoit.airton.movieapi.infrastructure.cache.DatasetVersion;
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+import com.texoit.airton.movieapi.infrastructure.event.DatasetChangeEvent;
+
+/**
+ * Testes do ETag derivado da versão da base e dos parâmetros da requisição.
+ */
+public class DatasetEtagInterceptorTest {
+
+    private final DatasetVersion version = new DatasetVersion();
+    private final MovieApiProperties properties = new MovieApiProperties();
+    private final DatasetEtagInterceptor interceptor = new DatasetEtagInterceptor(version, properties);
+
+    @Test
+    public void shouldIgnoreParameterOrderAndChangeWithVersion() {
+        // Given
+        MockHttpServletRequest request = get();
+        request.addParameter("from", "2000");
+        request.addParameter("to", "2010");
+        MockHttpServletRequest reordered = get();
+        reordered.addParameter("to", "2010");
+        reordered.addParameter("from", "2000");
+
+        // When
+        String etag = DatasetEtagInterceptor.etag(request, version.epoch(), version.current());
+        String sameParameters = DatasetEtagInterceptor.etag(reordered, version.epoch(), version.current());
+        version.onDatasetChange(DatasetChangeEvent.all());
+        String nextVersion = DatasetEtagInterceptor.etag(request, version.epoch(), version.current());
+
+        // Then
+        assertEquals(etag, sameParameters);
+        assertNotEquals(etag, nextVersion);
+        assertTrue(etag.startsWith("\"" + version.epoch() + ".0-") && etag.endsWith("\""));
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedWhenEtagMatches() {
+        // Given
+        String etag = DatasetEtagInterceptor.etag(get(), version.epoch(), version.current());
+        MockHttpServletRequest request = get();
+        request.addHeader("If-None-Match", "\"other\", W/" + etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, null);
+
+        // Then
+        assertFalse(proceed);
+        assertEquals(304, response.getStatus());
+        assertEquals(etag, response.getHeader("ETag"));
+        assertEquals("no-cache", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    public void shouldProceedWhenVersionChangedOrDisabled() {
+        // Given
+        String etag = DatasetEtagInterceptor.etag(get(), version.epoch(), version.current());
+        version.onDatasetChange(DatasetChangeEvent.all());
+        MockHttpServletRequest request = get();
+        request.addHeader("If-None-Match", etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean stale = interceptor.preHandle(request, response, null);
+        properties.getHttp().setEtagEnabled(false);
+        MockHttpServletResponse disabledResponse = new MockHttpServletResponse();
+        boolean disabled = interceptor.preHandle(request, disabledResponse, null);
+
+        // Then
+        assertTrue(stale);
+        assertEquals(200, response.getStatus());
+        assertTrue(disabled);
+        assertNull(disabledResponse.getHeader("ETag"));
+    }
+
+    /**
+     * Um processo novo (reinício ou outra instância) começa na mesma versão
+     * 0, mas não pode validar o ETag emitido pelo anterior.
+     */
+    @Test
+    public void shouldNotMatchEtagFromAnotherProcess() {
+        // Given
+        String etag = DatasetEtagInterceptor.etag(get(), version.epoch(), version.current());
+        DatasetVersion restarted = new DatasetVersion();
+        MockHttpServletRequest request = get();
+        request.addHeader("If-None-Match", etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = new DatasetEtagInterceptor(restarted, properties).preHandle(request, response, null);
+
+        // Then
+        assertEquals(version.current(), restarted.current());
+        assertTrue(proceed);
+        assertNotEquals(etag, response.getHeader("ETag"));
+    }
+
+    @Test
+    public void shouldVaryOnAcceptHeader() {
+        // Given
+        MockHttpServletRequest json = get();
+        json.addHeader("Accept", "application/json");
+        MockHttpServletRequest ndjson = get();
+        ndjson.addHeader("Accept", "application/x-ndjson");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        interceptor.preHandle(json, response, null);
+
+        // Then
+        assertEquals("Accept", response.getHeader("Vary"));
+        assertNotEquals(DatasetEtagInterceptor.etag(json, version.epoch(), version.current()),
+                DatasetEtagInterceptor.etag(ndjson, version.epoch(), version.current()));
+    }
+
+    @Test
+    public void shouldSkipWriteRequests() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/api/movie/1");
+        request.addHeader("If-None-Match", "*");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, null);
+
+        // Then
+        assertTrue(proceed);
+        assertNull(response.getHeader("ETag"));
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/producer/interval-prizes");
+    }
+}
@@ -0,0 +1,65 @@
+package com.texoit.airton.movieapi.presentation.interceptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.texoit.airton.movieapi.infrastructure.config.MovieApiProperties;
+import com.texoit.airton.movieapi.infrastructure.ingestion.DatasetLoadState;
+
+/**
+ * Testes do bloqueio dos endpoints de dados durante a carga da base.
+ */
+public class DatasetReadinessInterceptorTest {
+
+    private DatasetLoadState state;
+    private DatasetReadinessInterceptor interceptor;
+
+    @Before
+    public void setUp() {
+        state = new DatasetLoadState();
+        MovieApiProperties properties = new MovieApiProperties();
+        properties.getIngestion().setRetryAfterSeconds(7);
+        interceptor = new DatasetReadinessInterceptor(state, properties, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    public void shouldAnswerServiceUnavailableWhileLoading() throws Exception {
+        // Given
+        state.begin(1000L);
+        state.progress(250L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(new MockHttpServletRequest("GET", "/movie/years"), response, null);
+
+        // Then
+        assertFalse(proceed);
+        assertEquals(503, response.getStatus());
+        assertTrue(Long.parseLong(response.getHeader("Retry-After")) >= 1);
+        assertTrue(response.getContentAsString().contains("DATASET_NOT_READY"));
+        assertTrue(response.getContentAsString().contains("250 rows done"));
+    }
+
+    @Test
+    public void shouldLetRequestsThroughWhenReady() throws Exception {
+        // Given
+        state.begin(10L);
+        state.complete(10L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(new MockHttpServletRequest("GET", "/movie/years"), response, null);
+
+        // Then
+        assertTrue(proceed);
+        assertEquals(200, response.getStatus());
+        assertEquals(0, state.getEtaSeconds());
+    }
+}